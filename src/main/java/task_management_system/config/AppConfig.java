@@ -1,6 +1,7 @@
 package task_management_system.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,15 +19,21 @@ public class AppConfig {
 
     private final UserRepository userRepository;
 
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> WorkloadRoutingDataSource.callAs(Workload.AUTH, () -> userRepository.loadByEmail(username))
                 .orElseThrow(() -> new NotFoundException("User not found"));
     }
 
+    /**
+     * Raising the strength takes effect without downtime: older hashes are upgraded as users log in
+     */
     @Bean
     BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
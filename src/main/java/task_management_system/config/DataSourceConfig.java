@@ -0,0 +1,101 @@
+package task_management_system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Wraps every Hikari pool in a semaphore sized to it. Enabled by the virtual-threads profile, where
+     * request threads are no longer bounded by Tomcat's worker pool
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.concurrency-limit.enabled", havingValue = "true")
+    static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+                return new ConcurrencyLimitedDataSource(pool, pool.getMaximumPoolSize(),
+                        Duration.ofMillis(pool.getConnectionTimeout()));
+            }
+        };
+    }
+
+    /**
+     * Logins and token checks get a small pool of their own, so they never queue behind task traffic
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.workload-pools.enabled", havingValue = "true")
+    HikariDataSource authDataSource(DataSourceProperties properties, Environment environment,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        return pool(properties, environment, meterRegistry, Workload.AUTH);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.workload-pools.enabled", havingValue = "true")
+    HikariDataSource readDataSource(DataSourceProperties properties, Environment environment,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        return pool(properties, environment, meterRegistry, Workload.READ);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.workload-pools.enabled", havingValue = "true")
+    HikariDataSource writeDataSource(DataSourceProperties properties, Environment environment,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return pool(properties, environment, meterRegistry, Workload.WRITE);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "datasource.workload-pools.enabled", havingValue = "true")
+    DataSource dataSource(@Qualifier("authDataSource") DataSource authDataSource,
+                          @Qualifier("readDataSource") DataSource readDataSource,
+                          @Qualifier("writeDataSource") DataSource writeDataSource) {
+        WorkloadRoutingDataSource routingDataSource = new WorkloadRoutingDataSource(Map.of(
+                Workload.AUTH, authDataSource,
+                Workload.READ, readDataSource,
+                Workload.WRITE, writeDataSource
+        ));
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Builds a pool from spring.datasource, its shared spring.datasource.hikari settings and then the
+     * workload's own datasource.workload-pools.{name} settings. Metrics are tagged with the pool name
+     */
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                         ObjectProvider<MeterRegistry> meterRegistry, Workload workload) {
+        String name = workload.name().toLowerCase();
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        binder.bind("datasource.workload-pools." + name, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+}
@@ -10,6 +10,7 @@ import task_management_system.task.entity.Task;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
 import task_management_system.task.repository.TaskRepository;
+import task_management_system.task.service.TagDictionary;
 import task_management_system.user.entity.User;
 import task_management_system.user.repository.UserRepository;
 
@@ -25,6 +26,7 @@ public class DatabaseSeeder implements CommandLineRunner {
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TagDictionary tagDictionary;
 
     @Value("${seed.password:password}")
     private String password;
@@ -109,6 +111,7 @@ public class DatabaseSeeder implements CommandLineRunner {
                 .status(TaskStatus.COMPLETED)
                 .build();
 
+        tagDictionary.resolve(task1.getTags());
         taskRepository.saveAll(List.of(task1, task2, task3, task4, task5));
     }
 }
@@ -0,0 +1,74 @@
+package task_management_system.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache regions held in bounded Guava caches on each node. A region reads
+ * hibernate.cache.guava.{region}.max-size and .expire-after-write-seconds, falling back to the
+ * hibernate.cache.guava.default.* values. The expiry bounds how long another node's write can go unseen
+ */
+public class GuavaRegionFactory extends RegionFactoryTemplate {
+
+    static final String PREFIX = "hibernate.cache.guava.";
+    private static final long DEFAULT_MAX_SIZE = 10_000;
+    private static final long DEFAULT_EXPIRE_SECONDS = 300;
+
+    private final Map<String, Object> settings = new HashMap<>();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions options, Map<String, Object> configValues) {
+        configValues.forEach((key, value) -> {
+            if (key.startsWith(PREFIX) && value != null) {
+                settings.put(key.substring(PREFIX.length()), value);
+            }
+        });
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        settings.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return new GuavaStorageAccess(boundedCache(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return new GuavaStorageAccess(boundedCache(regionName));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        // one entry per table; losing one would let a cached query outlive a write, so it is never evicted
+        return new GuavaStorageAccess(CacheBuilder.newBuilder().build());
+    }
+
+    private Cache<Object, Object> boundedCache(String regionName) {
+        return CacheBuilder.newBuilder()
+                .maximumSize(setting(regionName, "max-size", DEFAULT_MAX_SIZE))
+                .expireAfterWrite(Duration.ofSeconds(setting(regionName, "expire-after-write-seconds", DEFAULT_EXPIRE_SECONDS)))
+                .build();
+    }
+
+    private long setting(String regionName, String name, long fallback) {
+        Object value = settings.getOrDefault(regionName + "." + name, settings.get("default." + name));
+        return value == null ? fallback : Long.parseLong(value.toString().trim());
+    }
+}
@@ -35,10 +35,10 @@ public class JwtService {
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
+    public boolean isTokenValid(String token, String username) {
         String userEmail = getTokenPayloads(token).getSubject();
 
-        return userEmail.equals(userDetails.getUsername())
+        return userEmail.equals(username)
                 && !isTokenExpired(token);
     }
 
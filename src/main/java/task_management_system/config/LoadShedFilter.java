@@ -0,0 +1,108 @@
+package task_management_system.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import task_management_system.loadshed.config.LoadShedProperties;
+import task_management_system.loadshed.enums.RequestClass;
+import task_management_system.loadshed.service.AdaptiveConcurrencyLimiter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Puts the adaptive concurrency limit in front of the task endpoints. Over the limit a request gets
+ * 503 with Retry-After straight away, rather than waiting for a pool connection until it times out.
+ * Reads are queries, everything else is a write
+ */
+@Order(3)
+@Component
+@EnableConfigurationProperties(LoadShedProperties.class)
+public class LoadShedFilter implements Filter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final boolean enabled;
+    private final List<String> include;
+    private final List<String> exclude;
+    private final String retryAfterSeconds;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public LoadShedFilter(LoadShedProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(new AdaptiveConcurrencyLimiter(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new)), properties);
+    }
+
+    public LoadShedFilter(AdaptiveConcurrencyLimiter limiter, LoadShedProperties properties) {
+        this.limiter = limiter;
+        this.enabled = properties.isEnabled();
+        this.include = List.copyOf(properties.getInclude());
+        this.exclude = List.copyOf(properties.getExclude());
+        this.retryAfterSeconds = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse,
+                         FilterChain filterChain) throws IOException, ServletException {
+
+        HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
+        HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
+
+        if (!enabled || !guarded(httpServletRequest.getRequestURI())) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(classify(httpServletRequest));
+        if (permit == null) {
+            httpServletResponse.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            httpServletResponse.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            httpServletResponse.getWriter().write("Server is busy. Please try again later.");
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+            completed = true;
+        } finally {
+            release(permit, completed, httpServletResponse.getStatus());
+        }
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter.Permit permit, boolean completed, int status) {
+        if (!completed || status >= 500) {
+            permit.dropped();
+        } else if (status == HttpStatus.UNAUTHORIZED.value() || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            // turned away before touching the database, so its latency says nothing about load
+            permit.ignore();
+        } else {
+            permit.success();
+        }
+    }
+
+    private boolean guarded(String path) {
+        if (path == null) {
+            return false;
+        }
+        return include.stream().anyMatch(pattern -> pathMatcher.match(pattern, path))
+                && exclude.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private static RequestClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                ? RequestClass.QUERY
+                : RequestClass.WRITE;
+    }
+}
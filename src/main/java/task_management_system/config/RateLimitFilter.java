@@ -1,31 +1,90 @@
 package task_management_system.config;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import jakarta.servlet.*;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import task_management_system.exception.TooManyRequest;
+import org.springframework.util.AntPathMatcher;
+import task_management_system.ratelimit.config.RateLimitProperties;
+import task_management_system.ratelimit.dto.RateLimitDecision;
+import task_management_system.ratelimit.dto.RateLimitPolicy;
+import task_management_system.ratelimit.enums.RateLimitScope;
+import task_management_system.ratelimit.enums.TrafficDimension;
+import task_management_system.ratelimit.service.HeavyHitterTracker;
+import task_management_system.ratelimit.service.RateLimiter;
+import task_management_system.ratelimit.store.RateLimitStore;
+import task_management_system.user.dto.AuthUser;
 
 import java.io.IOException;
-import java.util.concurrent.ExecutionException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
+/**
+ * Applies the first matching route policy, the per-user policy for authenticated requests and the
+ * per-IP policy, in that order. Every response carries the RateLimit-* headers of the tightest of them.
+ * With a heavy-hitter tracker every request is counted by IP, user and route, and the per-IP policy
+ * can be limited to clients above the tracker's percentile threshold
+ */
 @Order(2)
 @Component
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class RateLimitFilter implements Filter {
 
-    private static final int MAX_REQUEST_PER_MINUTE = 50;
+    private record RoutePolicy(String pattern, String method, RateLimitScope per, RateLimitPolicy policy) {}
 
-    private final Cache<String, AtomicInteger> requestCountsPerIpAddress = CacheBuilder
-            .newBuilder()
-            .expireAfterWrite(1, TimeUnit.MINUTES)
-            .build();
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+)(?=/|$)");
+
+    private final RateLimiter rateLimiter;
+    private final HeavyHitterTracker heavyHitters;
+    private final boolean throttleHeavyOnly;
+    private final boolean enabled;
+    private final RateLimitPolicy ipPolicy;
+    private final RateLimitPolicy userPolicy;
+    private final List<RoutePolicy> routePolicies;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties,
+                           ObjectProvider<RateLimitStore> rateLimitStore,
+                           ObjectProvider<HeavyHitterTracker> heavyHitterTracker) {
+        this(new RateLimiter(properties, rateLimitStore.getIfAvailable()), heavyHitterTracker.getIfAvailable(), properties);
+    }
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties) {
+        this(rateLimiter, null, properties);
+    }
+
+    public RateLimitFilter(RateLimiter rateLimiter, HeavyHitterTracker heavyHitters, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.heavyHitters = heavyHitters;
+        this.throttleHeavyOnly = heavyHitters != null && properties.getHeavyHitters().isThrottleHeavyOnly();
+        this.enabled = properties.isEnabled();
+        this.ipPolicy = new RateLimitPolicy("ip", properties.getIp().getCapacity(), properties.getIp().getPeriod());
+        this.userPolicy = properties.getUser().getCapacity() > 0
+                ? new RateLimitPolicy("user", properties.getUser().getCapacity(), properties.getUser().getPeriod())
+                : null;
+
+        List<RoutePolicy> routes = new ArrayList<>();
+        for (int i = 0; i < properties.getRoutes().size(); i++) {
+            RateLimitProperties.Route route = properties.getRoutes().get(i);
+            routes.add(new RoutePolicy(route.getPattern(), route.getMethod(), route.getPer(),
+                    new RateLimitPolicy("route" + i, route.getCapacity(), route.getPeriod())));
+        }
+        this.routePolicies = List.copyOf(routes);
+    }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse,
@@ -33,20 +92,123 @@ public class RateLimitFilter implements Filter {
 
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
+
+        if (!enabled) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
         String clientIpAddress = httpServletRequest.getRemoteAddr();
+        String userID = authenticatedUserID();
+        boolean limitIp = track(httpServletRequest, clientIpAddress, userID);
 
-        AtomicInteger requestCount = null;
-        try {
-            requestCount = requestCountsPerIpAddress.get(clientIpAddress, AtomicInteger::new);
-            if (requestCount.incrementAndGet() > MAX_REQUEST_PER_MINUTE) {
-                httpServletResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                httpServletResponse.getWriter().write("Too many requests. Please try again later.");
-                return;
+        RateLimitDecision tightest = null;
+        for (Supplier<RateLimitDecision> check : checks(httpServletRequest, clientIpAddress, userID, limitIp)) {
+            RateLimitDecision decision = check.get();
+            if (tightest == null || !decision.allowed() || decision.remaining() < tightest.remaining()) {
+                tightest = decision;
             }
-        } catch (ExecutionException ex) {
-            throw new TooManyRequest(ex.getMessage());
+            if (!decision.allowed()) {
+                break;
+            }
+        }
+
+        if (tightest == null) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        writeHeaders(httpServletResponse, tightest);
+        if (!tightest.allowed()) {
+            httpServletResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            httpServletResponse.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(tightest.retryAfterMillis())));
+            httpServletResponse.getWriter().write("Too many requests. Please try again later.");
+            return;
         }
 
         filterChain.doFilter(servletRequest, servletResponse);
     }
+
+    @Override
+    public void destroy() {
+        rateLimiter.close();
+    }
+
+    /**
+     * Counts the request in the tracker and tells whether the per-IP policy applies to the client
+     */
+    private boolean track(HttpServletRequest request, String clientIpAddress, String userID) {
+        if (heavyHitters == null) {
+            return true;
+        }
+        heavyHitters.record(TrafficDimension.ROUTE, routeKey(request));
+        if (userID != null) {
+            heavyHitters.record(TrafficDimension.USER, userID);
+        }
+        long ipRequests = heavyHitters.record(TrafficDimension.IP, String.valueOf(clientIpAddress));
+        return !throttleHeavyOnly || heavyHitters.isHeavy(TrafficDimension.IP, ipRequests);
+    }
+
+    /**
+     * Checks run lazily, so once a policy denies no tokens are taken from the ones after it
+     */
+    private List<Supplier<RateLimitDecision>> checks(HttpServletRequest request, String clientIpAddress,
+                                                     String userID, boolean limitIp) {
+        List<Supplier<RateLimitDecision>> checks = new ArrayList<>(3);
+
+        RoutePolicy route = matchRoute(request);
+        if (route != null) {
+            String key = route.per() == RateLimitScope.USER && userID != null ? "user:" + userID : "ip:" + clientIpAddress;
+            checks.add(() -> rateLimiter.tryAcquire(route.policy(), key));
+        }
+        if (userPolicy != null && userID != null) {
+            checks.add(() -> rateLimiter.tryAcquire(userPolicy, userID));
+        }
+        if (limitIp) {
+            checks.add(() -> rateLimiter.tryAcquire(ipPolicy, String.valueOf(clientIpAddress)));
+        }
+
+        return checks;
+    }
+
+    private RoutePolicy matchRoute(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path == null) {
+            return null;
+        }
+        for (RoutePolicy route : routePolicies) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.pattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method and path with id segments collapsed, so requests for different tasks count as one route
+     */
+    static String routeKey(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return request.getMethod() + " " + (path == null ? "" : ID_SEGMENT.matcher(path).replaceAll("/{id}"));
+    }
+
+    private void writeHeaders(HttpServletResponse response, RateLimitDecision decision) {
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.policy().capacity()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(decision.resetMillis())));
+        response.setHeader("RateLimit-Policy", decision.policy().header());
+    }
+
+    private static String authenticatedUserID() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthUser user && user.id() != null) {
+            return user.id().toString();
+        }
+        return null;
+    }
+
+    private static long toSeconds(long millis) {
+        return TimeUnit.MILLISECONDS.toSeconds(millis + 999);
+    }
 }
@@ -0,0 +1,46 @@
+package task_management_system.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes hits, misses and puts of every second-level cache region, tagged by region. Needs
+ * hibernate.generate_statistics, otherwise Hibernate does not count them
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class SecondLevelCacheMetrics {
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            register(meterRegistry, "hibernate.cache.hits", "Lookups served from the region", region,
+                    regionStatistics, CacheRegionStatistics::getHitCount);
+            register(meterRegistry, "hibernate.cache.misses", "Lookups that went to the database", region,
+                    regionStatistics, CacheRegionStatistics::getMissCount);
+            register(meterRegistry, "hibernate.cache.puts", "Entries written to the region", region,
+                    regionStatistics, CacheRegionStatistics::getPutCount);
+        }
+    }
+
+    private static void register(MeterRegistry meterRegistry, String name, String description, String region,
+                                 CacheRegionStatistics regionStatistics, ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder(name, regionStatistics, count)
+                .description(description)
+                .tag("region", region)
+                .register(meterRegistry);
+    }
+}
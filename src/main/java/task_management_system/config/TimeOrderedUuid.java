@@ -0,0 +1,16 @@
+package task_management_system.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.*;
+
+/**
+ * Generates a version 7 UUID for the id on insert. Ids from one node sort in insert order, so new rows
+ * append to the primary key index instead of landing on random pages. Ids written as version 4 stay valid
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface TimeOrderedUuid {
+}
@@ -0,0 +1,56 @@
+package task_management_system.config;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * RFC 9562 version 7 UUIDs: 48 bits of Unix milliseconds, then a 12 bit counter that keeps ids from the
+ * same millisecond in order, then 62 random bits. A counter overflow borrows from the next millisecond
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    private final LongSupplier clock;
+    private final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+    public TimeOrderedUuidGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    TimeOrderedUuidGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public UUID next() {
+        long now = clock.getAsLong() << 12;
+        long timeAndCounter = lastTimeAndCounter.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSigBits = (timeAndCounter >>> 12) << 16 | VERSION | (timeAndCounter & 0xFFF);
+        long leastSigBits = VARIANT | (random.nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
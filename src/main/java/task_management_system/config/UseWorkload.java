@@ -0,0 +1,14 @@
+package task_management_system.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Routes the database work of a method, or of every method of a bean, to the pool of the given
+ * workload. Without it read-only transactions use the read pool and everything else the write pool
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UseWorkload {
+    Workload value();
+}
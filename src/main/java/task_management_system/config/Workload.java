@@ -0,0 +1,10 @@
+package task_management_system.config;
+
+/**
+ * Connection pool a unit of work borrows from, so one kind of load cannot starve the others
+ */
+public enum Workload {
+    AUTH,
+    READ,
+    WRITE
+}
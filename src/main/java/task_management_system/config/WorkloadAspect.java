@@ -0,0 +1,28 @@
+package task_management_system.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the workload of {@link UseWorkload} methods and beans. Runs outside the transaction advice,
+ * so the workload is set before the transaction borrows its connection
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadAspect {
+
+    @Around("@annotation(useWorkload) || @within(useWorkload)")
+    public Object route(ProceedingJoinPoint joinPoint, UseWorkload useWorkload) throws Throwable {
+        Workload previous = WorkloadRoutingDataSource.bind(useWorkload.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadRoutingDataSource.restore(previous);
+        }
+    }
+}
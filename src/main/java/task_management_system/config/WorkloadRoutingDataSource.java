@@ -0,0 +1,68 @@
+package task_management_system.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Picks the workload pool when a connection is borrowed: an explicit workload bound to the thread
+ * first, then read-only transactions to the read pool and all other work to the write pool. Needs a
+ * LazyConnectionDataSourceProxy in front, so the connection is only borrowed once the transaction's
+ * read-only flag is known
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public WorkloadRoutingDataSource(Map<Workload, DataSource> pools) {
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.WRITE));
+        setLenientFallback(false);
+    }
+
+    /**
+     * Runs the work with the workload bound to the current thread, restoring the previous one after
+     */
+    public static <T> T callAs(Workload workload, Supplier<T> work) {
+        Workload previous = bind(workload);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Binds the workload to the current thread and returns the one it replaces, for {@link #restore}
+     */
+    public static Workload bind(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static Workload currentWorkload() {
+        Workload workload = CURRENT.get();
+        if (workload != null) {
+            return workload;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Workload.READ : Workload.WRITE;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentWorkload();
+    }
+}
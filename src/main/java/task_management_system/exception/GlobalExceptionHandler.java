@@ -1,7 +1,9 @@
 package task_management_system.exception;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.AccountStatusException;
@@ -80,6 +82,18 @@ public class GlobalExceptionHandler {
         return setResponse(HttpStatus.CONFLICT.toString(), ex.getMessage());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public CustomResponse handlePreconditionFailed(PreconditionFailedException ex) {
+        return setResponse(HttpStatus.PRECONDITION_FAILED.toString(), ex.getMessage());
+    }
+
+    @ExceptionHandler(UnprocessableEntityException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public CustomResponse handleUnprocessableEntity(UnprocessableEntityException ex) {
+        return setResponse(HttpStatus.UNPROCESSABLE_ENTITY.toString(), ex.getMessage());
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public CustomResponse handleUnauthenticated(AuthenticationException ex) {
@@ -143,6 +157,13 @@ public class GlobalExceptionHandler {
                 ex.getMessage());
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public CustomResponse handleServiceUnavailable(ServiceUnavailableException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return setResponse(HttpStatus.SERVICE_UNAVAILABLE.toString(), ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public CustomResponse handleSecurityException(Exception ex) {
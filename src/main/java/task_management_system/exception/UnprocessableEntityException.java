@@ -0,0 +1,8 @@
+package task_management_system.exception;
+
+public class UnprocessableEntityException extends RuntimeException {
+
+    public UnprocessableEntityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package task_management_system.idempotency.dto;
+
+/**
+ * Response recorded for an idempotency key, with the fingerprint of the request that produced it
+ */
+public record StoredResponse(String fingerprint, String body) {
+}
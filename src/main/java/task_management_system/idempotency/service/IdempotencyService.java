@@ -0,0 +1,226 @@
+package task_management_system.idempotency.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import task_management_system.exception.BadRequestException;
+import task_management_system.exception.ConflictException;
+import task_management_system.exception.UnprocessableEntityException;
+import task_management_system.idempotency.dto.StoredResponse;
+import task_management_system.idempotency.store.IdempotencyStore;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per Idempotency-Key. Responses are kept in a bounded local cache (and the
+ * shared store when configured) for the TTL; a duplicate that arrives while the first attempt is still
+ * running waits for it instead of running the write again. Failed attempts are not recorded
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long SHARED_POLL_MILLIS = 50;
+
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore sharedStore;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration lockTtl;
+
+    private final Cache<String, StoredResponse> responses;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(ObjectMapper objectMapper,
+                              ObjectProvider<IdempotencyStore> sharedStore,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.max-entries:100000}") long maxEntries,
+                              @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+                              @Value("${idempotency.lock-ttl-ms:30000}") long lockTtlMillis) {
+        this.objectMapper = objectMapper;
+        this.sharedStore = sharedStore.getIfAvailable();
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMillis);
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+        this.responses = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the response recorded for the key, or runs the action and records its response.
+     * Keys are scoped to the user; without a key the action simply runs
+     */
+    public <T> T execute(String key, UUID userID, String operation, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = userID + ":" + key.trim();
+        String fingerprint = fingerprint(operation, request);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            StoredResponse stored = responses.getIfPresent(scopedKey);
+            if (stored != null) {
+                return replay(stored, fingerprint, responseType);
+            }
+
+            CompletableFuture<StoredResponse> attempt = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scopedKey, attempt);
+            if (running == null) {
+                try {
+                    return runFirst(scopedKey, fingerprint, responseType, action, attempt, deadline);
+                } finally {
+                    inFlight.remove(scopedKey, attempt);
+                }
+            }
+
+            // null means the first attempt failed, so this duplicate gets to try
+            stored = await(running, deadline);
+            if (stored != null) {
+                return replay(stored, fingerprint, responseType);
+            }
+        }
+    }
+
+    private <T> T runFirst(String scopedKey, String fingerprint, Class<T> responseType, Supplier<T> action,
+                           CompletableFuture<StoredResponse> attempt, long deadline) {
+        boolean locked = false;
+        String token = UUID.randomUUID().toString();
+        try {
+            if (sharedStore != null) {
+                Optional<StoredResponse> remote = awaitShared(scopedKey, token, deadline);
+                if (remote.isPresent()) {
+                    responses.put(scopedKey, remote.get());
+                    attempt.complete(remote.get());
+                    return replay(remote.get(), fingerprint, responseType);
+                }
+                locked = true;
+            }
+
+            T result = action.get();
+
+            StoredResponse stored = new StoredResponse(fingerprint, toJson(result));
+            responses.put(scopedKey, stored);
+            if (locked) {
+                saveShared(scopedKey, token, stored);
+                locked = false;
+            }
+            attempt.complete(stored);
+            return result;
+        } finally {
+            if (!attempt.isDone()) {
+                attempt.complete(null);
+            }
+            if (locked) {
+                unlockShared(scopedKey, token);
+            }
+        }
+    }
+
+    /**
+     * Waits until another node has answered the key or this node holds its lock. Falls back to
+     * local-only behaviour when the shared store is unavailable
+     */
+    private Optional<StoredResponse> awaitShared(String scopedKey, String token, long deadline) {
+        try {
+            while (true) {
+                Optional<StoredResponse> stored = sharedStore.find(scopedKey);
+                if (stored.isPresent() || sharedStore.tryLock(scopedKey, token, lockTtl)) {
+                    return stored;
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new ConflictException("A request with this Idempotency-Key is still in progress");
+                }
+                Thread.sleep(SHARED_POLL_MILLIS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this Idempotency-Key is still in progress");
+        } catch (ConflictException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            log.warn("Idempotency store unavailable, using local store only", ex);
+            return Optional.empty();
+        }
+    }
+
+    private void saveShared(String scopedKey, String token, StoredResponse stored) {
+        try {
+            sharedStore.save(scopedKey, token, stored, ttl);
+        } catch (RuntimeException ex) {
+            log.warn("Unable to save idempotent response to shared store", ex);
+        }
+    }
+
+    private void unlockShared(String scopedKey, String token) {
+        try {
+            sharedStore.unlock(scopedKey, token);
+        } catch (RuntimeException ex) {
+            log.warn("Unable to release idempotency lock, it expires after {}", lockTtl, ex);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running, long deadline) {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new ConflictException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException ex) {
+            return null;
+        }
+    }
+
+    private <T> T replay(StoredResponse stored, String fingerprint, Class<T> responseType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new UnprocessableEntityException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return objectMapper.readValue(stored.body(), responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to read stored idempotent response", ex);
+        }
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to fingerprint request", ex);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to store idempotent response", ex);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package task_management_system.idempotency.store;
+
+import task_management_system.idempotency.dto.StoredResponse;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Shared backend so retries landing on another node are also replayed. The local cache in
+ * IdempotencyService is always consulted first; this store is optional
+ */
+public interface IdempotencyStore {
+
+    Optional<StoredResponse> find(String key);
+
+    /**
+     * Marks the key as in flight for the attempt identified by token, returns false when another
+     * attempt already holds it
+     */
+    boolean tryLock(String key, String token, Duration ttl);
+
+    /**
+     * Releases the key only while it is still held by the given attempt, so an attempt whose lock
+     * expired never frees the lock of the attempt that took over
+     */
+    void unlock(String key, String token);
+
+    void save(String key, String token, StoredResponse response, Duration ttl);
+}
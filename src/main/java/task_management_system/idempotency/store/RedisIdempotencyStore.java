@@ -0,0 +1,55 @@
+package task_management_system.idempotency.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import task_management_system.idempotency.dto.StoredResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "idempotency.shared-store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String RESPONSE_PREFIX = "idempotency:response:";
+    private static final String LOCK_PREFIX = "idempotency:lock:";
+    private static final RedisScript<Long> COMPARE_AND_DELETE = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        String value = redisTemplate.opsForValue().get(RESPONSE_PREFIX + key);
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        int separator = value.indexOf('\n');
+        return Optional.of(new StoredResponse(value.substring(0, separator), value.substring(separator + 1)));
+    }
+
+    @Override
+    public boolean tryLock(String key, String token, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + key, token, ttl));
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+        redisTemplate.execute(COMPARE_AND_DELETE, List.of(LOCK_PREFIX + key), token);
+    }
+
+    @Override
+    public void save(String key, String token, StoredResponse response, Duration ttl) {
+        redisTemplate.opsForValue().set(RESPONSE_PREFIX + key, response.fingerprint() + "\n" + response.body(), ttl);
+        unlock(key, token);
+    }
+}
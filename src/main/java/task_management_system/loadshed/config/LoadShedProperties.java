@@ -0,0 +1,52 @@
+package task_management_system.loadshed.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "load-shed")
+public class LoadShedProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Paths guarded by the limiter. Long-lived streams are excluded since they hold no connection
+     */
+    private List<String> include = new ArrayList<>(List.of("/api/v1/tasks", "/api/v1/tasks/**"));
+    private List<String> exclude = new ArrayList<>(List.of("/api/v1/tasks/stream"));
+
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+
+    /**
+     * Share of the limit that queries may fill; the rest is kept for writes
+     */
+    private double queryShare = 0.8;
+
+    /**
+     * Latency may grow this far over the long-term average before the limit shrinks
+     */
+    private double tolerance = 1.5;
+
+    /**
+     * Weight of a new sample in the limit, lower values react slower but steadier
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Samples averaged into the long-term latency; it tracks the no-load latency the limit aims for
+     */
+    private int longWindow = 600;
+
+    /**
+     * Factor the limit is cut by when a request fails with a server error, e.g. a pool timeout
+     */
+    private double backoff = 0.9;
+
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
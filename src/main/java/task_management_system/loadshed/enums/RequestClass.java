@@ -0,0 +1,6 @@
+package task_management_system.loadshed.enums;
+
+public enum RequestClass {
+    WRITE,
+    QUERY
+}
@@ -0,0 +1,156 @@
+package task_management_system.loadshed.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import task_management_system.loadshed.config.LoadShedProperties;
+import task_management_system.loadshed.enums.RequestClass;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Gradient concurrency limit. Every completed request is a latency sample: the limit is scaled by the
+ * ratio of the long-term average latency to the sample and then given a headroom of sqrt(limit), so it
+ * grows while latency holds and shrinks as soon as requests start queueing for connections. Server
+ * errors cut it by the backoff factor. Requests over the limit are rejected at once instead of waiting.
+ * Queries may only fill part of the limit, so writes still get in when lists pile up
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double queryShare;
+    private final double tolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private final double backoff;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestClass, Counter> rejected = new EnumMap<>(RequestClass.class);
+    private volatile double limit;
+    private double longRtt;
+    private long samples;
+
+    public AdaptiveConcurrencyLimiter(LoadShedProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimiter(LoadShedProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        if (properties.getMinLimit() < 1 || properties.getMaxLimit() < properties.getMinLimit()) {
+            throw new IllegalArgumentException("load-shed limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.queryShare = properties.getQueryShare();
+        this.tolerance = properties.getTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.longWindow = properties.getLongWindow();
+        this.backoff = properties.getBackoff();
+        this.clock = clock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+
+        Gauge.builder("load.shed.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Requests the adaptive limiter currently lets run at once")
+                .register(meterRegistry);
+        Gauge.builder("load.shed.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted by the adaptive limiter")
+                .register(meterRegistry);
+        for (RequestClass requestClass : RequestClass.values()) {
+            rejected.put(requestClass, Counter.builder("load.shed.rejected")
+                    .description("Requests rejected with 503 because the adaptive limit was reached")
+                    .tag("class", requestClass.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Admits the request when its class still has room under the limit, returns null otherwise
+     */
+    public Permit tryAcquire(RequestClass requestClass) {
+        int allowed = allowed(requestClass);
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(requestClass).increment();
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        return new Permit(clock.getAsLong(), current + 1);
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private int allowed(RequestClass requestClass) {
+        int current = (int) limit;
+        return requestClass == RequestClass.WRITE ? current : Math.max(1, (int) (current * queryShare));
+    }
+
+    private synchronized void onSample(long rtt, int inFlightAtStart) {
+        samples++;
+        longRtt = samples == 1 ? rtt : longRtt + (rtt - longRtt) / Math.min(samples, longWindow);
+
+        double current = limit;
+        if (inFlightAtStart < current / 2) {
+            // too few requests to tell anything about the limit itself
+            return;
+        }
+        if (longRtt > 2 * rtt) {
+            // load dropped well below what the average remembers; let it catch up faster
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+        double target = current * gradient + Math.sqrt(current);
+        setLimit(current * (1 - smoothing) + target * smoothing);
+    }
+
+    private synchronized void onDropped() {
+        setLimit(limit * backoff);
+    }
+
+    private void setLimit(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * Held while an admitted request runs; exactly one of its methods must be called when it ends
+     */
+    public final class Permit {
+        private final long startedAt;
+        private final int inFlightAtStart;
+
+        private Permit(long startedAt, int inFlightAtStart) {
+            this.startedAt = startedAt;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void success() {
+            inFlight.decrementAndGet();
+            onSample(clock.getAsLong() - startedAt, inFlightAtStart);
+        }
+
+        public void dropped() {
+            inFlight.decrementAndGet();
+            onDropped();
+        }
+
+        /**
+         * Releases without a sample, for requests whose latency says nothing about the backend
+         */
+        public void ignore() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package task_management_system.outbox.dto;
+
+import task_management_system.outbox.entity.OutboxEvent;
+import task_management_system.outbox.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * In-process notification of a relayed outbox event, published as a Spring application event
+ */
+public record TaskChangeEvent(
+        Long id,
+        UUID taskID,
+        OutboxEventType type,
+        String payload,
+        LocalDateTime createdAt
+) {
+
+    public static TaskChangeEvent of(OutboxEvent event) {
+        return new TaskChangeEvent(
+                event.getId(),
+                event.getAggregateId(),
+                event.getEventType(),
+                event.getPayload(),
+                event.getCreatedAt()
+        );
+    }
+}
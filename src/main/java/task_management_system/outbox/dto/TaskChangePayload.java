@@ -0,0 +1,19 @@
+package task_management_system.outbox.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import task_management_system.task.dto.TaskDto;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Body of a task change event. userIDs lists every user holding a role on the task when the change happened
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskChangePayload(
+        UUID taskID,
+        Collection<UUID> userIDs,
+        TaskDto task,
+        Map<String, Object> changes
+) {}
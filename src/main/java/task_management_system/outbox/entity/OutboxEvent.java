@@ -0,0 +1,71 @@
+package task_management_system.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import task_management_system.outbox.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_pending", columnList = "published_at, id"),
+        @Index(name = "idx_outbox_partition_pending", columnList = "partition_id, published_at, id"),
+        @Index(name = "idx_outbox_aggregate", columnList = "aggregate_id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    @Column(nullable = false)
+    private int partitionId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private String claimedBy;
+
+    @Column
+    private LocalDateTime claimedUntil;
+
+    @Column
+    private LocalDateTime publishedAt;
+
+    /**
+     * Failed deliveries so far
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * Earliest time a failed event is claimed again
+     */
+    @Column
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Set once max-attempts deliveries have failed; the relay no longer claims the event
+     */
+    @Column
+    private LocalDateTime deadLetteredAt;
+}
@@ -0,0 +1,22 @@
+package task_management_system.outbox.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lock row for one slice of the outbox. Every event of a task hashes to the same partition, and a relay
+ * only claims events from partitions whose row it holds locked, so claims for a task never overlap
+ */
+@Getter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_partitions")
+public class OutboxPartition {
+    @Id
+    private Integer id;
+}
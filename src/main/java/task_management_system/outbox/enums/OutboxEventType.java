@@ -0,0 +1,10 @@
+package task_management_system.outbox.enums;
+
+public enum OutboxEventType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_SHARED,
+    TASK_DELETED,
+    TASK_RESTORED,
+    TASK_ARCHIVED
+}
@@ -0,0 +1,54 @@
+package task_management_system.outbox.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import task_management_system.outbox.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Pending events of the given partitions whose lease is free and whose retry is due, oldest first. Rows
+     * locked by another relay are skipped, and an event is held back while an earlier event for the same
+     * task is still leased elsewhere or waiting for its retry. Dead-lettered events hold nothing back. The
+     * caller must hold the partition locks, otherwise a concurrent claim of that earlier event is not
+     * visible here yet
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.deadLetteredAt IS NULL " +
+            "AND e.partitionId IN :partitions " +
+            "AND (e.claimedUntil IS NULL OR e.claimedUntil < :now) " +
+            "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) " +
+            "AND NOT EXISTS (SELECT p.id FROM OutboxEvent p WHERE p.aggregateId = e.aggregateId " +
+            "AND p.id < e.id AND p.publishedAt IS NULL AND p.deadLetteredAt IS NULL " +
+            "AND (p.claimedUntil >= :now OR p.nextAttemptAt > :now)) " +
+            "ORDER BY e.id")
+    List<OutboxEvent> findClaimable(@Param("now") LocalDateTime now,
+                                    @Param("partitions") Collection<Integer> partitions,
+                                    Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt, e.claimedUntil = NULL " +
+            "WHERE e.id IN :ids AND e.claimedBy = :nodeID")
+    int markPublished(@Param("ids") Collection<Long> ids,
+                      @Param("nodeID") String nodeID,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = NULL WHERE e.id IN :ids AND e.claimedBy = :nodeID")
+    int releaseClaims(@Param("ids") Collection<Long> ids, @Param("nodeID") String nodeID);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.deadLetteredAt IS NULL")
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.publishedAt < :before ORDER BY e.id")
+    List<Long> findPublishedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package task_management_system.outbox.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import task_management_system.outbox.entity.OutboxPartition;
+
+import java.util.List;
+
+public interface OutboxPartitionRepository extends JpaRepository<OutboxPartition, Integer> {
+
+    /**
+     * Locks every partition no other relay is claiming from, skipping the ones that are locked
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM OutboxPartition p ORDER BY p.id")
+    List<OutboxPartition> lockFree();
+}
@@ -0,0 +1,182 @@
+package task_management_system.outbox.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import task_management_system.outbox.entity.OutboxEvent;
+import task_management_system.outbox.sink.OutboxSink;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in batches. Each node leases a batch, hands it to every sink in id order and
+ * only then marks it published, so a crash or sink failure leads to redelivery rather than loss.
+ * When a batch fails its events are delivered one by one, so a single bad event backs off and is
+ * eventually dead-lettered without holding back the rest
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxService outboxService;
+    private final List<OutboxSink> sinks;
+    private final String nodeID;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retention;
+
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Counter deadLetterCounter;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxService outboxService,
+                       List<OutboxSink> sinks,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.node-id:}") String nodeID,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.lease-ms:30000}") long leaseMillis,
+                       @Value("${outbox.relay.retention-hours:24}") long retentionHours) {
+        this.outboxService = outboxService;
+        this.sinks = sinks;
+        this.nodeID = nodeID.isBlank() ? UUID.randomUUID().toString() : nodeID;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retention = Duration.ofHours(retentionHours);
+
+        this.publishedCounter = Counter.builder("outbox.events.published")
+                .description("Outbox events delivered to all sinks")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.relay.failures")
+                .description("Outbox batches that failed to deliver and were retried one event at a time")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("outbox.events.dead-lettered")
+                .description("Outbox events given up on after max-attempts failed deliveries")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to claim, deliver and acknowledge one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPartitions() {
+        outboxService.createPartitions();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+
+            updateLag();
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay cycle failed", ex);
+        }
+    }
+
+    /**
+     * Relays a single batch and returns the number of events delivered
+     */
+    public int relayBatch() {
+        return batchTimer.record(() -> {
+            List<OutboxEvent> batch = outboxService.claimBatch(nodeID, batchSize, lease);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            if (!deliver(batch)) {
+                failureCounter.increment();
+                return relayEach(batch);
+            }
+
+            outboxService.markPublished(batch.stream().map(OutboxEvent::getId).toList(), nodeID);
+            publishedCounter.increment(batch.size());
+            return batch.size();
+        });
+    }
+
+    /**
+     * Delivers the events of a failed batch one at a time. A failure is counted against that event only.
+     * Later events of its task are given back unsent, so they still follow it
+     */
+    private int relayEach(List<OutboxEvent> batch) {
+        List<Long> delivered = new ArrayList<>();
+        List<Long> heldBack = new ArrayList<>();
+        Set<UUID> failedTasks = new HashSet<>();
+
+        for (OutboxEvent event : batch) {
+            if (failedTasks.contains(event.getAggregateId())) {
+                heldBack.add(event.getId());
+            } else if (deliver(List.of(event))) {
+                delivered.add(event.getId());
+            } else {
+                failedTasks.add(event.getAggregateId());
+                if (outboxService.recordFailure(event.getId(), nodeID)) {
+                    deadLetterCounter.increment();
+                    log.error("Outbox event {} for task {} was dead-lettered", event.getId(), event.getAggregateId());
+                }
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxService.markPublished(delivered, nodeID);
+            publishedCounter.increment(delivered.size());
+        }
+        if (!heldBack.isEmpty()) {
+            outboxService.releaseClaims(heldBack, nodeID);
+        }
+        return delivered.size();
+    }
+
+    private boolean deliver(List<OutboxEvent> events) {
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(events);
+            } catch (Exception ex) {
+                log.warn("Outbox sink {} failed for events {}-{}", sink.name(),
+                        events.get(0).getId(), events.get(events.size() - 1).getId(), ex);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge.interval-ms:600000}")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int purged;
+        do {
+            purged = outboxService.purgePublished(cutoff, batchSize);
+        } while (purged == batchSize);
+    }
+
+    private void updateLag() {
+        lagMillis.set(outboxService.findOldestPending()
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis())
+                .orElse(0L));
+    }
+}
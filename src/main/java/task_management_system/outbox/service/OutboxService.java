@@ -0,0 +1,185 @@
+package task_management_system.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.entity.OutboxEvent;
+import task_management_system.outbox.entity.OutboxPartition;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.repository.OutboxEventRepository;
+import task_management_system.outbox.repository.OutboxPartitionRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPartitionRepository outboxPartitionRepository;
+    private final ObjectMapper objectMapper;
+    private final int partitions;
+    private final int maxAttempts;
+    private final Duration retryBase;
+    private final Duration retryMax;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         OutboxPartitionRepository outboxPartitionRepository,
+                         ObjectMapper objectMapper,
+                         @Value("${outbox.relay.partitions:16}") int partitions,
+                         @Value("${outbox.relay.max-attempts:12}") int maxAttempts,
+                         @Value("${outbox.relay.retry-base-ms:1000}") long retryBaseMillis,
+                         @Value("${outbox.relay.retry-max-ms:3600000}") long retryMaxMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPartitionRepository = outboxPartitionRepository;
+        this.objectMapper = objectMapper;
+        this.partitions = partitions;
+        this.maxAttempts = maxAttempts;
+        this.retryBase = Duration.ofMillis(retryBaseMillis);
+        this.retryMax = Duration.ofMillis(retryMaxMillis);
+    }
+
+    /**
+     * Writes a task change to the outbox. Must join the transaction that makes the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType type, TaskChangePayload payload) {
+        outboxEventRepository.save(toEvent(type, payload));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(OutboxEventType type, Collection<TaskChangePayload> payloads) {
+        outboxEventRepository.saveAll(payloads.stream()
+                .map(payload -> toEvent(type, payload))
+                .toList());
+    }
+
+    /**
+     * Leases up to batchSize pending events to the given relay node, oldest first. Only partitions no other
+     * relay is claiming from are considered, so two relays never lease events of the same task at once
+     */
+    @Transactional
+    public List<OutboxEvent> claimBatch(String nodeID, int batchSize, Duration lease) {
+        List<Integer> owned = outboxPartitionRepository.lockFree().stream()
+                .map(OutboxPartition::getId)
+                .toList();
+        if (owned.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.findClaimable(now, owned, PageRequest.of(0, batchSize));
+
+        batch.forEach(event -> {
+            event.setClaimedBy(nodeID);
+            event.setClaimedUntil(now.plus(lease));
+        });
+        return batch;
+    }
+
+    @Transactional
+    public int markPublished(Collection<Long> ids, String nodeID) {
+        return outboxEventRepository.markPublished(ids, nodeID, LocalDateTime.now());
+    }
+
+    /**
+     * Gives a failed batch back so it can be retried without waiting for the lease to run out
+     */
+    @Transactional
+    public void releaseClaims(Collection<Long> ids, String nodeID) {
+        outboxEventRepository.releaseClaims(ids, nodeID);
+    }
+
+    /**
+     * Counts a failed delivery of one event held by the node. The event is retried after an exponential
+     * backoff, and dead-lettered once max-attempts deliveries have failed. Returns true when it was
+     * dead-lettered
+     */
+    @Transactional
+    public boolean recordFailure(Long id, String nodeID) {
+        return outboxEventRepository.findById(id)
+                .filter(event -> nodeID.equals(event.getClaimedBy()) && event.getPublishedAt() == null)
+                .map(event -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    int attempts = event.getAttempts() + 1;
+                    event.setAttempts(attempts);
+                    event.setClaimedUntil(null);
+
+                    if (attempts >= maxAttempts) {
+                        event.setDeadLetteredAt(now);
+                        return true;
+                    }
+                    event.setNextAttemptAt(now.plus(backoff(attempts)));
+                    return false;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Inserts the partition lock rows that are missing. Nodes starting together may race on the same row,
+     * the loser keeps the row the winner inserted
+     */
+    public void createPartitions() {
+        Set<Integer> existing = outboxPartitionRepository.findAll().stream()
+                .map(OutboxPartition::getId)
+                .collect(Collectors.toSet());
+
+        for (int id = 0; id < partitions; id++) {
+            if (existing.contains(id)) {
+                continue;
+            }
+            try {
+                outboxPartitionRepository.saveAndFlush(new OutboxPartition(id));
+            } catch (DataIntegrityViolationException ex) {
+                log.debug("Outbox partition {} was created by another node", id);
+            }
+        }
+    }
+
+    public Optional<LocalDateTime> findOldestPending() {
+        return outboxEventRepository.findOldestPendingCreatedAt();
+    }
+
+    /**
+     * Deletes one chunk of events published before the cutoff, returns the number removed
+     */
+    @Transactional
+    public int purgePublished(LocalDateTime before, int chunkSize) {
+        List<Long> ids = outboxEventRepository.findPublishedBefore(before, PageRequest.of(0, chunkSize));
+        if (!ids.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(ids);
+        }
+        return ids.size();
+    }
+
+    private Duration backoff(int attempts) {
+        long millis = retryBase.toMillis() << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(millis, retryMax.toMillis()));
+    }
+
+    private OutboxEvent toEvent(OutboxEventType type, TaskChangePayload payload) {
+        try {
+            return OutboxEvent.builder()
+                    .aggregateId(payload.taskID())
+                    .partitionId(Math.floorMod(payload.taskID().hashCode(), partitions))
+                    .eventType(type)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize outbox payload for task " + payload.taskID(), ex);
+        }
+    }
+}
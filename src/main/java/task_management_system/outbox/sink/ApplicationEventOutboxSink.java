@@ -0,0 +1,32 @@
+package task_management_system.outbox.sink;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import task_management_system.outbox.dto.TaskChangeEvent;
+import task_management_system.outbox.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Publishes each event as a {@link TaskChangeEvent} to in-process listeners. Off when
+ * {@link RedisPubSubOutboxSink} is on, since that one publishes to every node including this one
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("${outbox.sink.in-process.enabled:true} and !${outbox.sink.redis-pubsub.enabled:false}")
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        events.forEach(event -> eventPublisher.publishEvent(TaskChangeEvent.of(event)));
+    }
+}
@@ -0,0 +1,86 @@
+package task_management_system.outbox.sink;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import task_management_system.outbox.entity.OutboxEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local stand-in for a Redis stream: entries get "millis-sequence" ids like XADD and the
+ * stream is trimmed to a maximum length like XADD MAXLEN
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink.stream.enabled", havingValue = "true")
+public class InMemoryStreamSink implements OutboxSink {
+
+    public record StreamEntry(String id, OutboxEvent event) {}
+
+    private final Deque<StreamEntry> stream = new ArrayDeque<>();
+    private final int maxLength;
+
+    private long lastMillis;
+    private long sequence;
+
+    public InMemoryStreamSink(@Value("${outbox.sink.stream.max-length:10000}") int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public String name() {
+        return "stream";
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            stream.addLast(new StreamEntry(nextId(), event));
+            if (stream.size() > maxLength) {
+                stream.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Returns up to count entries with an id after the given one, like XREAD. A null id reads from the start
+     */
+    public synchronized List<StreamEntry> read(String afterID, int count) {
+        List<StreamEntry> entries = new ArrayList<>();
+        for (StreamEntry entry : stream) {
+            if (entries.size() == count) {
+                break;
+            }
+            if (afterID == null || compareIds(entry.id(), afterID) > 0) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    public synchronized int length() {
+        return stream.size();
+    }
+
+    private String nextId() {
+        long now = System.currentTimeMillis();
+        if (now > lastMillis) {
+            lastMillis = now;
+            sequence = 0;
+        } else {
+            sequence++;
+        }
+        return lastMillis + "-" + sequence;
+    }
+
+    private static int compareIds(String left, String right) {
+        String[] l = left.split("-");
+        String[] r = right.split("-");
+
+        int byMillis = Long.compare(Long.parseLong(l[0]), Long.parseLong(r[0]));
+        return byMillis != 0 ? byMillis : Long.compare(Long.parseLong(l[1]), Long.parseLong(r[1]));
+    }
+}
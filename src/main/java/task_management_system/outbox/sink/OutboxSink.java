@@ -0,0 +1,16 @@
+package task_management_system.outbox.sink;
+
+import task_management_system.outbox.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination for relayed outbox events. Delivery is at-least-once, so a batch may be handed
+ * to a sink again after a failure and sinks should tolerate duplicate event ids
+ */
+public interface OutboxSink {
+
+    String name();
+
+    void publish(List<OutboxEvent> events) throws Exception;
+}
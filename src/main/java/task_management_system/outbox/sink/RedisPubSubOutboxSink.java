@@ -0,0 +1,85 @@
+package task_management_system.outbox.sink;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import task_management_system.outbox.dto.TaskChangeEvent;
+import task_management_system.outbox.entity.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Publishes each event on a Redis channel that every node subscribes to, and republishes what it
+ * receives as a {@link TaskChangeEvent} to in-process listeners. Whichever node relays an event,
+ * streams on all nodes see it. Pub/sub delivers at most once: a node that is disconnected from
+ * Redis misses events, and its stream clients resync when they reconnect elsewhere
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.sink.redis-pubsub.enabled", havingValue = "true")
+public class RedisPubSubOutboxSink implements OutboxSink, MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+
+    private RedisMessageListenerContainer container;
+
+    public RedisPubSubOutboxSink(StringRedisTemplate redisTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ObjectMapper objectMapper,
+                                 @Value("${outbox.sink.redis-pubsub.channel:task-changes}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        container.addMessageListener(this, new ChannelTopic(channel));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    void unsubscribe() throws Exception {
+        container.destroy();
+    }
+
+    @Override
+    public String name() {
+        return "redis-pubsub";
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws JsonProcessingException {
+        for (OutboxEvent event : events) {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(TaskChangeEvent.of(event)));
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            eventPublisher.publishEvent(objectMapper.readValue(message.getBody(), TaskChangeEvent.class));
+        } catch (IOException ex) {
+            log.warn("Skipping unreadable task change message on {}", channel, ex);
+        }
+    }
+}
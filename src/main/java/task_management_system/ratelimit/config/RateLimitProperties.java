@@ -0,0 +1,131 @@
+package task_management_system.ratelimit.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import task_management_system.ratelimit.enums.RateLimitScope;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on buckets held in memory; the least recently used are dropped first
+     */
+    private long maxKeys = 100_000;
+
+    private Limit ip = new Limit(50, Duration.ofMinutes(1));
+
+    /**
+     * Applied to authenticated requests in addition to the IP limit, disabled when capacity is 0
+     */
+    private Limit user = new Limit(0, Duration.ofMinutes(1));
+
+    /**
+     * Checked in order, the first route matching the request applies
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * none keeps limits per node, redis or in-memory reconciles buckets through a shared store
+     */
+    private String sharedStore = "none";
+
+    private Sync sync = new Sync();
+
+    private HeavyHitters heavyHitters = new HeavyHitters();
+
+    /**
+     * Buckets idle for longer than the longest period have refilled completely, so dropping them loses nothing
+     */
+    public Duration longestPeriod() {
+        return Stream.concat(Stream.of(ip, user), routes.stream().map(Route::toLimit))
+                .map(Limit::getPeriod)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private long capacity;
+        private Duration period;
+    }
+
+    @Data
+    public static class Sync {
+        /**
+         * How often nodes top up their grants; a node that runs out waits at most this long for more
+         */
+        private Duration interval = Duration.ofMillis(250);
+        private int batchSize = 500;
+
+        /**
+         * Fraction of a policy's capacity a node may spend on a new key before its first grant. This is
+         * the only slack: a burst can exceed a limit by up to nodes x share x capacity, which the shared
+         * bucket then takes back from its next refills
+         */
+        private double localShare = 0.25;
+    }
+
+    @Data
+    public static class HeavyHitters {
+        private boolean enabled = true;
+
+        /**
+         * Count-Min counters per row; estimates overcount by at most 2.7 / width of the window's requests
+         */
+        private int width = 2048;
+        private int depth = 4;
+
+        /**
+         * Keys held per dimension by the top talkers summary
+         */
+        private int topK = 50;
+        private Duration window = Duration.ofMinutes(1);
+
+        /**
+         * Clients estimated above this percentile of the previous window count as heavy
+         */
+        private double percentile = 99.0;
+
+        /**
+         * Floor for the heavy threshold, so a quiet window never flags ordinary clients
+         */
+        private long minRequests = 100;
+
+        /**
+         * When true the per-IP limit applies only to heavy clients, so only they take a bucket
+         */
+        private boolean throttleHeavyOnly = false;
+
+        /**
+         * Emails of the users who may read /actuator/heavyhitters; nobody when empty
+         */
+        private Set<String> operators = new HashSet<>();
+    }
+
+    @Data
+    public static class Route {
+        private String pattern;
+        private String method;
+        private RateLimitScope per = RateLimitScope.USER;
+        private long capacity;
+        private Duration period = Duration.ofMinutes(1);
+
+        Limit toLimit() {
+            return new Limit(capacity, period);
+        }
+    }
+}
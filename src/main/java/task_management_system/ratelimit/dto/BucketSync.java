@@ -0,0 +1,7 @@
+package task_management_system.ratelimit.dto;
+
+/**
+ * One node's request against a shared bucket: charge tokens it spent without a grant, then grant up
+ * to requested tokens from what is left
+ */
+public record BucketSync(String key, long capacity, long periodMillis, long charge, long requested) {}
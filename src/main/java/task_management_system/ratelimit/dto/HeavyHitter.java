@@ -0,0 +1,6 @@
+package task_management_system.ratelimit.dto;
+
+/**
+ * A tracked key with its counted requests; the true count lies between count - error and count
+ */
+public record HeavyHitter(String key, long count, long error) {}
@@ -0,0 +1,9 @@
+package task_management_system.ratelimit.dto;
+
+public record RateLimitDecision(
+        boolean allowed,
+        RateLimitPolicy policy,
+        long remaining,
+        long resetMillis,
+        long retryAfterMillis
+) {}
@@ -0,0 +1,27 @@
+package task_management_system.ratelimit.dto;
+
+import task_management_system.ratelimit.service.TokenBucket;
+
+import java.time.Duration;
+
+/**
+ * Allows capacity requests per period, refilled continuously. Buckets of the same policy share its name as key prefix
+ */
+public record RateLimitPolicy(String name, long capacity, Duration period) {
+
+    public RateLimitPolicy {
+        if (capacity < 1 || capacity > TokenBucket.MAX_CAPACITY) {
+            throw new IllegalArgumentException("Rate limit capacity must be between 1 and " + TokenBucket.MAX_CAPACITY);
+        }
+        if (period == null || period.toMillis() < 1) {
+            throw new IllegalArgumentException("Rate limit period must be at least one millisecond");
+        }
+    }
+
+    /**
+     * Value of the RateLimit-Policy header, e.g. 50;w=60
+     */
+    public String header() {
+        return capacity + ";w=" + Math.max(1, period.toSeconds());
+    }
+}
@@ -0,0 +1,15 @@
+package task_management_system.ratelimit.dto;
+
+import java.util.List;
+
+/**
+ * Heaviest keys of one dimension in the current and the last complete window. Keys estimated above
+ * threshold requests in a sliding window count as heavy
+ */
+public record TopTalkers(
+        long threshold,
+        long currentTotal,
+        List<HeavyHitter> current,
+        long previousTotal,
+        List<HeavyHitter> previous
+) {}
@@ -0,0 +1,35 @@
+package task_management_system.ratelimit.endpoint;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import task_management_system.ratelimit.dto.TopTalkers;
+import task_management_system.ratelimit.enums.TrafficDimension;
+import task_management_system.ratelimit.service.HeavyHitterTracker;
+
+import java.util.Map;
+
+/**
+ * Top talkers by IP, user and route at /actuator/heavyhitters, or one dimension at /actuator/heavyhitters/{dimension}
+ */
+@Component
+@Endpoint(id = "heavyhitters")
+@ConditionalOnProperty(name = "rate-limit.heavy-hitters.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class HeavyHitterEndpoint {
+
+    private final HeavyHitterTracker heavyHitterTracker;
+
+    @ReadOperation
+    public Map<TrafficDimension, TopTalkers> topTalkers() {
+        return heavyHitterTracker.topTalkers();
+    }
+
+    @ReadOperation
+    public TopTalkers topTalkers(@Selector TrafficDimension dimension) {
+        return heavyHitterTracker.topTalkers(dimension);
+    }
+}
@@ -0,0 +1,6 @@
+package task_management_system.ratelimit.enums;
+
+public enum RateLimitScope {
+    IP,
+    USER
+}
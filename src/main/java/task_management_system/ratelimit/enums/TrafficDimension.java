@@ -0,0 +1,7 @@
+package task_management_system.ratelimit.enums;
+
+public enum TrafficDimension {
+    IP,
+    USER,
+    ROUTE
+}
@@ -0,0 +1,75 @@
+package task_management_system.ratelimit.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution of per-key counts in log-linear bins, 8 per power of two. A key moves to the next bin
+ * as its count grows, so the histogram holds one entry per key in fixed memory and percentiles are
+ * accurate to within 12.5%
+ */
+class CountHistogram {
+
+    private static final int SUB_BINS = 8;
+    private static final int BINS = (Long.SIZE - 3) * SUB_BINS;
+
+    private final AtomicLongArray bins = new AtomicLongArray(BINS);
+
+    /**
+     * Moves one key from the bin of its previous count to the bin of its new count
+     */
+    void move(long from, long to) {
+        int fromBin = from > 0 ? bin(from) : -1;
+        int toBin = bin(to);
+        if (fromBin == toBin) {
+            return;
+        }
+        if (fromBin >= 0 && bins.getAndDecrement(fromBin) <= 0) {
+            // the sketch overcounted a new key, so it was never in the old bin
+            bins.incrementAndGet(fromBin);
+        }
+        bins.incrementAndGet(toBin);
+    }
+
+    /**
+     * Upper bound of the counts of keys at the given percentile, or 0 when nothing was counted
+     */
+    long valueAt(double percentile) {
+        long keys = 0;
+        long[] snapshot = new long[BINS];
+        for (int i = 0; i < BINS; i++) {
+            snapshot[i] = bins.get(i);
+            keys += snapshot[i];
+        }
+        if (keys == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(keys * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BINS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return i + 1 < BINS ? lowerBound(i + 1) - 1 : Long.MAX_VALUE;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    static int bin(long count) {
+        if (count < SUB_BINS) {
+            return (int) count;
+        }
+        int octave = 63 - Long.numberOfLeadingZeros(count);
+        int sub = (int) (count >>> (octave - 3)) & (SUB_BINS - 1);
+        return (octave - 2) * SUB_BINS + sub;
+    }
+
+    static long lowerBound(int bin) {
+        if (bin < SUB_BINS) {
+            return bin;
+        }
+        int octave = bin / SUB_BINS + 2;
+        int sub = bin % SUB_BINS;
+        return (long) (SUB_BINS + sub) << (octave - 3);
+    }
+}
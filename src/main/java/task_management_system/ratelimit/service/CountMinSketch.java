@@ -0,0 +1,69 @@
+package task_management_system.ratelimit.service;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size frequency estimator. Each key increments one counter per row and its estimate is the
+ * smallest of them, so estimates never undercount and overcount by at most 2.7 / width of all
+ * increments with probability 1 - e^-depth, however many distinct keys are seen
+ */
+class CountMinSketch {
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("sketch width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(width * depth);
+    }
+
+    /**
+     * Counts one occurrence of the key and returns its estimate including it
+     */
+    long add(String key) {
+        long[] hashes = hash(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hashes, row)));
+        }
+        return estimate;
+    }
+
+    long estimate(String key) {
+        long[] hashes = hash(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hashes, row)));
+        }
+        return estimate;
+    }
+
+    private int index(long[] hashes, int row) {
+        // rows use h1 + row * h2 rather than independent hash functions, which keeps the same bounds
+        return row * width + (int) Math.floorMod(hashes[0] + row * hashes[1], (long) width);
+    }
+
+    private static long[] hash(String key) {
+        HashCode hashCode = HASH.hashString(key, StandardCharsets.UTF_8);
+        byte[] bytes = hashCode.asBytes();
+        long h1 = 0;
+        long h2 = 0;
+        for (int i = 0; i < 8; i++) {
+            h1 |= (bytes[i] & 0xFFL) << (8 * i);
+            h2 |= (bytes[i + 8] & 0xFFL) << (8 * i);
+        }
+        return new long[] {h1, h2};
+    }
+}
@@ -0,0 +1,156 @@
+package task_management_system.ratelimit.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import task_management_system.ratelimit.config.RateLimitProperties;
+import task_management_system.ratelimit.dto.TopTalkers;
+import task_management_system.ratelimit.enums.TrafficDimension;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts requests by IP, user and route in fixed memory, whatever the number of distinct keys. Each
+ * window keeps a Count-Min sketch for estimates, a Space-Saving summary for the top talkers and a
+ * histogram of per-key counts for percentiles. A key's rate is read from a sliding window over the
+ * current and previous one, and the heavy threshold is the configured percentile of the previous window
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.heavy-hitters.enabled", havingValue = "true", matchIfMissing = true)
+public class HeavyHitterTracker {
+
+    private final int width;
+    private final int depth;
+    private final int topK;
+    private final long windowMillis;
+    private final double percentile;
+    private final long minRequests;
+    private final LongSupplier clock;
+
+    private volatile Window current;
+    private volatile Window previous;
+
+    @Autowired
+    public HeavyHitterTracker(RateLimitProperties properties) {
+        this(properties.getHeavyHitters(), () -> System.nanoTime() / 1_000_000);
+    }
+
+    public HeavyHitterTracker(RateLimitProperties.HeavyHitters settings, LongSupplier clock) {
+        this.width = settings.getWidth();
+        this.depth = settings.getDepth();
+        this.topK = settings.getTopK();
+        this.windowMillis = settings.getWindow().toMillis();
+        this.percentile = settings.getPercentile();
+        this.minRequests = settings.getMinRequests();
+        this.clock = clock;
+        this.current = new Window(clock.getAsLong());
+    }
+
+    /**
+     * Counts one request for the key and returns its estimated requests over the last window
+     */
+    public long record(TrafficDimension dimension, String key) {
+        long now = clock.getAsLong();
+        Window window = windowAt(now);
+        long count = window.tally(dimension).add(key);
+
+        Window last = previous;
+        if (last == null) {
+            return count;
+        }
+        double overlap = 1.0 - (double) (now - window.start) / windowMillis;
+        return count + (long) (last.tally(dimension).sketch.estimate(key) * overlap);
+    }
+
+    /**
+     * True when an estimate from {@link #record} is above the percentile threshold of its dimension
+     */
+    public boolean isHeavy(TrafficDimension dimension, long estimate) {
+        return estimate > threshold(dimension);
+    }
+
+    public long threshold(TrafficDimension dimension) {
+        windowAt(clock.getAsLong());
+        Window last = previous;
+        return last == null ? minRequests : last.thresholds.get(dimension);
+    }
+
+    public TopTalkers topTalkers(TrafficDimension dimension) {
+        Window window = windowAt(clock.getAsLong());
+        Window last = previous;
+        Tally tally = window.tally(dimension);
+        return new TopTalkers(
+                threshold(dimension),
+                tally.topK.total(),
+                tally.topK.top(),
+                last == null ? 0 : last.tally(dimension).topK.total(),
+                last == null ? List.of() : last.tally(dimension).topK.top()
+        );
+    }
+
+    public Map<TrafficDimension, TopTalkers> topTalkers() {
+        Map<TrafficDimension, TopTalkers> talkers = new EnumMap<>(TrafficDimension.class);
+        for (TrafficDimension dimension : TrafficDimension.values()) {
+            talkers.put(dimension, topTalkers(dimension));
+        }
+        return talkers;
+    }
+
+    public Duration window() {
+        return Duration.ofMillis(windowMillis);
+    }
+
+    private Window windowAt(long now) {
+        Window window = current;
+        if (now - window.start < windowMillis) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            long elapsed = now - window.start;
+            if (elapsed >= windowMillis) {
+                window.seal(percentile, minRequests);
+                // a gap of more than a whole window means nothing was counted in the one just before now
+                previous = elapsed < 2 * windowMillis ? window : null;
+                window = new Window(window.start + elapsed / windowMillis * windowMillis);
+                current = window;
+            }
+            return window;
+        }
+    }
+
+    private final class Window {
+        private final long start;
+        private final Map<TrafficDimension, Tally> tallies = new EnumMap<>(TrafficDimension.class);
+        private final Map<TrafficDimension, Long> thresholds = new EnumMap<>(TrafficDimension.class);
+
+        private Window(long start) {
+            this.start = start;
+            for (TrafficDimension dimension : TrafficDimension.values()) {
+                tallies.put(dimension, new Tally(new CountMinSketch(width, depth), new SpaceSaving(topK), new CountHistogram()));
+            }
+        }
+
+        private Tally tally(TrafficDimension dimension) {
+            return tallies.get(dimension);
+        }
+
+        private void seal(double percentile, long minRequests) {
+            tallies.forEach((dimension, tally) ->
+                    thresholds.put(dimension, Math.max(minRequests, tally.histogram.valueAt(percentile))));
+        }
+    }
+
+    private record Tally(CountMinSketch sketch, SpaceSaving topK, CountHistogram histogram) {
+        private long add(String key) {
+            long count = sketch.add(key);
+            topK.offer(key);
+            histogram.move(count - 1, count);
+            return count;
+        }
+    }
+}
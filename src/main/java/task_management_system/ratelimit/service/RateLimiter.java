@@ -0,0 +1,185 @@
+package task_management_system.ratelimit.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import task_management_system.ratelimit.config.RateLimitProperties;
+import task_management_system.ratelimit.dto.BucketSync;
+import task_management_system.ratelimit.dto.RateLimitDecision;
+import task_management_system.ratelimit.dto.RateLimitPolicy;
+import task_management_system.ratelimit.store.RateLimitStore;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds one token bucket per policy and key in a size-bounded cache. Hits only read the cache and CAS
+ * the bucket, a lock is taken only when a key is seen for the first time.
+ * <p>
+ * With a shared store, buckets only spend tokens leased from it: a background thread tops up every
+ * bucket used since the last sync in batches, asking for about twice what it spent in the last
+ * interval. A new bucket starts with a local share of the capacity that is charged on its first sync.
+ * While the store is unreachable buckets refill locally, so limits fall back to per node
+ */
+@Slf4j
+public class RateLimiter implements AutoCloseable {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final LongSupplier clock;
+    private final RateLimitStore store;
+    private final int batchSize;
+    private final double localShare;
+    private volatile boolean degraded;
+    private ScheduledExecutorService syncExecutor;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, null);
+    }
+
+    public RateLimiter(RateLimitProperties properties, RateLimitStore store) {
+        this(properties.getMaxKeys(), properties.longestPeriod(), () -> System.nanoTime() / 1_000_000,
+                store, properties.getSync().getBatchSize(), properties.getSync().getLocalShare());
+        if (store != null) {
+            startSync(properties.getSync().getInterval());
+        }
+    }
+
+    public RateLimiter(long maxKeys, Duration idleExpiry, LongSupplier clock) {
+        this(maxKeys, idleExpiry, clock, null, 0, 1);
+    }
+
+    public RateLimiter(long maxKeys, Duration idleExpiry, LongSupplier clock,
+                       RateLimitStore store, int batchSize, double localShare) {
+        this.buckets = CacheBuilder.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        this.clock = clock;
+        this.store = store;
+        this.batchSize = batchSize;
+        this.localShare = localShare;
+    }
+
+    public RateLimitDecision tryAcquire(RateLimitPolicy policy, String key) {
+        long now = clock.getAsLong();
+        String bucketKey = policy.name() + ":" + key;
+
+        TokenBucket bucket = buckets.getIfPresent(bucketKey);
+        if (bucket == null) {
+            bucket = buckets.asMap().computeIfAbsent(bucketKey, ignored -> newBucket(policy, now));
+        }
+        return bucket.tryConsume(now, store == null || degraded);
+    }
+
+    /**
+     * Tops up every bucket used since the last sync from the shared store
+     */
+    public void sync() {
+        if (store == null) {
+            return;
+        }
+
+        List<Map.Entry<String, TokenBucket>> batch = new ArrayList<>(batchSize);
+        for (Map.Entry<String, TokenBucket> entry : buckets.asMap().entrySet()) {
+            if (entry.getValue().isTouched()) {
+                batch.add(entry);
+                if (batch.size() == batchSize) {
+                    flush(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    public long size() {
+        return buckets.size();
+    }
+
+    @Override
+    public void close() {
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+    }
+
+    private TokenBucket newBucket(RateLimitPolicy policy, long now) {
+        if (store == null) {
+            return new TokenBucket(policy, now);
+        }
+        long share = localShare(policy);
+        return new TokenBucket(policy, now, share, share);
+    }
+
+    private long localShare(RateLimitPolicy policy) {
+        return Math.max(1, (long) Math.ceil(policy.capacity() * localShare));
+    }
+
+    private void flush(List<Map.Entry<String, TokenBucket>> batch) {
+        List<BucketSync> syncs = new ArrayList<>(batch.size());
+        List<TokenBucket> synced = new ArrayList<>(batch.size());
+        List<Long> taken = new ArrayList<>(batch.size());
+
+        for (Map.Entry<String, TokenBucket> entry : batch) {
+            TokenBucket bucket = entry.getValue();
+            RateLimitPolicy policy = bucket.policy();
+
+            long spent = bucket.drainTaken();
+            long charge = bucket.drainUnbacked();
+            long target = Math.min(policy.capacity(), Math.max(localShare(policy), 2 * spent));
+            long requested = Math.max(0, target - bucket.available());
+            if (charge == 0 && requested == 0) {
+                continue;
+            }
+
+            syncs.add(new BucketSync(entry.getKey(), policy.capacity(), policy.period().toMillis(), charge, requested));
+            synced.add(bucket);
+            taken.add(spent);
+        }
+        if (syncs.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> granted;
+        try {
+            granted = store.reconcile(syncs);
+        } catch (RuntimeException ex) {
+            if (!degraded) {
+                log.warn("Rate limit store unreachable, enforcing limits per node until it recovers", ex);
+            }
+            degraded = true;
+            for (int i = 0; i < synced.size(); i++) {
+                synced.get(i).undoDrain(taken.get(i), syncs.get(i).charge());
+            }
+            return;
+        }
+
+        degraded = false;
+        for (int i = 0; i < synced.size(); i++) {
+            synced.get(i).grant(granted.getOrDefault(syncs.get(i).key(), 0L));
+        }
+    }
+
+    private void startSync(Duration interval) {
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (RuntimeException ex) {
+                log.warn("Rate limit sync failed", ex);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
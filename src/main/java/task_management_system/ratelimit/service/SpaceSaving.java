@@ -0,0 +1,121 @@
+package task_management_system.ratelimit.service;
+
+import task_management_system.ratelimit.dto.HeavyHitter;
+
+import java.util.*;
+
+/**
+ * Space-Saving top-k summary. Holds at most capacity counters; an unseen key takes over the smallest
+ * one and inherits its count as error. Any key with more than total / capacity occurrences is
+ * guaranteed to be held.
+ * <p>
+ * Keys are split by hash over independent stripes, each a full summary with its own lock, so concurrent
+ * requests rarely wait on each other. A key always lands in the same stripe and a stripe sees at most the
+ * total, so the guarantee above holds per stripe as well
+ */
+class SpaceSaving {
+
+    private static final Comparator<Counter> ORDER = Comparator
+            .comparingLong((Counter counter) -> counter.count)
+            .thenComparing(counter -> counter.key);
+
+    private static final class Counter {
+        private final String key;
+        private long count;
+        private long error;
+
+        private Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private final int capacity;
+    private final Stripe[] stripes;
+
+    SpaceSaving(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    SpaceSaving(int capacity, int concurrency) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("top-k capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.stripes = new Stripe[Integer.highestOneBit(Math.max(1, concurrency) * 2 - 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    void offer(String key) {
+        int hash = key.hashCode();
+        stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)].offer(key);
+    }
+
+    long total() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.total();
+        }
+        return total;
+    }
+
+    /**
+     * Held keys, heaviest first
+     */
+    List<HeavyHitter> top() {
+        List<HeavyHitter> top = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            top.addAll(stripe.top());
+        }
+        top.sort(Comparator.comparingLong(HeavyHitter::count).reversed().thenComparing(HeavyHitter::key));
+        return top.size() > capacity ? new ArrayList<>(top.subList(0, capacity)) : top;
+    }
+
+    private static final class Stripe {
+        private final int capacity;
+        private final Map<String, Counter> counters;
+        private final TreeSet<Counter> byCount = new TreeSet<>(ORDER);
+        private long total;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+            this.counters = new HashMap<>(capacity * 2);
+        }
+
+        private synchronized void offer(String key) {
+            total++;
+            Counter counter = counters.get(key);
+            if (counter != null) {
+                byCount.remove(counter);
+                counter.count++;
+                byCount.add(counter);
+                return;
+            }
+
+            if (counters.size() < capacity) {
+                counter = new Counter(key, 1, 0);
+            } else {
+                Counter smallest = byCount.pollFirst();
+                counters.remove(smallest.key);
+                counter = new Counter(key, smallest.count + 1, smallest.count);
+            }
+            counters.put(key, counter);
+            byCount.add(counter);
+        }
+
+        private synchronized long total() {
+            return total;
+        }
+
+        private synchronized List<HeavyHitter> top() {
+            List<HeavyHitter> top = new ArrayList<>(byCount.size());
+            for (Counter counter : byCount.descendingSet()) {
+                top.add(new HeavyHitter(counter.key, counter.count, counter.error));
+            }
+            return top;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package task_management_system.ratelimit.service;
+
+import task_management_system.ratelimit.dto.RateLimitDecision;
+import task_management_system.ratelimit.dto.RateLimitPolicy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket whose whole state lives in one long, updated with compare-and-set: the upper 40 bits
+ * hold the refill time in milliseconds since the bucket was created, the lower 24 bits the tokens in
+ * 1/256 units. Refill only moves the time forward by what the refilled units are worth, so slow rates
+ * do not lose fractions of a token to frequent calls.
+ * <p>
+ * In cluster mode the bucket does not refill itself; tokens are granted by the shared store and the
+ * bucket counts what it takes so the next grant can follow demand
+ */
+public final class TokenBucket {
+
+    private static final int UNIT_BITS = 8;
+    private static final long UNIT = 1L << UNIT_BITS;
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    public static final long MAX_CAPACITY = TOKEN_MASK >> UNIT_BITS;
+
+    private final RateLimitPolicy policy;
+    private final long capacityUnits;
+    private final long periodMillis;
+    private final long originMillis;
+    private final AtomicLong state;
+    private final AtomicLong taken = new AtomicLong();
+    private final AtomicLong unbacked;
+    private volatile boolean touched;
+
+    public TokenBucket(RateLimitPolicy policy, long nowMillis) {
+        this(policy, nowMillis, policy.capacity(), 0);
+    }
+
+    /**
+     * @param initialTokens tokens available before anything is granted
+     * @param unbackedTokens part of those not yet charged to the shared store
+     */
+    public TokenBucket(RateLimitPolicy policy, long nowMillis, long initialTokens, long unbackedTokens) {
+        this.policy = policy;
+        this.capacityUnits = policy.capacity() << UNIT_BITS;
+        this.periodMillis = policy.period().toMillis();
+        this.originMillis = nowMillis;
+        this.state = new AtomicLong(pack(0, Math.min(capacityUnits, initialTokens << UNIT_BITS)));
+        this.unbacked = new AtomicLong(unbackedTokens);
+    }
+
+    public RateLimitDecision tryConsume(long nowMillis) {
+        return tryConsume(nowMillis, true);
+    }
+
+    /**
+     * Takes one token if available, refilling by elapsed time first when refill is set.
+     * A denied call leaves the state untouched
+     */
+    public RateLimitDecision tryConsume(long nowMillis, boolean refill) {
+        if (!touched) {
+            touched = true;
+        }
+        long now = Math.max(0, nowMillis - originMillis);
+        while (true) {
+            long current = state.get();
+            long time = current >>> TOKEN_BITS;
+            long units = current & TOKEN_MASK;
+
+            long elapsed = Math.max(0, now - time);
+            if (!refill) {
+                time = now;
+            } else if (elapsed >= periodMillis) {
+                units = capacityUnits;
+                time = now;
+            } else {
+                long refilled = elapsed * capacityUnits / periodMillis;
+                if (units + refilled >= capacityUnits) {
+                    units = capacityUnits;
+                    time = now;
+                } else {
+                    units += refilled;
+                    time += refilled * periodMillis / capacityUnits;
+                }
+            }
+
+            if (units < UNIT) {
+                long retryAfter = Math.max(1, time + millisFor(UNIT - units) - now);
+                return new RateLimitDecision(false, policy, 0, time + millisFor(capacityUnits - units) - now, retryAfter);
+            }
+
+            long remaining = units - UNIT;
+            if (state.compareAndSet(current, pack(time, remaining))) {
+                taken.incrementAndGet();
+                return new RateLimitDecision(true, policy, remaining >> UNIT_BITS,
+                        Math.max(0, time + millisFor(capacityUnits - remaining) - now), 0);
+            }
+        }
+    }
+
+    public RateLimitPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * True when the bucket was used since its last sync with the shared store
+     */
+    public boolean isTouched() {
+        return touched;
+    }
+
+    /**
+     * Whole tokens left, without refill
+     */
+    public long available() {
+        return (state.get() & TOKEN_MASK) >> UNIT_BITS;
+    }
+
+    /**
+     * Returns the tokens taken since the last call and marks the bucket synced until it is used again
+     */
+    public long drainTaken() {
+        touched = false;
+        return taken.getAndSet(0);
+    }
+
+    /**
+     * Returns the tokens that still have to be charged to the shared store
+     */
+    public long drainUnbacked() {
+        return unbacked.getAndSet(0);
+    }
+
+    /**
+     * Puts back what a failed sync drained, so it is reported with the next one
+     */
+    public void undoDrain(long takenTokens, long unbackedTokens) {
+        taken.addAndGet(takenTokens);
+        unbacked.addAndGet(unbackedTokens);
+        touched = true;
+    }
+
+    /**
+     * Adds tokens granted by the shared store, up to capacity
+     */
+    public void grant(long tokens) {
+        if (tokens <= 0) {
+            return;
+        }
+        while (true) {
+            long current = state.get();
+            long units = Math.min(capacityUnits, (current & TOKEN_MASK) + (tokens << UNIT_BITS));
+            if (state.compareAndSet(current, (current & ~TOKEN_MASK) | units)) {
+                return;
+            }
+        }
+    }
+
+    private long millisFor(long units) {
+        return (units * periodMillis + capacityUnits - 1) / capacityUnits;
+    }
+
+    private static long pack(long time, long units) {
+        return (time << TOKEN_BITS) | units;
+    }
+}
@@ -0,0 +1,56 @@
+package task_management_system.ratelimit.store;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import task_management_system.ratelimit.dto.BucketSync;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Local stand-in for the Redis store, applying the same refill, charge and grant as the script. Lets
+ * several limiters in one JVM act as the nodes of a cluster in tests and benchmarks
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.shared-store", havingValue = "in-memory")
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private record SharedBucket(double tokens, long updatedAt) {}
+
+    private final ConcurrentHashMap<String, SharedBucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    @Autowired
+    public InMemoryRateLimitStore() {
+        this(System::currentTimeMillis);
+    }
+
+    public InMemoryRateLimitStore(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Map<String, Long> reconcile(List<BucketSync> syncs) {
+        long now = clock.getAsLong();
+        Map<String, Long> granted = new HashMap<>(syncs.size() * 2);
+
+        for (BucketSync sync : syncs) {
+            long[] grant = new long[1];
+            buckets.compute(sync.key(), (key, current) -> {
+                double tokens = current == null
+                        ? sync.capacity()
+                        : Math.min(sync.capacity(), current.tokens()
+                                + Math.max(0, now - current.updatedAt()) * (double) sync.capacity() / sync.periodMillis());
+                tokens = Math.max(-sync.capacity(), tokens - sync.charge());
+                grant[0] = Math.max(0, Math.min((long) Math.floor(tokens), sync.requested()));
+                return new SharedBucket(tokens - grant[0], now);
+            });
+            granted.put(sync.key(), grant[0]);
+        }
+        return granted;
+    }
+}
@@ -0,0 +1,20 @@
+package task_management_system.ratelimit.store;
+
+import task_management_system.ratelimit.dto.BucketSync;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared token buckets that nodes lease tokens from. Nodes call it in batches on a timer, never per
+ * request, and only spend tokens they were granted, so the cluster as a whole stays within the limit
+ */
+public interface RateLimitStore {
+
+    /**
+     * For each bucket atomically: refill by elapsed time, take the charge, then grant up to the
+     * requested tokens. A charge larger than the tokens left becomes debt, down to minus the capacity,
+     * that later refills pay back. Returns the tokens granted by key
+     */
+    Map<String, Long> reconcile(List<BucketSync> syncs);
+}
@@ -0,0 +1,102 @@
+package task_management_system.ratelimit.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import task_management_system.ratelimit.dto.BucketSync;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the refill, charge and grant script once per bucket, all buckets of a batch in one pipelined round trip.
+ * The script reads Redis TIME so node clocks do not have to agree
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.shared-store", havingValue = "redis")
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    private static final String SCRIPT = """
+            local capacity = tonumber(ARGV[1])
+            local period = tonumber(ARGV[2])
+            local charge = tonumber(ARGV[3])
+            local requested = tonumber(ARGV[4])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * capacity / period)
+            tokens = math.max(-capacity, tokens - charge)
+            local granted = math.max(0, math.min(math.floor(tokens), requested))
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], period * 2)
+            return granted
+            """;
+
+    private final StringRedisTemplate redisTemplate;
+    private volatile byte[] scriptSha;
+
+    public RedisRateLimitStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Map<String, Long> reconcile(List<BucketSync> syncs) {
+        List<Object> results;
+        try {
+            results = runBatch(syncs);
+        } catch (DataAccessException ex) {
+            // the script cache is empty after a Redis restart or failover, load it again once
+            scriptSha = null;
+            results = runBatch(syncs);
+        }
+
+        Map<String, Long> granted = new HashMap<>(syncs.size() * 2);
+        for (int i = 0; i < syncs.size(); i++) {
+            if (results.get(i) instanceof Long tokens) {
+                granted.put(syncs.get(i).key(), tokens);
+            }
+        }
+        return granted;
+    }
+
+    private List<Object> runBatch(List<BucketSync> syncs) {
+        byte[] sha = loadedScript();
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (BucketSync sync : syncs) {
+                connection.scriptingCommands().evalSha(sha, ReturnType.INTEGER, 1,
+                        bytes(KEY_PREFIX + sync.key()),
+                        bytes(String.valueOf(sync.capacity())),
+                        bytes(String.valueOf(sync.periodMillis())),
+                        bytes(String.valueOf(sync.charge())),
+                        bytes(String.valueOf(sync.requested())));
+            }
+            return null;
+        });
+    }
+
+    private byte[] loadedScript() {
+        byte[] sha = scriptSha;
+        if (sha == null) {
+            String loaded = redisTemplate.execute((RedisCallback<String>) (RedisConnection connection) ->
+                    connection.scriptingCommands().scriptLoad(bytes(SCRIPT)));
+            sha = bytes(loaded);
+            scriptSha = sha;
+        }
+        return sha;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -12,8 +12,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import task_management_system.dto.ValidationException;
 import task_management_system.task.dto.*;
 import task_management_system.dto.CustomResponse;
@@ -48,6 +51,20 @@ public class TaskController {
                             schema = @Schema(implementation = ValidationException.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "409", description = "A request with the same Idempotency-Key is still in progress",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422", description = "Idempotency-Key already used for a different request",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "401", description = "Unauthenticated user trying to create task",
                     content = @Content(
@@ -62,10 +79,11 @@ public class TaskController {
     )
     @PostMapping(consumes = "application/json", produces = "application/json")
     public ResponseEntity<TaskDto> createTask(
-            @Parameter(description = "Task data to be created") @RequestBody @Valid CreateTaskRequest request) {
+            @Parameter(description = "Task data to be created") @RequestBody @Valid CreateTaskRequest request,
+            @Parameter(description = "Client key that makes retries of this request safe") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(taskService.createTask(request));
+                .body(taskService.createTask(request, idempotencyKey));
     }
 
 
@@ -77,6 +95,10 @@ public class TaskController {
                             schema = @Schema(implementation = PaginatedResponse.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304", description = "Page unchanged since the ETag given in If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "400", description = "Invalid pagination parameters",
                     content = @Content
@@ -93,20 +115,29 @@ public class TaskController {
             summary = "Get all tasks with pagination",
             description = "Retrieves a paginated list of task with a default page size of 10."
     )
-    @ResponseStatus(HttpStatus.OK)
     @GetMapping(produces = "application/json")
-    public PaginatedResponse<TaskDto> getAllTasks(
+    public ResponseEntity<PaginatedResponse<TaskDto>> getAllTasks(
             @Parameter(description = "Page number (starting from 0)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size (default is 20)") @RequestParam(defaultValue = "20") int limit,
             @Parameter(description = "filter by status") @RequestParam(required = false) String status,
             @Parameter(description = "filter by priority") @RequestParam(required = false) String priority,
-            @Parameter(description = "filter by tag") @RequestParam(required = false) Set<String> tags
+            @Parameter(description = "filter by tag") @RequestParam(required = false) Set<String> tags,
+            @Parameter(description = "also return archived tasks after live ones") @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest
     ) {
         TaskStatus taskStatus = TaskUtils.parseEnum(TaskStatus.class, status);
         TaskPriority taskPriority = TaskUtils.parseEnum(TaskPriority.class, priority);
 
         Pageable pageable = PageRequest.of(page, limit);
-        return taskService.getTasks(pageable, taskStatus, taskPriority, tags);
+
+        String eTag = taskService.getTasksETag(pageable, taskStatus, taskPriority, tags, includeArchived);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(taskService.getTasks(pageable, taskStatus, taskPriority, tags, includeArchived));
     }
 
 
@@ -118,6 +149,10 @@ public class TaskController {
                             schema = @Schema(implementation = TaskDto.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304", description = "Task unchanged since the ETag given in If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404", description = "Task not found using the provided id",
                     content = @Content(
@@ -146,8 +181,18 @@ public class TaskController {
     )
     @GetMapping(value = "/{taskID}", produces = "application/json")
     public ResponseEntity<TaskDto> getTaskByID(
-            @Parameter(description = "Unique ID of task to retrieve") @PathVariable UUID taskID) {
-        return ResponseEntity.ok(taskService.getTaskByID(taskID));
+            @Parameter(description = "Unique ID of task to retrieve") @PathVariable UUID taskID,
+            WebRequest webRequest) {
+        TaskDto task = taskService.getTaskByID(taskID);
+        String eTag = TaskUtils.toETag(task.getVersion());
+
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(task);
     }
 
 
@@ -186,6 +231,13 @@ public class TaskController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = CustomResponse.class)
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "412", description = "Task was modified since the version given in If-Match",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
             )
     })
     @Operation(
@@ -195,8 +247,109 @@ public class TaskController {
     @PutMapping(value = "/{taskID}", consumes = "application/json", produces = "application/json")
     public ResponseEntity<CustomResponse> updateTask(
             @Parameter(description = "Unique ID of the task") @PathVariable UUID taskID,
+            @Parameter(description = "ETag of the task version being updated") @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @Parameter(description = "Update task data") @RequestBody @Valid UpdateTask updateTask) {
-        return ResponseEntity.ok(taskService.updateTask(taskID, updateTask));
+        return ResponseEntity.ok(taskService.updateTask(taskID, updateTask, TaskUtils.parseETag(ifMatch)));
+    }
+
+
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200", description = "Tasks updated successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400", description = "Invalid bulk update data",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ValidationException.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401", description = "unauthenticated user trying to update tasks",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403", description = "Authenticated user not authorized to update one or more tasks",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            )
+    })
+    @Operation(
+            summary = "Bulk update tasks",
+            description = "Applies a single status or priority change to all the given task IDs"
+    )
+    @PutMapping(value = "/bulk", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<CustomResponse> bulkUpdateTasks(
+            @Parameter(description = "Task IDs and the field change to apply") @RequestBody @Valid BulkUpdateRequest request) {
+        return ResponseEntity.ok(taskService.bulkUpdateTasks(request));
+    }
+
+
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200", description = "Tasks changed and removed since the watermark",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskChangesResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400", description = "Invalid watermark",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401", description = "unauthenticated user trying to sync tasks",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            )
+    })
+    @Operation(
+            summary = "Get task changes since a watermark",
+            description = "Returns tasks created, updated or shared since the watermark and tombstones for removed tasks. " +
+                    "Omit since for a full sync; keep calling with the returned watermark while has_more is true"
+    )
+    @GetMapping(value = "/changes", produces = "application/json")
+    public ResponseEntity<TaskChangesResponse> getTaskChanges(
+            @Parameter(description = "Watermark returned by the previous sync") @RequestParam(required = false) String since) {
+        return ResponseEntity.ok(taskService.getTaskChanges(since));
+    }
+
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200", description = "Stream of task change events opened",
+                    content = @Content(mediaType = "text/event-stream")
+            ),
+            @ApiResponse(
+                    responseCode = "401", description = "unauthenticated user trying to open the stream",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            )
+    })
+    @Operation(
+            summary = "Stream task changes",
+            description = "Server-sent events for tasks the user has a role on. Reconnect with Last-Event-ID to resume; " +
+                    "a reset event means the gap was too large and the task list should be refetched"
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges(
+            @Parameter(description = "Id of the last event received") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventID) {
+        return taskService.streamTaskChanges(lastEventID);
     }
 
 
@@ -229,6 +382,20 @@ public class TaskController {
                             schema = @Schema(implementation = CustomResponse.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "409", description = "A request with the same Idempotency-Key is still in progress",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422", description = "Idempotency-Key already used for a different request",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "403", description = "Unauthorized user trying to share task",
                     content = @Content(
@@ -244,9 +411,62 @@ public class TaskController {
     @PutMapping(value = "/{taskID}/share", consumes = "application/json", produces = "application/json")
     public ResponseEntity<CustomResponse> shareTask(
             @Parameter(description = "Unique ID of the task") @PathVariable UUID taskID,
-            @Parameter(description = "Request body of task share") @RequestBody @Valid ShareRequest request) {
+            @Parameter(description = "Request body of task share") @RequestBody @Valid ShareRequest request,
+            @Parameter(description = "Client key that makes retries of this request safe") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+
+        return ResponseEntity.ok(taskService.shareTask(request, taskID, idempotencyKey));
+    }
+
+
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200", description = "Outcome for each recipient",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchShareResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400", description = "Invalid recipients",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ValidationException.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404", description = "Task not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401", description = "unauthenticated user trying to share task",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403", description = "Unauthorized user trying to share task",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            )
+    })
+    @Operation(
+            summary = "Share an existing task with many users",
+            description = "Shares a task with a list of users by email, each with its own can_edit. " +
+                    "Unknown emails and existing shares are reported per recipient instead of failing the batch"
+    )
+    @PutMapping(value = "/{taskID}/share/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<BatchShareResponse> shareTaskBatch(
+            @Parameter(description = "Unique ID of the task") @PathVariable UUID taskID,
+            @Parameter(description = "Recipients of the task share") @RequestBody @Valid BatchShareRequest request,
+            @Parameter(description = "Client key that makes retries of this request safe") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
-        return ResponseEntity.ok(taskService.shareTask(request, taskID));
+        return ResponseEntity.ok(taskService.shareTask(request, taskID, idempotencyKey));
     }
 
 
@@ -289,4 +509,45 @@ public class TaskController {
             @Parameter(description = "Unique ID of the task") @PathVariable UUID taskID) {
         return ResponseEntity.ok(taskService.deleteTask(taskID));
     }
+
+
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200", description = "Task restored",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404", description = "No deleted task within the restore window",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401", description = "unauthenticated user trying to restore task",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403", description = "Only the creator can restore a task",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CustomResponse.class)
+                    )
+            )
+    })
+    @Operation(
+            summary = "Restore a deleted task",
+            description = "Restores a task deleted within the restore window"
+    )
+    @PutMapping(value = "/{taskID}/restore", produces = "application/json")
+    public ResponseEntity<CustomResponse> restoreTask(
+            @Parameter(description = "Unique ID of the task") @PathVariable UUID taskID) {
+        return ResponseEntity.ok(taskService.restoreTask(taskID));
+    }
 }
@@ -0,0 +1,22 @@
+package task_management_system.task.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchShareRequest {
+
+    @NotEmpty(message = "recipients is required")
+    @Size(max = 500, message = "a task can be shared with at most 500 recipients at once")
+    private List<@Valid ShareRequest> recipients;
+}
@@ -0,0 +1,9 @@
+package task_management_system.task.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BatchShareResponse(int shared, int skipped, List<ShareResult> results) {
+}
@@ -0,0 +1,25 @@
+package task_management_system.task.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateRequest {
+
+    @NotEmpty(message = "task_ids is required")
+    @Size(max = 1000, message = "at most 1000 tasks can be updated at once")
+    private Set<UUID> task_ids;
+
+    private String status;
+    private String priority;
+}
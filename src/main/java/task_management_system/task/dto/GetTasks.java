@@ -4,7 +4,7 @@ import lombok.Builder;
 import lombok.Data;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
-import task_management_system.user.entity.User;
+import task_management_system.user.dto.AuthUser;
 
 import java.util.Set;
 
@@ -14,5 +14,6 @@ public class GetTasks {
     private TaskStatus status;
     private TaskPriority priority;
     private Set<String> tags;
-    private User authUser;
+    private AuthUser authUser;
+    private boolean includeArchived;
 }
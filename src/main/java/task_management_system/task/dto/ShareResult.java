@@ -0,0 +1,6 @@
+package task_management_system.task.dto;
+
+import task_management_system.task.enums.ShareStatus;
+
+public record ShareResult(String email, ShareStatus status) {
+}
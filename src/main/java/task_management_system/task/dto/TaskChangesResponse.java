@@ -0,0 +1,17 @@
+package task_management_system.task.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TaskChangesResponse {
+
+    private List<TaskDto> changed;
+    private List<TaskTombstoneDto> removed;
+    private String watermark;
+    private boolean has_more;
+    private boolean reset;
+}
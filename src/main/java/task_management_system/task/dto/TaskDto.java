@@ -1,7 +1,9 @@
 package task_management_system.task.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
 
@@ -11,6 +13,8 @@ import java.util.UUID;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class TaskDto {
 
     private UUID id;
@@ -24,4 +28,5 @@ public class TaskDto {
     private UUID created_by;
     private LocalDateTime created_at;
     private LocalDateTime updated_at;
+    private Long version;
 }
@@ -0,0 +1,11 @@
+package task_management_system.task.dto;
+
+import lombok.Builder;
+import task_management_system.task.enums.TombstoneReason;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder
+public record TaskTombstoneDto(UUID task_id, TombstoneReason reason, LocalDateTime removed_at) {
+}
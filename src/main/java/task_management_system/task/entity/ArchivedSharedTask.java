@@ -0,0 +1,33 @@
+package task_management_system.task.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import task_management_system.user.entity.User;
+
+/**
+ * Share settings of an archived task, copied from shared_task by TaskArchiveService
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "archived_shared_tasks", indexes = {
+        @Index(name = "idx_archived_share_task", columnList = "task_id")
+})
+public class ArchivedSharedTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    private ArchivedTask task;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column
+    private boolean canEdit = false;
+}
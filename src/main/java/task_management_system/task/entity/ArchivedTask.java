@@ -0,0 +1,74 @@
+package task_management_system.task.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import task_management_system.task.enums.TaskPriority;
+import task_management_system.task.enums.TaskStatus;
+import task_management_system.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cold copy of a completed task. Rows are written by TaskArchiveService with set-based inserts and never updated
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = "archived_tasks", indexes = {
+        @Index(name = "idx_archived_task_archived_at", columnList = "archived_at")
+})
+public class ArchivedTask {
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime dueDate;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TaskPriority priority;
+
+    @Column
+    private String assignedTo;
+
+    @Column(name = "tag_id", nullable = false)
+    @Convert(converter = TagConverter.class)
+    @ElementCollection
+    @BatchSize(size = 50)
+    @CollectionTable(name = "archived_task_tag_ids", joinColumns = @JoinColumn(name = "task_id"))
+    private Set<String> tags;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by_id")
+    private User createdBy;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @OneToMany(mappedBy = "task")
+    private Set<ArchivedTaskRole> taskRoles = new HashSet<>();
+}
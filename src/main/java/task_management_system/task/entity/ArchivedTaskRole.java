@@ -0,0 +1,39 @@
+package task_management_system.task.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import task_management_system.task.enums.RoleType;
+import task_management_system.user.entity.User;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "archived_task_roles", indexes = {
+        @Index(name = "idx_archived_role_user", columnList = "user_id"),
+        @Index(name = "idx_archived_role_task", columnList = "task_id")
+})
+public class ArchivedTaskRole {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RoleType roleType;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "task_id", nullable = false)
+    private ArchivedTask task;
+
+    @Column
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,33 @@
+package task_management_system.task.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One row per distinct tag. Names that normalize to the same key are one tag, shown with the spelling
+ * first used for it. Tasks reference tags by id; rows are only ever added
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tags", uniqueConstraints = @UniqueConstraint(name = Tag.NAME_KEY_CONSTRAINT, columnNames = "name_key"))
+public class Tag {
+
+    public static final String NAME_KEY_CONSTRAINT = "uk_tags_name_key";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String name;
+
+    /**
+     * The normalized name that lookups compare
+     */
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+}
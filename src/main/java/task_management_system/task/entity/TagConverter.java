@@ -0,0 +1,31 @@
+package task_management_system.task.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+import task_management_system.task.service.TagDictionary;
+
+/**
+ * Stores a tag name as its id in the tag dictionary. Hibernate creates the converter through Spring while
+ * the entity manager factory is being built, so the dictionary is only resolved on first use. Names must
+ * have been resolved before the flush; the converter never inserts tags
+ */
+@Converter
+public class TagConverter implements AttributeConverter<String, Integer> {
+
+    private final ObjectProvider<TagDictionary> tagDictionary;
+
+    public TagConverter(ObjectProvider<TagDictionary> tagDictionary) {
+        this.tagDictionary = tagDictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        return name == null ? null : tagDictionary.getObject().idOf(name);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id == null ? null : tagDictionary.getObject().nameOf(id);
+    }
+}
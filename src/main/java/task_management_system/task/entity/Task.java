@@ -2,8 +2,14 @@ package task_management_system.task.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
+import task_management_system.config.TimeOrderedUuid;
 import task_management_system.task.enums.RoleType;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
@@ -23,11 +29,22 @@ import java.util.UUID;
 @Table(name = "tasks", indexes = {
         @Index(name = "idx_task_status", columnList = "status"),
         @Index(name = "idx_task_due_date", columnList = "due_date"),
-        @Index(name = "idx_task_assigned", columnList = "assigned_to")
+        @Index(name = "idx_task_assigned", columnList = "assigned_to"),
+        @Index(name = "idx_task_updated_at", columnList = "updated_at, id"),
+        @Index(name = "idx_task_deleted_at", columnList = "deleted_at"),
+        @Index(name = "idx_task_status_updated_at", columnList = "status, updated_at")
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
+@DynamicUpdate
+@NamedEntityGraph(name = Task.RENDER_GRAPH, attributeNodes = @NamedAttributeNode("tags"))
 public class Task {
+    /**
+     * Everything TaskUtils.convertToDto reads. The creator is only read by id, which its proxy already holds
+     */
+    public static final String RENDER_GRAPH = "Task.render";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
@@ -51,9 +68,13 @@ public class Task {
     @Column
     private String assignedTo;
 
-    @Column(name = "tag")
+    @Column(name = "tag_id", nullable = false)
+    @Convert(converter = TagConverter.class)
     @ElementCollection
-    @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id"))
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks.tags")
+    @CollectionTable(name = "task_tag_ids", joinColumns = @JoinColumn(name = "task_id"),
+            indexes = @Index(name = "idx_task_tag_ids_tag", columnList = "tag_id"))
     private Set<String> tags;
 
     @CreationTimestamp
@@ -64,7 +85,15 @@ public class Task {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    @Column
+    private LocalDateTime deletedAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_id", updatable = false)
     private User createdBy;
 
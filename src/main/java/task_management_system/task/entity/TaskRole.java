@@ -2,9 +2,14 @@ package task_management_system.task.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
 import task_management_system.task.enums.RoleType;
 import task_management_system.user.entity.User;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @Entity
@@ -15,11 +20,13 @@ import task_management_system.user.entity.User;
         name = "task_roles",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames =
-                        { "task_id", "role_type" },
-                        name = "unique_task_creator"
+                        { "task_id", "user_id", "role_type" },
+                        name = "unique_task_user_role"
                 )
-        }
+        },
+        indexes = @Index(name = "idx_task_role_user_created", columnList = "user_id, created_at")
 )
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task-roles")
 public class TaskRole {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,11 +36,15 @@ public class TaskRole {
     @Column(nullable = false)
     private RoleType roleType;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "task_id", nullable = false)
     private Task task;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
 }
@@ -0,0 +1,42 @@
+package task_management_system.task.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import task_management_system.task.enums.TombstoneReason;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marks a task that disappeared for a user, so delta sync can tell offline clients to drop it
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_tombstone_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_tombstone_created", columnList = "created_at")
+})
+public class TaskTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID taskId;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TombstoneReason reason;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
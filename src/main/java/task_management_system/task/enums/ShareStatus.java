@@ -0,0 +1,7 @@
+package task_management_system.task.enums;
+
+public enum ShareStatus {
+    SHARED,
+    ALREADY_SHARED,
+    USER_NOT_FOUND
+}
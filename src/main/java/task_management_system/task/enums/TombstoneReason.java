@@ -0,0 +1,7 @@
+package task_management_system.task.enums;
+
+public enum TombstoneReason {
+    DELETED,
+    REVOKED,
+    ARCHIVED
+}
@@ -0,0 +1,57 @@
+package task_management_system.task.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import task_management_system.task.entity.ArchivedTask;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The copy statements read straight from the hot tables so a batch moves with one INSERT ... SELECT per table.
+ * Each names the table it writes, so Hibernate does not clear every second-level cache region after it
+ */
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, UUID>, JpaSpecificationExecutor<ArchivedTask> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "archived_tasks"))
+    @Query(value = "INSERT INTO archived_tasks (id, title, description, due_date, status, priority, assigned_to, " +
+            "created_at, updated_at, version, created_by_id, archived_at) " +
+            "SELECT id, title, description, due_date, status, priority, assigned_to, " +
+            "created_at, updated_at, version, created_by_id, :archivedAt FROM tasks WHERE id IN :taskIDs",
+            nativeQuery = true)
+    int copyTasks(@Param("taskIDs") Collection<UUID> taskIDs, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "archived_task_tag_ids"))
+    @Query(value = "INSERT INTO archived_task_tag_ids (task_id, tag_id) " +
+            "SELECT task_id, tag_id FROM task_tag_ids WHERE task_id IN :taskIDs",
+            nativeQuery = true)
+    int copyTags(@Param("taskIDs") Collection<UUID> taskIDs);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "archived_task_roles"))
+    @Query(value = "INSERT INTO archived_task_roles (role_type, user_id, task_id, created_at) " +
+            "SELECT role_type, user_id, task_id, created_at FROM task_roles WHERE task_id IN :taskIDs",
+            nativeQuery = true)
+    int copyRoles(@Param("taskIDs") Collection<UUID> taskIDs);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "archived_shared_tasks"))
+    @Query(value = "INSERT INTO archived_shared_tasks (task_id, user_id, can_edit) " +
+            "SELECT task_id, user_id, can_edit FROM shared_task WHERE task_id IN :taskIDs",
+            nativeQuery = true)
+    int copyShares(@Param("taskIDs") Collection<UUID> taskIDs);
+
+    @Query("SELECT t FROM ArchivedTask t LEFT JOIN FETCH t.tags WHERE t.id = :taskID " +
+            "AND EXISTS (SELECT r.id FROM ArchivedTaskRole r WHERE r.task = t AND r.user.id = :userID)")
+    Optional<ArchivedTask> findForUser(@Param("taskID") UUID taskID, @Param("userID") UUID userID);
+}
@@ -1,7 +1,17 @@
 package task_management_system.task.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import task_management_system.task.entity.SharedTask;
 
+import java.util.Collection;
+import java.util.UUID;
+
 public interface SharedTaskRepository extends JpaRepository<SharedTask, Long> {
+
+    @Modifying
+    @Query("DELETE FROM SharedTask st WHERE st.task.id IN :taskIDs")
+    int deleteByTaskIdIn(@Param("taskIDs") Collection<UUID> taskIDs);
 }
@@ -0,0 +1,15 @@
+package task_management_system.task.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import task_management_system.task.entity.Tag;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TagRepository extends JpaRepository<Tag, Integer> {
+
+    Optional<Tag> findByNameKey(String nameKey);
+
+    List<Tag> findByNameKeyIn(Collection<String> nameKeys);
+}
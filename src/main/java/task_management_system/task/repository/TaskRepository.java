@@ -2,16 +2,97 @@ package task_management_system.task.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import task_management_system.task.entity.Task;
+import task_management_system.task.enums.TaskPriority;
+import task_management_system.task.enums.TaskStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task> {
 
-    @Query("SELECT t FROM Task t JOIN t.taskRoles tr WHERE tr.user.id = :userID")
+    @EntityGraph(Task.RENDER_GRAPH)
+    Optional<Task> findByIdAndDeletedAtIsNull(UUID taskID);
+
+    boolean existsByIdAndDeletedAtIsNull(UUID taskID);
+
+    @Query("SELECT t FROM Task t JOIN t.taskRoles tr WHERE tr.user.id = :userID AND t.deletedAt IS NULL")
     Page<Task> findTasksByUserRoles(@Param("userID") UUID userID, Pageable pageable);
+
+    /**
+     * Keyset page over the user's tasks ordered by (updatedAt, id), starting after the given position
+     */
+    @Query("SELECT DISTINCT t FROM Task t JOIN t.taskRoles tr WHERE tr.user.id = :userID " +
+            "AND t.deletedAt IS NULL AND (t.updatedAt > :since OR (t.updatedAt = :since AND t.id > :afterID)) " +
+            "ORDER BY t.updatedAt, t.id")
+    List<Task> findChangedForUser(@Param("userID") UUID userID,
+                                  @Param("since") LocalDateTime since,
+                                  @Param("afterID") UUID afterID,
+                                  Pageable pageable);
+
+    /**
+     * The given tasks that are not soft-deleted, locked until the caller's transaction ends so a
+     * concurrent delete cannot slip in before a bulk update
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :taskIDs AND t.deletedAt IS NULL")
+    Set<UUID> lockLiveIdsByIdIn(@Param("taskIDs") Collection<UUID> taskIDs);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.id IN :taskIDs AND t.deletedAt IS NULL")
+    int updateStatusByIdIn(@Param("taskIDs") Collection<UUID> taskIDs,
+                           @Param("status") TaskStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Task t SET t.priority = :priority, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.id IN :taskIDs AND t.deletedAt IS NULL")
+    int updatePriorityByIdIn(@Param("taskIDs") Collection<UUID> taskIDs,
+                             @Param("priority") TaskPriority priority,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Task t SET t.deletedAt = :deletedAt, t.updatedAt = :deletedAt, t.version = t.version + 1 " +
+            "WHERE t.id = :taskID AND t.deletedAt IS NULL")
+    int softDelete(@Param("taskID") UUID taskID, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Locks the tasks it returns, so an update or delete can't change one between this check and the
+     * archive copy. Rows already locked by a writer are skipped until the next batch
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t.id FROM Task t WHERE t.status = :status AND t.updatedAt < :before " +
+            "AND t.deletedAt IS NULL ORDER BY t.updatedAt")
+    List<UUID> findArchivable(@Param("status") TaskStatus status,
+                              @Param("before") LocalDateTime before,
+                              Pageable pageable);
+
+    @Query("SELECT t.id FROM Task t WHERE t.deletedAt < :before ORDER BY t.deletedAt")
+    List<UUID> findDeletedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_tag_ids"))
+    @Query(value = "DELETE FROM task_tag_ids WHERE task_id IN :taskIDs", nativeQuery = true)
+    int deleteTagsByTaskIdIn(@Param("taskIDs") Collection<UUID> taskIDs);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :taskIDs AND t.deletedAt IS NOT NULL")
+    int deleteDeletedByIdIn(@Param("taskIDs") Collection<UUID> taskIDs);
 }
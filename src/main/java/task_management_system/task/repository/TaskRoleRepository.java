@@ -1,16 +1,65 @@
 package task_management_system.task.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import task_management_system.task.entity.Task;
 import task_management_system.task.entity.TaskRole;
 import task_management_system.task.enums.RoleType;
-import task_management_system.user.entity.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface TaskRoleRepository extends JpaRepository<TaskRole, Long> {
+
+    /**
+     * Authorization checks always read the database: a cached result could not see a role revoked on another node
+     */
     boolean existsByTaskIdAndUserId(UUID taskID, UUID userID);
-    Optional<TaskRole> findByTaskAndUser(Task task, User user);
-    boolean existsByTaskAndUserAndRoleType(Task task, User user, RoleType roleType);
+
+    Optional<TaskRole> findByTaskIdAndUserId(UUID taskID, UUID userID);
+
+    boolean existsByTaskIdAndUserIdAndRoleType(UUID taskID, UUID userID, RoleType roleType);
+
+    @Query("SELECT tr.task.id AS taskID, tr.roleType AS roleType FROM TaskRole tr " +
+            "WHERE tr.user.id = :userID AND tr.task.id IN :taskIDs")
+    List<TaskRoleView> findRolesByUserAndTaskIds(@Param("userID") UUID userID,
+                                                 @Param("taskIDs") Collection<UUID> taskIDs);
+
+    @Query("SELECT DISTINCT tr.user.id FROM TaskRole tr WHERE tr.task.id IN :taskIDs")
+    List<UUID> findUserIdsByTaskIds(@Param("taskIDs") Collection<UUID> taskIDs);
+
+    @Query("SELECT tr.task.id AS taskID, tr.user.id AS userID FROM TaskRole tr WHERE tr.task.id IN :taskIDs")
+    List<TaskUserView> findRolesByTaskIds(@Param("taskIDs") Collection<UUID> taskIDs);
+
+    @Query("SELECT tr.user.id FROM TaskRole tr WHERE tr.task.id = :taskID " +
+            "AND tr.roleType = :roleType AND tr.user.id IN :userIDs")
+    Set<UUID> findUserIdsWithRole(@Param("taskID") UUID taskID,
+                                  @Param("roleType") RoleType roleType,
+                                  @Param("userIDs") Collection<UUID> userIDs);
+
+    @Query("SELECT DISTINCT tr.task FROM TaskRole tr WHERE tr.user.id = :userID " +
+            "AND tr.createdAt > :after AND tr.createdAt <= :until AND tr.task.deletedAt IS NULL")
+    List<Task> findTasksGrantedBetween(@Param("userID") UUID userID,
+                                       @Param("after") LocalDateTime after,
+                                       @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("DELETE FROM TaskRole tr WHERE tr.task.id IN :taskIDs")
+    int deleteByTaskIdIn(@Param("taskIDs") Collection<UUID> taskIDs);
+
+    interface TaskRoleView {
+        UUID getTaskID();
+        RoleType getRoleType();
+    }
+
+    interface TaskUserView {
+        UUID getTaskID();
+        UUID getUserID();
+    }
 }
@@ -0,0 +1,28 @@
+package task_management_system.task.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import task_management_system.task.entity.TaskTombstone;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    @Query("SELECT tt FROM TaskTombstone tt WHERE tt.userId = :userID " +
+            "AND tt.createdAt > :after AND tt.createdAt <= :until ORDER BY tt.createdAt, tt.id")
+    List<TaskTombstone> findByUserBetween(@Param("userID") UUID userID,
+                                          @Param("after") LocalDateTime after,
+                                          @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone tt WHERE tt.taskId = :taskID")
+    int deleteByTaskId(@Param("taskID") UUID taskID);
+
+    @Query("SELECT tt.id FROM TaskTombstone tt WHERE tt.createdAt < :before ORDER BY tt.id")
+    List<Long> findCreatedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+}
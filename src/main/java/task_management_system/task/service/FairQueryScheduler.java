@@ -0,0 +1,270 @@
+package task_management_system.task.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import task_management_system.exception.ServiceUnavailableException;
+import task_management_system.exception.TooManyRequest;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admits expensive queries into a fixed number of slots, fairly across users. Each user has a bounded
+ * queue and may hold only a few slots at once; free slots go round-robin to users with waiting queries
+ * using deficit round robin, so a query costing n units waits n turns and a user paging through large
+ * pages gets the same share of rows as one reading small ones. Queries run on the caller's thread once
+ * admitted, which keeps its security context and transaction
+ */
+@Service
+public class FairQueryScheduler {
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final int maxConcurrentPerUser;
+    private final int maxQueuedPerUser;
+    private final int costUnit;
+    private final long queueTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<UUID, UserQueue> queues = new HashMap<>();
+    private final Deque<UserQueue> ready = new ArrayDeque<>();
+    private int running;
+    private int queued;
+
+    private final Timer queueTimer;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    public FairQueryScheduler(MeterRegistry meterRegistry,
+                              @Value("${task.query-scheduler.enabled:true}") boolean enabled,
+                              @Value("${task.query-scheduler.max-concurrent:6}") int maxConcurrent,
+                              @Value("${task.query-scheduler.max-concurrent-per-user:2}") int maxConcurrentPerUser,
+                              @Value("${task.query-scheduler.max-queued-per-user:8}") int maxQueuedPerUser,
+                              @Value("${task.query-scheduler.cost-unit:20}") int costUnit,
+                              @Value("${task.query-scheduler.queue-timeout-ms:5000}") long queueTimeoutMillis) {
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.maxConcurrentPerUser = maxConcurrentPerUser;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.costUnit = Math.max(1, costUnit);
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+
+        this.queueTimer = Timer.builder("task.query.queue.wait")
+                .description("Time expensive queries wait for a slot")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.queueFullCounter = Counter.builder("task.query.rejected")
+                .description("Queries rejected because the user already had too many queued")
+                .tag("reason", "queue-full")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("task.query.rejected")
+                .description("Queries rejected after waiting the whole queue timeout")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+        Gauge.builder("task.query.running", this, FairQueryScheduler::runningCount)
+                .description("Expensive queries holding a slot")
+                .register(meterRegistry);
+        Gauge.builder("task.query.queued", this, FairQueryScheduler::queuedCount)
+                .description("Expensive queries waiting for a slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cost of a query reading the given number of rows, in turns of the round robin
+     */
+    public int cost(int rows) {
+        return Math.max(1, (rows + costUnit - 1) / costUnit);
+    }
+
+    /**
+     * Runs the query once the user's turn comes. Throws TooManyRequest when the user's queue is full
+     * and ServiceUnavailableException when no slot frees up within the queue timeout
+     */
+    public <T> T execute(UUID userID, int cost, Supplier<T> query) {
+        if (!enabled) {
+            return query.get();
+        }
+
+        long start = System.nanoTime();
+        UserQueue userQueue = acquire(userID, cost);
+        queueTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        try {
+            return query.get();
+        } finally {
+            release(userQueue);
+        }
+    }
+
+    public int runningCount() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queuedCount() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserQueue acquire(UUID userID, int cost) {
+        lock.lock();
+        try {
+            UserQueue userQueue = queues.computeIfAbsent(userID, UserQueue::new);
+            if (queued == 0 && running < maxConcurrent && userQueue.running < maxConcurrentPerUser) {
+                // nobody is waiting, so taking the slot directly is fair
+                running++;
+                userQueue.running++;
+                return userQueue;
+            }
+            if (userQueue.waiting.size() >= maxQueuedPerUser) {
+                queueFullCounter.increment();
+                forgetIfIdle(userQueue);
+                throw new TooManyRequest("Too many queries in progress. Please wait for earlier ones to finish.");
+            }
+
+            Ticket ticket = new Ticket(cost, lock.newCondition());
+            userQueue.waiting.addLast(ticket);
+            queued++;
+            if (!userQueue.ready) {
+                userQueue.ready = true;
+                ready.addLast(userQueue);
+            }
+            dispatch();
+
+            await(userQueue, ticket);
+            return userQueue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void await(UserQueue userQueue, Ticket ticket) {
+        long remaining = queueTimeoutNanos;
+        try {
+            while (!ticket.granted) {
+                if (remaining <= 0) {
+                    timeoutCounter.increment();
+                    abandon(userQueue, ticket);
+                    throw new ServiceUnavailableException("Server is busy. Please try again later.");
+                }
+                remaining = ticket.signal.awaitNanos(remaining);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            if (ticket.granted) {
+                release(userQueue);
+            } else {
+                abandon(userQueue, ticket);
+            }
+            throw new ServiceUnavailableException("Query was interrupted while waiting for a slot");
+        }
+    }
+
+    private void release(UserQueue userQueue) {
+        lock.lock();
+        try {
+            running--;
+            userQueue.running--;
+            dispatch();
+            forgetIfIdle(userQueue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands free slots to waiting queries, visiting users in turn. A user gets one quantum of credit per
+     * visit and its oldest query runs once the credit covers the query's cost
+     */
+    private void dispatch() {
+        int skipped = 0;
+        while (running < maxConcurrent && !ready.isEmpty() && skipped < ready.size()) {
+            UserQueue userQueue = ready.pollFirst();
+            if (userQueue.running >= maxConcurrentPerUser) {
+                ready.addLast(userQueue);
+                skipped++;
+                continue;
+            }
+
+            Ticket head = userQueue.waiting.peekFirst();
+            if (userQueue.deficit < head.cost) {
+                userQueue.deficit++;
+            }
+            if (userQueue.deficit < head.cost) {
+                ready.addLast(userQueue);
+                continue;
+            }
+
+            userQueue.waiting.pollFirst();
+            userQueue.deficit -= head.cost;
+            queued--;
+            running++;
+            userQueue.running++;
+            head.granted = true;
+            head.signal.signal();
+            skipped = 0;
+
+            if (userQueue.waiting.isEmpty()) {
+                userQueue.ready = false;
+                userQueue.deficit = 0;
+            } else {
+                ready.addLast(userQueue);
+            }
+        }
+    }
+
+    private void abandon(UserQueue userQueue, Ticket ticket) {
+        if (userQueue.waiting.remove(ticket)) {
+            queued--;
+        }
+        if (userQueue.waiting.isEmpty() && userQueue.ready) {
+            ready.remove(userQueue);
+            userQueue.ready = false;
+            userQueue.deficit = 0;
+        }
+        forgetIfIdle(userQueue);
+    }
+
+    private void forgetIfIdle(UserQueue userQueue) {
+        if (userQueue.running == 0 && userQueue.waiting.isEmpty()) {
+            queues.remove(userQueue.userID, userQueue);
+        }
+    }
+
+    private static final class UserQueue {
+        private final UUID userID;
+        private final Deque<Ticket> waiting = new ArrayDeque<>();
+        private int running;
+        private int deficit;
+        private boolean ready;
+
+        private UserQueue(UUID userID) {
+            this.userID = userID;
+        }
+    }
+
+    private static final class Ticket {
+        private final int cost;
+        private final Condition signal;
+        private boolean granted;
+
+        private Ticket(int cost, Condition signal) {
+            this.cost = cost;
+            this.signal = signal;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package task_management_system.task.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import task_management_system.task.entity.Tag;
+import task_management_system.task.repository.TagRepository;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory map between tag names and their ids. Every task holding a tag shares one String for its name.
+ * Tag rows are never deleted, so a cached entry never goes stale. Lookups compare normalized keys, so the
+ * tags table needs no particular collation, while each tag keeps the spelling it was first created with
+ * for display. Names a write uses are resolved
+ * before its transaction starts. A name this node has not seen yet is looked up in, or inserted into, the
+ * tags table in a transaction of its own. That way an id is never handed out for a row the caller's
+ * rollback could remove, and a flush never waits on a second connection
+ */
+@Slf4j
+@Service
+public class TagDictionary {
+
+    private final TagRepository tagRepository;
+    private final TransactionTemplate ownTransaction;
+
+    // normalized key -> id
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, String> names = new ConcurrentHashMap<>();
+
+    public TagDictionary(TagRepository tagRepository, PlatformTransactionManager transactionManager) {
+        this.tagRepository = tagRepository;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Tag> tags = tagRepository.findAll();
+        tags.forEach(this::remember);
+        log.info("Loaded {} tags into the tag dictionary", tags.size());
+    }
+
+    /**
+     * The lookup key of a tag name: Unicode NFC, trimmed and lower-cased. "Work" and " work" are then
+     * one tag, whichever collation the tags table uses
+     */
+    public static String normalize(String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFC).strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Makes sure each name has an id, creating tags no task has used before, and returns the tags' display
+     * names. Call it before the write transaction starts and store the names it returns
+     */
+    public Set<String> resolve(Set<String> tagNames) {
+        if (tagNames == null) {
+            return null;
+        }
+
+        Map<String, String> unseen = new HashMap<>();
+        for (String name : tagNames) {
+            String key = normalize(name);
+            if (!ids.containsKey(key)) {
+                unseen.putIfAbsent(key, name.strip());
+            }
+        }
+        if (!unseen.isEmpty()) {
+            tagRepository.findByNameKeyIn(unseen.keySet()).forEach(this::remember);
+            unseen.forEach((key, name) -> {
+                if (!ids.containsKey(key)) {
+                    remember(findOrCreate(key, name));
+                }
+            });
+        }
+
+        Set<String> resolved = new HashSet<>();
+        tagNames.forEach(name -> resolved.add(names.get(ids.get(normalize(name)))));
+        return resolved;
+    }
+
+    /**
+     * The id of a tag {@link #resolve} has seen. Only reads memory, as it runs while a task is flushed
+     */
+    public Integer idOf(String name) {
+        Integer id = ids.get(normalize(name));
+        if (id == null) {
+            throw new IllegalStateException("Tag was not resolved before the write: " + name);
+        }
+        return id;
+    }
+
+    public String nameOf(Integer id) {
+        String name = names.get(id);
+        if (name != null) {
+            return name;
+        }
+        Tag tag = ownTransaction.execute(status -> tagRepository.findById(id))
+                .orElseThrow(() -> new IllegalStateException("No tag with id: " + id));
+        remember(tag);
+        return names.get(id);
+    }
+
+    /**
+     * The keys of the names that are already tags, without creating any. Null when no names are given,
+     * so a filter built from the result is skipped
+     */
+    public Set<String> known(Set<String> tagNames) {
+        if (tagNames == null || tagNames.isEmpty()) {
+            return null;
+        }
+
+        Set<String> known = new HashSet<>();
+        Set<String> unseen = new HashSet<>();
+        for (String name : tagNames) {
+            String key = normalize(name);
+            (ids.containsKey(key) ? known : unseen).add(key);
+        }
+        if (!unseen.isEmpty()) {
+            // created on another node since this one loaded
+            tagRepository.findByNameKeyIn(unseen).forEach(tag -> {
+                remember(tag);
+                known.add(tag.getNameKey());
+            });
+        }
+        return known;
+    }
+
+    private Tag findOrCreate(String key, String name) {
+        try {
+            return ownTransaction.execute(status -> tagRepository.findByNameKey(key)
+                    .orElseGet(() -> tagRepository.saveAndFlush(Tag.builder().name(name).nameKey(key).build())));
+        } catch (DataIntegrityViolationException ex) {
+            // another node inserted the name between our lookup and insert
+            return ownTransaction.execute(status -> tagRepository.findByNameKey(key)).orElseThrow(() -> ex);
+        }
+    }
+
+    private void remember(Tag tag) {
+        names.putIfAbsent(tag.getId(), tag.getName());
+        ids.putIfAbsent(tag.getNameKey(), tag.getId());
+    }
+}
@@ -0,0 +1,87 @@
+package task_management_system.task.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
+import task_management_system.task.entity.TaskTombstone;
+import task_management_system.task.enums.TaskStatus;
+import task_management_system.task.enums.TombstoneReason;
+import task_management_system.task.repository.ArchivedTaskRepository;
+import task_management_system.task.repository.SharedTaskRepository;
+import task_management_system.task.repository.TaskRepository;
+import task_management_system.task.repository.TaskRoleRepository;
+import task_management_system.task.repository.TaskTombstoneRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TaskArchiveService {
+
+    private final TaskRepository taskRepository;
+    private final TaskRoleRepository taskRoleRepository;
+    private final SharedTaskRepository sharedTaskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskCacheManager taskCacheManager;
+    private final OutboxService outboxService;
+
+    /**
+     * Moves one batch of tasks completed before the cutoff, with their tags, roles and shares, into the
+     * archive tables and removes them from the hot ones. Every user on a task gets a tombstone and an
+     * outbox event so synced clients drop it. Returns the number of tasks moved
+     */
+    @Transactional
+    public int archiveCompleted(LocalDateTime before, int batchSize) {
+        List<UUID> taskIDs = taskRepository.findArchivable(TaskStatus.COMPLETED, before, PageRequest.of(0, batchSize));
+        if (taskIDs.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, Set<UUID>> usersByTask = taskRoleRepository.findRolesByTaskIds(taskIDs)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        TaskRoleRepository.TaskUserView::getTaskID,
+                        Collectors.mapping(TaskRoleRepository.TaskUserView::getUserID, Collectors.toSet())
+                ));
+
+        archivedTaskRepository.copyTasks(taskIDs, LocalDateTime.now());
+        archivedTaskRepository.copyTags(taskIDs);
+        archivedTaskRepository.copyRoles(taskIDs);
+        archivedTaskRepository.copyShares(taskIDs);
+
+        taskRepository.deleteTagsByTaskIdIn(taskIDs);
+        sharedTaskRepository.deleteByTaskIdIn(taskIDs);
+        taskRoleRepository.deleteByTaskIdIn(taskIDs);
+        taskRepository.deleteAllByIdInBatch(taskIDs);
+
+        taskTombstoneRepository.saveAll(usersByTask.entrySet().stream()
+                .flatMap(entry -> entry.getValue().stream()
+                        .map(userID -> TaskTombstone.builder()
+                                .taskId(entry.getKey())
+                                .userId(userID)
+                                .reason(TombstoneReason.ARCHIVED)
+                                .build()))
+                .toList());
+
+        taskCacheManager.evictTasksFromCache(new HashSet<>(taskIDs));
+        taskCacheManager.evictListGenerations(usersByTask.values().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet()));
+
+        outboxService.recordAll(OutboxEventType.TASK_ARCHIVED, taskIDs.stream()
+                .map(taskID -> new TaskChangePayload(taskID, usersByTask.getOrDefault(taskID, Set.of()), null, null))
+                .toList());
+        return taskIDs.size();
+    }
+}
@@ -0,0 +1,58 @@
+package task_management_system.task.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves completed tasks that have not changed for a while into the archive tables so the hot tables
+ * and their indexes only hold tasks users still work on. Throttled the same way as the purger
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "task.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiver {
+
+    private final TaskArchiveService taskArchiveService;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long pauseMillis;
+
+    public TaskArchiver(TaskArchiveService taskArchiveService,
+                        @Value("${task.archive.after-days:90}") long archiveAfterDays,
+                        @Value("${task.archive.batch-size:500}") int batchSize,
+                        @Value("${task.archive.max-batches-per-run:20}") int maxBatches,
+                        @Value("${task.archive.pause-ms:200}") long pauseMillis) {
+        this.taskArchiveService = taskArchiveService;
+        this.archiveAfter = Duration.ofDays(archiveAfterDays);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${task.archive.interval-ms:3600000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int archived = taskArchiveService.archiveCompleted(cutoff, batchSize);
+                total += archived;
+                if (archived < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.warn("Task archive run failed after moving {} tasks", total, ex);
+        }
+    }
+}
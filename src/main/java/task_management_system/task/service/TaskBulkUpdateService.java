@@ -0,0 +1,123 @@
+package task_management_system.task.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
+import task_management_system.dto.CustomResponse;
+import task_management_system.exception.BadRequestException;
+import task_management_system.exception.ForbiddenException;
+import task_management_system.exception.NotFoundException;
+import task_management_system.task.dto.BulkUpdateRequest;
+import task_management_system.task.enums.RoleType;
+import task_management_system.task.enums.TaskPriority;
+import task_management_system.task.enums.TaskStatus;
+import task_management_system.task.enums.UpdateOperation;
+import task_management_system.task.repository.TaskRepository;
+import task_management_system.task.repository.TaskRoleRepository;
+import task_management_system.user.dto.AuthUser;
+import task_management_system.utils.TaskUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TaskBulkUpdateService {
+
+    private final TaskRepository taskRepository;
+    private final TaskRoleRepository taskRoleRepository;
+    private final TaskCacheManager taskCacheManager;
+    private final OutboxService outboxService;
+
+    /**
+     * Applies a single status or priority change to many tasks using one role lookup
+     * and one set-based update, then evicts the affected tasks and task lists from cache.
+     * Soft-deleted tasks keep their roles, so the whole batch is rejected if any of them is deleted
+     */
+    @Transactional
+    public CustomResponse bulkUpdate(BulkUpdateRequest request, AuthUser authUser) {
+        TaskStatus status = TaskUtils.parseEnum(TaskStatus.class, request.getStatus());
+        TaskPriority priority = TaskUtils.parseEnum(TaskPriority.class, request.getPriority());
+
+        if ((status == null) == (priority == null)) {
+            throw new BadRequestException("exactly one of status or priority must be provided");
+        }
+
+        UpdateOperation operation = status != null ? UpdateOperation.STATUS : UpdateOperation.PRIORITY;
+        Set<UUID> taskIDs = request.getTask_ids();
+
+        validatePermissions(taskIDs, authUser, operation);
+        requireLive(taskIDs);
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = operation == UpdateOperation.STATUS
+                ? taskRepository.updateStatusByIdIn(taskIDs, status, now)
+                : taskRepository.updatePriorityByIdIn(taskIDs, priority, now);
+
+        taskCacheManager.evictTasksFromCache(taskIDs);
+        recordChanges(taskIDs, operation == UpdateOperation.STATUS
+                ? Map.of("status", status)
+                : Map.of("priority", priority));
+
+        return CustomResponse.builder()
+                .status("success")
+                .message(updated + " tasks updated")
+                .build();
+    }
+
+    /**
+     * Evicts the list generation of every user on the tasks and records one outbox event per task
+     */
+    private void recordChanges(Set<UUID> taskIDs, Map<String, Object> changes) {
+        Map<UUID, Set<UUID>> usersByTask = taskRoleRepository.findRolesByTaskIds(taskIDs)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        TaskRoleRepository.TaskUserView::getTaskID,
+                        Collectors.mapping(TaskRoleRepository.TaskUserView::getUserID, Collectors.toSet())
+                ));
+
+        taskCacheManager.evictListGenerations(usersByTask.values().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet()));
+
+        outboxService.recordAll(OutboxEventType.TASK_UPDATED, taskIDs.stream()
+                .map(taskID -> new TaskChangePayload(taskID, usersByTask.getOrDefault(taskID, Set.of()), null, changes))
+                .toList());
+    }
+
+    private void requireLive(Set<UUID> taskIDs) {
+        Set<UUID> live = taskRepository.lockLiveIdsByIdIn(taskIDs);
+
+        List<UUID> deleted = taskIDs.stream()
+                .filter(taskID -> !live.contains(taskID))
+                .toList();
+
+        if (!deleted.isEmpty()) {
+            throw new NotFoundException("tasks not found: " + deleted);
+        }
+    }
+
+    private void validatePermissions(Set<UUID> taskIDs, AuthUser authUser, UpdateOperation operation) {
+        Map<UUID, Set<RoleType>> rolesByTask = taskRoleRepository
+                .findRolesByUserAndTaskIds(authUser.id(), taskIDs)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        TaskRoleRepository.TaskRoleView::getTaskID,
+                        Collectors.mapping(TaskRoleRepository.TaskRoleView::getRoleType, Collectors.toSet())
+                ));
+
+        List<UUID> denied = taskIDs.stream()
+                .filter(taskID -> rolesByTask.getOrDefault(taskID, Set.of())
+                        .stream()
+                        .noneMatch(roleType -> roleType.canPerform(operation)))
+                .toList();
+
+        if (!denied.isEmpty()) {
+            throw new ForbiddenException("Not authorized to perform " + operation + " operation on tasks: " + denied);
+        }
+    }
+}
@@ -1,24 +1,50 @@
 package task_management_system.task.service;
 
-import lombok.RequiredArgsConstructor;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import task_management_system.exception.NotFoundException;
 import task_management_system.task.entity.Task;
 import task_management_system.task.repository.TaskRepository;
+import task_management_system.task.store.ListGenerationStore;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class TaskCacheManager {
 
     private final CacheManager cacheManager;
     private final TaskRepository taskRepository;
+    private final ListGenerationStore sharedGenerations;
+    private final com.google.common.cache.Cache<UUID, Long> localGenerations;
 
     private static final String TASK_CACHE_NAME = "tasks";
 
+    public TaskCacheManager(CacheManager cacheManager,
+                            TaskRepository taskRepository,
+                            ObjectProvider<ListGenerationStore> sharedGenerations,
+                            @Value("${task.list-generation.local-ttl-ms:30000}") long localTtlMillis,
+                            @Value("${task.list-generation.max-entries:100000}") long maxEntries) {
+        this.cacheManager = cacheManager;
+        this.taskRepository = taskRepository;
+        this.sharedGenerations = sharedGenerations.getIfAvailable();
+        this.localGenerations = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(localTtlMillis))
+                .build();
+    }
+
     /**
      *  Retrieves a task by ID from the cache, loads it from the database if not cached
      */
@@ -32,7 +58,7 @@ public class TaskCacheManager {
             }
         }
 
-        Task task = taskRepository.findById(taskID)
+        Task task = taskRepository.findByIdAndDeletedAtIsNull(taskID)
                 .orElseThrow(() -> new NotFoundException("Task not found with id: " + taskID));
 
         addTaskToCache(task);
@@ -58,4 +84,63 @@ public class TaskCacheManager {
             cache.evict(taskID);
         }
     }
+
+    /**
+     * Removes a batch of tasks from cache
+     */
+    public void evictTasksFromCache(Collection<UUID> taskIDs) {
+        Cache cache = cacheManager.getCache(TASK_CACHE_NAME);
+        if (cache != null) {
+            taskIDs.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * Returns the generation of a user's task list, used as the validator for list pages.
+     * A missing generation is seeded with a random value so restarts never reuse an old one.
+     * Without a shared store another node's write reaches this node when the local entry expires
+     */
+    public long getListGeneration(UUID userID) {
+        long candidate = ThreadLocalRandom.current().nextLong();
+
+        if (sharedGenerations != null) {
+            try {
+                return sharedGenerations.get(userID);
+            } catch (DataAccessException ex) {
+                // a fresh value never matches, so clients get a full page instead of a stale 304
+                log.warn("Shared list generations unavailable: {}", ex.getMessage());
+                return candidate;
+            }
+        }
+
+        Long existing = localGenerations.asMap().putIfAbsent(userID, candidate);
+        return existing != null ? existing : candidate;
+    }
+
+    /**
+     * Invalidates the task list generation of the given users once the current transaction commits
+     */
+    public void evictListGenerations(Collection<UUID> userIDs) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictGenerations(userIDs);
+                }
+            });
+        } else {
+            evictGenerations(userIDs);
+        }
+    }
+
+    private void evictGenerations(Collection<UUID> userIDs) {
+        localGenerations.invalidateAll(userIDs);
+        if (sharedGenerations != null) {
+            try {
+                sharedGenerations.evict(userIDs);
+            } catch (DataAccessException ex) {
+                log.warn("Could not evict shared list generations of {} users: {}", userIDs.size(), ex.getMessage());
+            }
+        }
+    }
 }
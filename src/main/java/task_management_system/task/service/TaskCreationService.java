@@ -2,17 +2,26 @@ package task_management_system.task.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
 import task_management_system.task.dto.CreateTaskRequest;
 import task_management_system.task.entity.Task;
 import task_management_system.task.enums.RoleType;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
 import task_management_system.task.repository.TaskRepository;
+import task_management_system.user.dto.AuthUser;
 import task_management_system.user.entity.User;
+import task_management_system.user.repository.UserRepository;
 import task_management_system.utils.TaskUtils;
 import task_management_system.utils.Validator;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +30,11 @@ public class TaskCreationService {
     private final TaskUtils taskUtils;
     private final TaskRepository taskRepository;
     private final TaskCacheManager taskCacheManager;
+    private final OutboxService outboxService;
+    private final UserRepository userRepository;
 
-    public Task createTask(User authUser, CreateTaskRequest request) {
+    @Transactional
+    public Task createTask(AuthUser authUser, CreateTaskRequest request) {
         LocalDateTime dueDate = TaskUtils.parseDateTime(request.getDue_date());
         TaskStatus status = TaskUtils.parseEnum(TaskStatus.class, request.getStatus());
         TaskPriority priority = TaskUtils.parseEnum(TaskPriority.class, request.getPriority());
@@ -34,16 +46,26 @@ public class TaskCreationService {
                 .description(request.getDescription())
                 .dueDate(dueDate)
                 .status(status)
-                .createdBy(authUser)
+                .createdBy(userRepository.getReferenceById(authUser.id()))
                 .assignedTo(request.getAssigned_to())
                 .priority(priority)
                 .tags(request.getTags())
                 .build();
 
         taskRepository.saveAndFlush(task);
-        taskUtils.assignRole(request.getAssigned_to(), task, RoleType.ASSIGNEE);
+        User assignee = taskUtils.assignRole(request.getAssigned_to(), task, RoleType.ASSIGNEE);
 
         taskCacheManager.addTaskToCache(task);
+
+        Set<UUID> affectedUsers = new HashSet<>();
+        affectedUsers.add(authUser.id());
+        if (assignee != null) {
+            affectedUsers.add(assignee.getId());
+        }
+        taskCacheManager.evictListGenerations(affectedUsers);
+
+        outboxService.record(OutboxEventType.TASK_CREATED,
+                new TaskChangePayload(task.getId(), affectedUsers, TaskUtils.convertToDto(task), null));
         return task;
     }
 }
@@ -1,42 +1,151 @@
 package task_management_system.task.service;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
 import task_management_system.dto.CustomResponse;
 import task_management_system.exception.ForbiddenException;
+import task_management_system.exception.NotFoundException;
 import task_management_system.task.entity.Task;
 import task_management_system.task.entity.TaskRole;
+import task_management_system.task.entity.TaskTombstone;
 import task_management_system.task.enums.RoleType;
+import task_management_system.task.enums.TombstoneReason;
+import task_management_system.task.repository.SharedTaskRepository;
 import task_management_system.task.repository.TaskRepository;
 import task_management_system.task.repository.TaskRoleRepository;
-import task_management_system.user.entity.User;
+import task_management_system.task.repository.TaskTombstoneRepository;
+import task_management_system.user.dto.AuthUser;
+import task_management_system.utils.TaskUtils;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class TaskDeleteService {
 
     private final TaskRepository taskRepository;
     private final TaskRoleRepository taskRoleRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final SharedTaskRepository sharedTaskRepository;
     private final TaskCacheManager taskCacheManager;
+    private final OutboxService outboxService;
+    private final Duration restoreWindow;
 
-    public CustomResponse deleteTask(UUID taskID, User authUser) {
-        Task task = taskCacheManager.getTaskFromCache(taskID);
+    public TaskDeleteService(TaskRepository taskRepository,
+                             TaskRoleRepository taskRoleRepository,
+                             TaskTombstoneRepository taskTombstoneRepository,
+                             SharedTaskRepository sharedTaskRepository,
+                             TaskCacheManager taskCacheManager,
+                             OutboxService outboxService,
+                             @Value("${task.purge.restore-window-days:30}") long restoreWindowDays) {
+        this.taskRepository = taskRepository;
+        this.taskRoleRepository = taskRoleRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.sharedTaskRepository = sharedTaskRepository;
+        this.taskCacheManager = taskCacheManager;
+        this.outboxService = outboxService;
+        this.restoreWindow = Duration.ofDays(restoreWindowDays);
+    }
+
+    /**
+     * Marks the task deleted with a single update; rows are removed later by the purger
+     */
+    @Transactional
+    public CustomResponse deleteTask(UUID taskID, AuthUser authUser) {
+        // answers 404 for a missing task before the role check
+        taskCacheManager.getTaskFromCache(taskID);
 
-        TaskRole role = taskRoleRepository.findByTaskAndUser(task, authUser)
+        TaskRole role = taskRoleRepository.findByTaskIdAndUserId(taskID, authUser.id())
                 .orElseThrow();
 
         if (!role.getRoleType().equals(RoleType.CREATOR)) {
             throw new ForbiddenException("only creator of task can delete task");
         }
 
-        taskRepository.delete(task);
+        List<UUID> affectedUsers = taskRoleRepository.findUserIdsByTaskIds(List.of(taskID));
+
+        if (taskRepository.softDelete(taskID, LocalDateTime.now()) == 0) {
+            throw new NotFoundException("Task not found with id: " + taskID);
+        }
+        taskTombstoneRepository.saveAll(affectedUsers.stream()
+                .map(userID -> TaskTombstone.builder()
+                        .taskId(taskID)
+                        .userId(userID)
+                        .reason(TombstoneReason.DELETED)
+                        .build())
+                .toList());
         taskCacheManager.evictTaskFromCache(taskID);
+        taskCacheManager.evictListGenerations(affectedUsers);
+
+        outboxService.record(OutboxEventType.TASK_DELETED,
+                new TaskChangePayload(taskID, affectedUsers, null, null));
 
         return CustomResponse.builder()
                 .status("success")
                 .message("Task with id: " + taskID + " deleted")
                 .build();
     }
+
+    /**
+     * Brings back a task deleted within the restore window. Only its creator can restore it
+     */
+    @Transactional
+    public CustomResponse restoreTask(UUID taskID, AuthUser authUser) {
+        Task task = taskRepository.findById(taskID)
+                .filter(deleted -> deleted.getDeletedAt() != null)
+                .filter(deleted -> deleted.getDeletedAt().isAfter(LocalDateTime.now().minus(restoreWindow)))
+                .orElseThrow(() -> new NotFoundException("No restorable task with id: " + taskID));
+
+        TaskRole role = taskRoleRepository.findByTaskIdAndUserId(taskID, authUser.id())
+                .orElseThrow(() -> new ForbiddenException("Unauthorized access"));
+
+        if (!role.getRoleType().equals(RoleType.CREATOR)) {
+            throw new ForbiddenException("only creator of task can restore task");
+        }
+
+        task.setDeletedAt(null);
+        taskRepository.saveAndFlush(task);
+
+        List<UUID> affectedUsers = taskRoleRepository.findUserIdsByTaskIds(List.of(taskID));
+
+        // the bumped updatedAt brings the task back through delta sync, so its tombstones must go
+        taskTombstoneRepository.deleteByTaskId(taskID);
+        taskCacheManager.evictListGenerations(affectedUsers);
+
+        outboxService.record(OutboxEventType.TASK_RESTORED,
+                new TaskChangePayload(taskID, affectedUsers, TaskUtils.convertToDto(task), null));
+
+        return CustomResponse.builder()
+                .status("success")
+                .message("Task with id: " + taskID + " restored")
+                .build();
+    }
+
+    /**
+     * Permanently removes one chunk of tasks deleted before the cutoff with set-based deletes,
+     * returns the number of tasks removed
+     */
+    @Transactional
+    public int purgeDeleted(LocalDateTime before, int chunkSize) {
+        List<UUID> taskIDs = taskRepository.findDeletedBefore(before, PageRequest.of(0, chunkSize));
+        if (taskIDs.isEmpty()) {
+            return 0;
+        }
+
+        taskRepository.deleteTagsByTaskIdIn(taskIDs);
+        sharedTaskRepository.deleteByTaskIdIn(taskIDs);
+        taskRoleRepository.deleteByTaskIdIn(taskIDs);
+        return taskRepository.deleteDeletedByIdIn(taskIDs);
+    }
+
+    public Duration getRestoreWindow() {
+        return restoreWindow;
+    }
 }
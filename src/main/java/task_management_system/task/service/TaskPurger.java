@@ -0,0 +1,55 @@
+package task_management_system.task.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Removes soft-deleted tasks once their restore window has passed. Works in chunks, each in its own
+ * transaction, pausing between chunks and stopping after a fixed number per run so it never
+ * competes with request traffic for long
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "task.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskPurger {
+
+    private final TaskDeleteService taskDeleteService;
+    private final int chunkSize;
+    private final int maxChunks;
+    private final long pauseMillis;
+
+    public TaskPurger(TaskDeleteService taskDeleteService,
+                      @Value("${task.purge.chunk-size:500}") int chunkSize,
+                      @Value("${task.purge.max-chunks-per-run:20}") int maxChunks,
+                      @Value("${task.purge.pause-ms:200}") long pauseMillis) {
+        this.taskDeleteService = taskDeleteService;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${task.purge.interval-ms:600000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(taskDeleteService.getRestoreWindow());
+        int total = 0;
+        try {
+            for (int chunk = 0; chunk < maxChunks; chunk++) {
+                int purged = taskDeleteService.purgeDeleted(cutoff, chunkSize);
+                total += purged;
+                if (purged < chunkSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.warn("Task purge run failed after removing {} tasks", total, ex);
+        }
+    }
+}
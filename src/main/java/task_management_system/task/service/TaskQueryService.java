@@ -2,35 +2,92 @@ package task_management_system.task.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import task_management_system.task.dto.GetTasks;
+import task_management_system.task.dto.TaskDto;
+import task_management_system.task.entity.ArchivedTask;
 import task_management_system.task.entity.Task;
+import task_management_system.task.repository.ArchivedTaskRepository;
 import task_management_system.task.repository.TaskRepository;
 import task_management_system.task.specification.TaskSpecifications;
+import task_management_system.utils.OffsetPageRequest;
+import task_management_system.utils.TaskUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class TaskQueryService {
 
     private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
     private final TaskCacheManager taskCacheManager;
+    private final TagDictionary tagDictionary;
 
-    public Task getTaskByID(UUID taskID) {
-        return taskCacheManager.getTaskFromCache(taskID);
+    /**
+     * Tasks are mapped to DTOs here, inside the transaction, as nothing holds the session open afterwards
+     */
+    public TaskDto getTaskByID(UUID taskID) {
+        return TaskUtils.convertToDto(taskCacheManager.getTaskFromCache(taskID));
     }
 
-    public Page<Task> getTasks(Pageable pageable, GetTasks request) {
+    /**
+     * An archived task the user had a role on, mapped while its tags can still be read
+     */
+    public Optional<TaskDto> findArchivedTask(UUID taskID, UUID userID) {
+        return archivedTaskRepository.findForUser(taskID, userID).map(TaskUtils::convertToDto);
+    }
+
+    public Page<TaskDto> getTasks(Pageable pageable, GetTasks request) {
+        return findTasks(pageable, request).map(TaskUtils::convertToDto);
+    }
 
+    private Page<Task> findTasks(Pageable pageable, GetTasks request) {
         Specification<Task> spec = Specification
-                .where(TaskSpecifications.hasStatus(request.getStatus()))
+                .where(TaskSpecifications.notDeleted())
+                .and(TaskSpecifications.hasStatus(request.getStatus()))
                 .and(TaskSpecifications.hasPriority(request.getPriority()))
-                .and(TaskSpecifications.hasTags(request.getTags()))
-                .and(TaskSpecifications.hasRoleOnTask(request.getAuthUser()));
+                .and(TaskSpecifications.hasTags(tagDictionary.known(request.getTags())))
+                .and(TaskSpecifications.hasRoleOnTask(request.getAuthUser().id()));
 
         return taskRepository.findAll(spec, pageable);
     }
+
+    /**
+     * Pages over the hot store first and continues into the archive once it runs out, so the
+     * archive is only read for pages that reach past the user's live tasks
+     */
+    public Page<TaskDto> getTasksIncludingArchived(Pageable pageable, GetTasks request) {
+        Page<Task> hot = findTasks(pageable, request);
+
+        Specification<ArchivedTask> archivedSpec = Specification
+                .where(TaskSpecifications.<ArchivedTask>hasStatus(request.getStatus()))
+                .and(TaskSpecifications.hasPriority(request.getPriority()))
+                .and(TaskSpecifications.hasTags(tagDictionary.known(request.getTags())))
+                .and(TaskSpecifications.hasRoleOnTask(request.getAuthUser().id()));
+
+        List<TaskDto> content = new ArrayList<>(hot.map(TaskUtils::convertToDto).getContent());
+        int remaining = pageable.getPageSize() - content.size();
+
+        long archivedTotal;
+        if (remaining > 0) {
+            long archivedOffset = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+            Page<ArchivedTask> archived = archivedTaskRepository.findAll(archivedSpec,
+                    new OffsetPageRequest(archivedOffset, remaining, pageable.getSort()));
+            archived.forEach(task -> content.add(TaskUtils.convertToDto(task)));
+            archivedTotal = archived.getTotalElements();
+        } else {
+            archivedTotal = archivedTaskRepository.count(archivedSpec);
+        }
+
+        return new PageImpl<>(content, pageable, hot.getTotalElements() + archivedTotal);
+    }
 }
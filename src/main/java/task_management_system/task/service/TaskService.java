@@ -4,16 +4,17 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import task_management_system.exception.ForbiddenException;
+import task_management_system.idempotency.service.IdempotencyService;
 import task_management_system.exception.NotFoundException;
 import task_management_system.task.dto.*;
 import task_management_system.dto.CustomResponse;
-import task_management_system.task.entity.Task;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
 import task_management_system.task.repository.TaskRepository;
 import task_management_system.task.repository.TaskRoleRepository;
-import task_management_system.user.entity.User;
+import task_management_system.user.dto.AuthUser;
 import task_management_system.utils.TaskUtils;
 
 import java.util.*;
@@ -27,65 +28,128 @@ public class TaskService {
     private final TaskQueryService taskQueryService;
     private final TaskDeleteService taskDeleteService;
     private final TaskShareService taskShareService;
+    private final TaskBulkUpdateService taskBulkUpdateService;
     private final TaskRoleRepository taskRoleRepository;
     private final TaskRepository taskRepository;
-
-    public TaskDto createTask(CreateTaskRequest taskRequest) {
-        User authUser = TaskUtils.getAuthenticatedUser();
-        Task task = taskCreationService.createTask(authUser, taskRequest);
-
-        return TaskUtils.convertToDto(task);
+    private final TaskCacheManager taskCacheManager;
+    private final TaskStreamService taskStreamService;
+    private final TaskSyncService taskSyncService;
+    private final IdempotencyService idempotencyService;
+    private final FairQueryScheduler fairQueryScheduler;
+    private final TagDictionary tagDictionary;
+
+    public TaskDto createTask(CreateTaskRequest taskRequest, String idempotencyKey) {
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
+        // new tag rows are inserted before the task's transaction borrows a connection
+        taskRequest.setTags(tagDictionary.resolve(taskRequest.getTags()));
+
+        return idempotencyService.execute(idempotencyKey, authUser.id(), "create-task", taskRequest, TaskDto.class,
+                () -> TaskUtils.convertToDto(taskCreationService.createTask(authUser, taskRequest)));
     }
 
     public TaskDto getTaskByID(UUID taskID) {
-        User authUser = TaskUtils.getAuthenticatedUser();
-
-        validateTaskExists(taskID);
-        hasRoleOnTask(taskID, authUser.getId());
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
+
+        if (!taskRoleRepository.existsByTaskIdAndUserId(taskID, authUser.id())) {
+            // archived tasks keep their roles in the archive
+            Optional<TaskDto> archived = taskQueryService.findArchivedTask(taskID, authUser.id());
+            if (archived.isPresent()) {
+                return archived.get();
+            }
+            throw noRole(taskID);
+        }
 
-        Task task = taskQueryService.getTaskByID(taskID);
-        return TaskUtils.convertToDto(task);
+        return taskQueryService.getTaskByID(taskID);
     }
 
     public PaginatedResponse<TaskDto> getTasks(Pageable pageable, TaskStatus status,
-                                               TaskPriority priority, Set<String> tags) {
+                                               TaskPriority priority, Set<String> tags,
+                                               boolean includeArchived) {
 
-        User authUser = TaskUtils.getAuthenticatedUser();
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
 
         GetTasks request = GetTasks.builder()
                 .authUser(authUser)
                 .priority(priority)
                 .status(status)
                 .tags(tags)
+                .includeArchived(includeArchived)
                 .build();
 
-        Page<TaskDto> taskDto = taskQueryService
-                .getTasks(pageable, request)
-                .map(TaskUtils::convertToDto);
+        // reading the archive as well can mean a second page query
+        int cost = fairQueryScheduler.cost(pageable.getPageSize()) * (includeArchived ? 2 : 1);
+        Page<TaskDto> taskDto = fairQueryScheduler.execute(authUser.id(), cost, () -> includeArchived
+                ? taskQueryService.getTasksIncludingArchived(pageable, request)
+                : taskQueryService.getTasks(pageable, request));
 
         return new PaginatedResponse<>(taskDto);
     }
 
-    public CustomResponse updateTask(UUID taskID, UpdateTask request) {
-        User authUser = TaskUtils.getAuthenticatedUser();
+    /**
+     * Builds the validator for a page of the user's tasks without querying the tasks themselves
+     */
+    public String getTasksETag(Pageable pageable, TaskStatus status,
+                               TaskPriority priority, Set<String> tags, boolean includeArchived) {
+
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
+        long generation = taskCacheManager.getListGeneration(authUser.id());
+        int filters = Objects.hash(pageable.getPageNumber(), pageable.getPageSize(), status, priority, tags,
+                includeArchived);
+
+        return "\"" + Long.toHexString(generation) + "-" + Integer.toHexString(filters) + "\"";
+    }
+
+    public CustomResponse updateTask(UUID taskID, UpdateTask request, Long expectedVersion) {
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
+        request.setTags(tagDictionary.resolve(request.getTags()));
+
+        return taskUpdateService.updateTask(taskID, request, authUser, expectedVersion);
+    }
+
+    public CustomResponse bulkUpdateTasks(BulkUpdateRequest request) {
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
 
-        return taskUpdateService.updateTask(taskID, request, authUser);
+        return taskBulkUpdateService.bulkUpdate(request, authUser);
     }
 
-    public CustomResponse shareTask(ShareRequest request, UUID taskID) {
-        User authUser = TaskUtils.getAuthenticatedUser();
+    public CustomResponse shareTask(ShareRequest request, UUID taskID, String idempotencyKey) {
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
 
-        hasRoleOnTask(taskID, authUser.getId());
-        return taskShareService.shareTask(request, taskID);
+        hasRoleOnTask(taskID, authUser.id());
+        return idempotencyService.execute(idempotencyKey, authUser.id(), "share-task:" + taskID, request,
+                CustomResponse.class, () -> taskShareService.shareTask(request, taskID));
+    }
+
+    public BatchShareResponse shareTask(BatchShareRequest request, UUID taskID, String idempotencyKey) {
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
+
+        hasRoleOnTask(taskID, authUser.id());
+        return idempotencyService.execute(idempotencyKey, authUser.id(), "share-task-batch:" + taskID, request,
+                BatchShareResponse.class, () -> taskShareService.shareTask(request, taskID));
     }
 
     public CustomResponse deleteTask(UUID taskID) {
-        User authUser = TaskUtils.getAuthenticatedUser();
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
         return taskDeleteService.deleteTask(taskID, authUser);
     }
 
+    public CustomResponse restoreTask(UUID taskID) {
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
+        return taskDeleteService.restoreTask(taskID, authUser);
+    }
+
+    public TaskChangesResponse getTaskChanges(String since) {
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
+        return taskSyncService.getChanges(since, authUser);
+    }
+
+    public SseEmitter streamTaskChanges(String lastEventID) {
+        AuthUser authUser = TaskUtils.getAuthenticatedUser();
+        return taskStreamService.subscribe(authUser.id(), lastEventID);
+    }
+
     private void validateTaskExists(UUID taskID) {
-        boolean exists = taskRepository.existsById(taskID);
+        boolean exists = taskRepository.existsByIdAndDeletedAtIsNull(taskID);
         if (!exists) {
             throw new NotFoundException("Task not found with id: " + taskID);
         }
@@ -95,7 +159,13 @@ public class TaskService {
         boolean hasRole = taskRoleRepository.existsByTaskIdAndUserId(taskID, userID);
 
         if (!hasRole) {
-            throw new ForbiddenException("Unauthorized access");
+            throw noRole(taskID);
         }
     }
+
+    private ForbiddenException noRole(UUID taskID) {
+        // a role implies the task exists, so existence is only checked to pick the right error
+        validateTaskExists(taskID);
+        return new ForbiddenException("Unauthorized access");
+    }
 }
@@ -2,40 +2,139 @@ package task_management_system.task.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import task_management_system.dto.CustomResponse;
+import task_management_system.exception.NotFoundException;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
+import task_management_system.task.dto.BatchShareRequest;
+import task_management_system.task.dto.BatchShareResponse;
 import task_management_system.task.dto.ShareRequest;
+import task_management_system.task.dto.ShareResult;
 import task_management_system.task.entity.SharedTask;
 import task_management_system.task.entity.Task;
+import task_management_system.task.entity.TaskRole;
 import task_management_system.task.enums.RoleType;
+import task_management_system.task.enums.ShareStatus;
 import task_management_system.task.repository.SharedTaskRepository;
+import task_management_system.task.repository.TaskRoleRepository;
 import task_management_system.user.entity.User;
-import task_management_system.utils.TaskUtils;
+import task_management_system.user.repository.UserRepository;
+import task_management_system.user.service.KnownEmailFilter;
 
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskShareService {
 
-    private final TaskUtils taskUtils;
+    private final UserRepository userRepository;
     private final SharedTaskRepository sharedTaskRepository;
+    private final TaskRoleRepository taskRoleRepository;
     private final TaskCacheManager taskCacheManager;
+    private final OutboxService outboxService;
 
+    @Transactional
     public CustomResponse shareTask(ShareRequest request, UUID taskID) {
-        Task task = taskCacheManager.getTaskFromCache(taskID);
-
-        User sharedToUser = taskUtils.assignRole(request.getEmail(), task, RoleType.SHARED);
-
-        SharedTask sharedTask = new SharedTask();
-        sharedTask.setTask(task);
-        sharedTask.setUser(sharedToUser);
-        sharedTask.setCanEdit(request.isCan_edit());
+        ShareResult result = share(taskID, List.of(request)).results().get(0);
 
-        sharedTaskRepository.save(sharedTask);
+        if (result.status() == ShareStatus.USER_NOT_FOUND) {
+            throw new NotFoundException("user not found with email: " + request.getEmail());
+        }
 
         return CustomResponse.builder()
                 .status("success")
                 .message("Task shared with " + request.getEmail())
                 .build();
     }
+
+    @Transactional
+    public BatchShareResponse shareTask(BatchShareRequest request, UUID taskID) {
+        return share(taskID, request.getRecipients());
+    }
+
+    /**
+     * Shares the task with every recipient using one user lookup, one existing-role lookup and a
+     * single saveAll per table, reporting an outcome for each distinct email
+     */
+    private BatchShareResponse share(UUID taskID, List<ShareRequest> recipients) {
+        Task task = taskCacheManager.getTaskFromCache(taskID);
+
+        // keyed by normalized email so a differently cased address still matches its stored user
+        Map<String, ShareRequest> byEmail = new LinkedHashMap<>();
+        recipients.forEach(recipient -> byEmail.put(KnownEmailFilter.normalize(recipient.getEmail()), recipient));
+
+        Set<String> lookup = new HashSet<>(byEmail.keySet());
+        recipients.forEach(recipient -> lookup.add(recipient.getEmail()));
+
+        Map<String, User> users = userRepository.findByEmailIn(lookup)
+                .stream()
+                .collect(Collectors.toMap(user -> KnownEmailFilter.normalize(user.getEmail()),
+                        Function.identity(), (first, second) -> first));
+
+        Set<UUID> alreadyShared = users.isEmpty()
+                ? Set.of()
+                : taskRoleRepository.findUserIdsWithRole(taskID, RoleType.SHARED,
+                        users.values().stream().map(User::getId).toList());
+
+        List<ShareResult> results = new ArrayList<>();
+        List<TaskRole> roles = new ArrayList<>();
+        List<SharedTask> sharedTasks = new ArrayList<>();
+
+        byEmail.forEach((key, recipient) -> {
+            String email = recipient.getEmail();
+            User user = users.get(key);
+            if (user == null) {
+                results.add(new ShareResult(email, ShareStatus.USER_NOT_FOUND));
+            } else if (alreadyShared.contains(user.getId())) {
+                results.add(new ShareResult(email, ShareStatus.ALREADY_SHARED));
+            } else {
+                roles.add(TaskRole.builder()
+                        .user(user)
+                        .task(task)
+                        .roleType(RoleType.SHARED)
+                        .build());
+
+                SharedTask sharedTask = new SharedTask();
+                sharedTask.setTask(task);
+                sharedTask.setUser(user);
+                sharedTask.setCanEdit(recipient.isCan_edit());
+                sharedTasks.add(sharedTask);
+
+                results.add(new ShareResult(email, ShareStatus.SHARED));
+            }
+        });
+
+        if (!roles.isEmpty()) {
+            taskRoleRepository.saveAll(roles);
+            sharedTaskRepository.saveAll(sharedTasks);
+            recordShares(taskID, sharedTasks);
+        }
+
+        return BatchShareResponse.builder()
+                .shared(roles.size())
+                .skipped(results.size() - roles.size())
+                .results(results)
+                .build();
+    }
+
+    private void recordShares(UUID taskID, List<SharedTask> sharedTasks) {
+        List<UUID> sharedWith = sharedTasks.stream().map(sharedTask -> sharedTask.getUser().getId()).toList();
+        List<UUID> canEdit = sharedTasks.stream()
+                .filter(SharedTask::isCanEdit)
+                .map(sharedTask -> sharedTask.getUser().getId())
+                .toList();
+
+        taskCacheManager.evictListGenerations(sharedWith);
+
+        outboxService.record(OutboxEventType.TASK_SHARED, new TaskChangePayload(
+                taskID,
+                taskRoleRepository.findUserIdsByTaskIds(List.of(taskID)),
+                null,
+                Map.of("shared_with", sharedWith, "can_edit", canEdit)
+        ));
+    }
 }
@@ -0,0 +1,289 @@
+package task_management_system.task.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import task_management_system.outbox.dto.TaskChangeEvent;
+import task_management_system.outbox.dto.TaskChangePayload;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans task change events out to server-sent event connections. Connections are held by the async
+ * servlet, not by threads: each one has a bounded queue drained by a small shared dispatcher pool.
+ * A connection whose queue overflows is closed so the client reconnects and resumes from Last-Event-ID,
+ * which is served from a bounded replay buffer of recent events.
+ * <p>
+ * Event ids are "epoch-seq": seq counts events in the order this node received them, and the epoch is
+ * drawn at startup. Outbox ids are not used, because the relay can deliver them out of order. A client
+ * resuming with an id from another node or an earlier run is told to resync
+ */
+@Slf4j
+@Service
+public class TaskStreamService {
+
+    private static final String RESET_EVENT = "reset";
+
+    private record ReplayEntry(long seq, Set<UUID> userIDs, String name, String data) {}
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final int replaySize;
+    private final int maxConnectionsPerUser;
+    private final ExecutorService dispatcher;
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    private final ConcurrentMap<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Deque<ReplayEntry> replay = new ArrayDeque<>();
+    // entries after this seq are all still buffered
+    private long evictedSeq;
+    private long lastSeq;
+
+    public TaskStreamService(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${task.stream.timeout-ms:1800000}") long timeoutMillis,
+                             @Value("${task.stream.queue-capacity:256}") int queueCapacity,
+                             @Value("${task.stream.replay-size:1000}") int replaySize,
+                             @Value("${task.stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+                             @Value("${task.stream.dispatch-threads:4}") int dispatchThreads) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = queueCapacity;
+        this.replaySize = replaySize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("task.stream.connections", connections, AtomicInteger::get)
+                .description("Open task change stream connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user, first replaying buffered events after lastEventID when given. The replay
+     * is queued and the subscriber registered under the buffer lock, and live delivery skips every event
+     * that was already buffered then, so no event is lost or sent twice in between
+     */
+    public SseEmitter subscribe(UUID userID, String lastEventID) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(userID, emitter);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+
+        boolean resume = lastEventID != null && !lastEventID.isBlank();
+        synchronized (replay) {
+            if (resume) {
+                replayTo(subscriber, parseSeq(lastEventID));
+            }
+            subscriber.replayedSeq = lastSeq;
+
+            Set<Subscriber> userSubscribers = subscribers.computeIfAbsent(userID, id -> ConcurrentHashMap.newKeySet());
+            if (userSubscribers.size() >= maxConnectionsPerUser) {
+                userSubscribers.stream().findAny().ifPresent(Subscriber::close);
+            }
+            userSubscribers.add(subscriber);
+            connections.incrementAndGet();
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        TaskChangePayload payload;
+        try {
+            payload = objectMapper.readValue(event.payload(), TaskChangePayload.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Skipping task change event {} with unreadable payload", event.id(), ex);
+            return;
+        }
+        if (payload.userIDs() == null || payload.userIDs().isEmpty()) {
+            return;
+        }
+
+        ReplayEntry entry = remember(
+                Set.copyOf(payload.userIDs()),
+                event.type().name().toLowerCase(),
+                toData(new TaskChangePayload(payload.taskID(), null, payload.task(), payload.changes()))
+        );
+
+        for (UUID userID : entry.userIDs()) {
+            Set<Subscriber> userSubscribers = subscribers.get(userID);
+            if (userSubscribers != null) {
+                userSubscribers.stream()
+                        .filter(subscriber -> entry.seq() > subscriber.replayedSeq)
+                        .forEach(subscriber -> subscriber.enqueue(toEvent(entry)));
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${task.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers
+                .forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    /**
+     * Must be called holding the buffer lock. A null position is one this node never handed out
+     */
+    private void replayTo(Subscriber subscriber, Long resumeFrom) {
+        if (resumeFrom == null || resumeFrom < evictedSeq || resumeFrom > lastSeq) {
+            // the client's position is from another node or run, or events after it left the buffer,
+            // so it must resync
+            subscriber.enqueue(SseEmitter.event().name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON));
+            return;
+        }
+        for (ReplayEntry entry : replay) {
+            if (entry.seq() > resumeFrom && entry.userIDs().contains(subscriber.userID)) {
+                subscriber.enqueue(toEvent(entry));
+            }
+        }
+    }
+
+    private ReplayEntry remember(Set<UUID> userIDs, String name, String data) {
+        synchronized (replay) {
+            ReplayEntry entry = new ReplayEntry(++lastSeq, userIDs, name, data);
+            replay.addLast(entry);
+            while (replay.size() > replaySize) {
+                evictedSeq = replay.removeFirst().seq();
+            }
+            return entry;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> userSubscribers = subscribers.get(subscriber.userID);
+        if (userSubscribers != null && userSubscribers.remove(subscriber)) {
+            connections.decrementAndGet();
+            if (userSubscribers.isEmpty()) {
+                subscribers.remove(subscriber.userID, userSubscribers);
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(ReplayEntry entry) {
+        return SseEmitter.event()
+                .id(epoch + "-" + entry.seq())
+                .name(entry.name())
+                .data(entry.data(), MediaType.APPLICATION_JSON);
+    }
+
+    private String toData(TaskChangePayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize task change for stream", ex);
+        }
+    }
+
+    /**
+     * The seq of an event id this node handed out since startup, otherwise null
+     */
+    private Long parseSeq(String lastEventID) {
+        String id = lastEventID.trim();
+        if (!id.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.substring(epoch.length() + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private final class Subscriber {
+        private final UUID userID;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // buffer position at registration; entries up to here were replayed or predate the connection
+        private volatile long replayedSeq;
+
+        private Subscriber(UUID userID, SseEmitter emitter) {
+            this.userID = userID;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // slow consumer: drop the connection instead of buffering without bound
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+
+            if (!closed.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                remove(this);
+                emitter.complete();
+            }
+        }
+    }
+}
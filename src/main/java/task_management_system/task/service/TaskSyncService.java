@@ -0,0 +1,151 @@
+package task_management_system.task.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import task_management_system.exception.BadRequestException;
+import task_management_system.task.dto.TaskChangesResponse;
+import task_management_system.task.dto.TaskDto;
+import task_management_system.task.dto.TaskTombstoneDto;
+import task_management_system.task.entity.Task;
+import task_management_system.task.entity.TaskTombstone;
+import task_management_system.task.repository.TaskRepository;
+import task_management_system.task.repository.TaskRoleRepository;
+import task_management_system.task.repository.TaskTombstoneRepository;
+import task_management_system.user.dto.AuthUser;
+import task_management_system.utils.TaskUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Delta sync for offline clients. A watermark is an opaque position in the (updatedAt, id) order of the
+ * user's tasks; tombstones and newly granted roles are returned for the same time slice as the page of tasks
+ */
+@Service
+public class TaskSyncService {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private record Watermark(LocalDateTime time, UUID afterID) {}
+
+    private final TaskRepository taskRepository;
+    private final TaskRoleRepository taskRoleRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final int pageSize;
+    private final Duration grace;
+    private final Duration tombstoneRetention;
+
+    public TaskSyncService(TaskRepository taskRepository,
+                           TaskRoleRepository taskRoleRepository,
+                           TaskTombstoneRepository taskTombstoneRepository,
+                           @Value("${task.sync.page-size:500}") int pageSize,
+                           @Value("${task.sync.grace-ms:5000}") long graceMillis,
+                           @Value("${task.sync.tombstone-retention-days:30}") long retentionDays) {
+        this.taskRepository = taskRepository;
+        this.taskRoleRepository = taskRoleRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.pageSize = pageSize;
+        this.grace = Duration.ofMillis(graceMillis);
+        this.tombstoneRetention = Duration.ofDays(retentionDays);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(String token, AuthUser authUser) {
+        LocalDateTime now = LocalDateTime.now();
+        Watermark since = decode(token);
+
+        // tombstones before the retention window are purged, so an older client has to start over
+        boolean reset = since != null && since.time().isBefore(now.minus(tombstoneRetention));
+        if (reset) {
+            since = null;
+        }
+
+        LocalDateTime after = since == null ? BEGINNING : since.time();
+        List<Task> page = taskRepository.findChangedForUser(authUser.id(), after,
+                since == null ? null : since.afterID(), PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+        Task last = page.isEmpty() ? null : page.get(page.size() - 1);
+        LocalDateTime until = hasMore ? last.getUpdatedAt() : now;
+
+        Map<UUID, Task> changed = new LinkedHashMap<>();
+        page.forEach(task -> changed.put(task.getId(), task));
+
+        List<TaskTombstone> tombstones = List.of();
+        if (since != null) {
+            // shares granted in this slice surface tasks whose updatedAt is older than the watermark
+            taskRoleRepository.findTasksGrantedBetween(authUser.id(), after, until)
+                    .forEach(task -> changed.putIfAbsent(task.getId(), task));
+            tombstones = taskTombstoneRepository.findByUserBetween(authUser.id(), after, until);
+        }
+
+        Watermark next = hasMore
+                ? new Watermark(last.getUpdatedAt(), last.getId())
+                // step back by the grace period so changes from transactions still committing are picked up next time
+                : new Watermark(max(after, now.minus(grace)), null);
+
+        return TaskChangesResponse.builder()
+                .changed(changed.values().stream().map(TaskUtils::convertToDto).toList())
+                .removed(tombstones.stream().map(this::toDto).toList())
+                .watermark(encode(next))
+                .has_more(hasMore)
+                .reset(reset)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${task.sync.purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        List<Long> ids;
+        do {
+            ids = taskTombstoneRepository.findCreatedBefore(cutoff, PageRequest.of(0, pageSize));
+            if (!ids.isEmpty()) {
+                taskTombstoneRepository.deleteAllByIdInBatch(ids);
+            }
+        } while (ids.size() == pageSize);
+    }
+
+    private TaskTombstoneDto toDto(TaskTombstone tombstone) {
+        return TaskTombstoneDto.builder()
+                .task_id(tombstone.getTaskId())
+                .reason(tombstone.getReason())
+                .removed_at(tombstone.getCreatedAt())
+                .build();
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static String encode(Watermark watermark) {
+        String value = watermark.time().toEpochSecond(ZoneOffset.UTC) + "." + watermark.time().getNano()
+                + (watermark.afterID() == null ? "" : ":" + watermark.afterID());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Watermark decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = value.split(":", 2);
+            String[] time = parts[0].split("\\.", 2);
+
+            LocalDateTime since = LocalDateTime.ofEpochSecond(
+                    Long.parseLong(time[0]), Integer.parseInt(time[1]), ZoneOffset.UTC);
+            return new Watermark(since, parts.length == 2 ? UUID.fromString(parts[1]) : null);
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("invalid sync watermark: " + token);
+        }
+    }
+}
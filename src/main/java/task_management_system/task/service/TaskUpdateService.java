@@ -1,10 +1,17 @@
 package task_management_system.task.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
 import task_management_system.dto.CustomResponse;
+import task_management_system.exception.ConflictException;
 import task_management_system.exception.ForbiddenException;
+import task_management_system.exception.NotFoundException;
+import task_management_system.exception.PreconditionFailedException;
 import task_management_system.task.dto.UpdateTask;
 import task_management_system.task.entity.Task;
 import task_management_system.task.entity.TaskRole;
@@ -14,12 +21,13 @@ import task_management_system.task.enums.TaskStatus;
 import task_management_system.task.enums.UpdateOperation;
 import task_management_system.task.repository.TaskRepository;
 import task_management_system.task.repository.TaskRoleRepository;
-import task_management_system.user.entity.User;
+import task_management_system.user.dto.AuthUser;
 import task_management_system.user.repository.UserRepository;
 import task_management_system.utils.Validator;
 import task_management_system.utils.TaskUtils;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Consumer;
@@ -33,9 +41,13 @@ public class TaskUpdateService {
     private final TaskRoleRepository taskRoleRepository;
     private final TaskCacheManager taskCacheManager;
     private final UserRepository userRepository;
+    private final OutboxService outboxService;
 
+    /**
+     * Updates a task, rejecting the change when expectedVersion is set and no longer matches
+     */
     @Transactional
-    public CustomResponse updateTask(UUID taskID, UpdateTask request, User authUser) {
+    public CustomResponse updateTask(UUID taskID, UpdateTask request, AuthUser authUser, Long expectedVersion) {
 
         TaskStatus status = request.getStatus() != null
                 ? TaskUtils.parseEnum(TaskStatus.class, request.getStatus())
@@ -45,10 +57,18 @@ public class TaskUpdateService {
                 ? TaskUtils.parseEnum(TaskPriority.class, request.getPriority())
                 : null;
 
-        Task task = taskCacheManager.getTaskFromCache(taskID);
-        TaskRole role = taskRoleRepository.findByTaskAndUser(task, authUser)
+        // authorize before the version check so a 412 never tells an outsider the task exists
+        TaskRole role = taskRoleRepository.findByTaskIdAndUserId(taskID, authUser.id())
                 .orElseThrow(() -> new ForbiddenException("Unauthorized access"));
 
+        // read the current row rather than the cached copy so the version check is not against stale data
+        Task task = taskRepository.findByIdAndDeletedAtIsNull(taskID)
+                .orElseThrow(() -> new NotFoundException("Task not found with id: " + taskID));
+
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task with id: " + taskID + " has been modified");
+        }
+
         // map request fields to operations
         Map<UpdateOperation, Runnable> operations = Map.of(
                 UpdateOperation.TITLE, () -> validateAndSet(task::setTitle, request.getTitle(), role, UpdateOperation.TITLE),
@@ -57,7 +77,7 @@ public class TaskUpdateService {
                 UpdateOperation.DUE_DATE, () -> validateAndSet(task::setDueDate, request.getDue_date(), role, UpdateOperation.DUE_DATE),
                 UpdateOperation.PRIORITY, () -> validateAndSet(task::setPriority, priority, role, UpdateOperation.PRIORITY),
                 UpdateOperation.ASSIGNEE, () -> {
-                    if (request.getAssigned_to() != null && userExists(request.getAssigned_to())) {
+                    if (request.getAssigned_to() != null && userRepository.existsByEmail(request.getAssigned_to())) {
                         validateAndSet(task::setAssignedTo, request.getAssigned_to(), role, UpdateOperation.ASSIGNEE);
                         taskUtils.assignRole(request.getAssigned_to(), task, RoleType.ASSIGNEE);
                     }
@@ -74,11 +94,25 @@ public class TaskUpdateService {
 
         task.setUpdatedAt(LocalDateTime.now());
 
-        taskRepository.saveAndFlush(task);
+        try {
+            taskRepository.saveAndFlush(task);
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            taskCacheManager.evictTaskFromCache(taskID);
+            String message = "Task with id: " + taskID + " was modified concurrently";
+            throw expectedVersion != null
+                    ? new PreconditionFailedException(message)
+                    : new ConflictException(message);
+        }
 
         taskCacheManager.evictTaskFromCache(taskID);
         taskCacheManager.addTaskToCache(task);
 
+        List<UUID> affectedUsers = taskRoleRepository.findUserIdsByTaskIds(List.of(taskID));
+        taskCacheManager.evictListGenerations(affectedUsers);
+
+        outboxService.record(OutboxEventType.TASK_UPDATED,
+                new TaskChangePayload(taskID, affectedUsers, TaskUtils.convertToDto(task), null));
+
         return CustomResponse.builder()
                 .status("success")
                 .message("Task with id: " + taskID + " updated")
@@ -101,10 +135,5 @@ public class TaskUpdateService {
             case TAGS -> request.getTags() != null;
         };
     }
-
-    private boolean userExists(String email) {
-        if (email == null) return false;
-        return userRepository.existsByEmail(email);
-    }
 }
 
@@ -2,54 +2,67 @@ package task_management_system.task.specification;
 
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
-import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 import task_management_system.task.entity.Task;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
-import task_management_system.user.entity.User;
 
 import java.util.Set;
+import java.util.UUID;
 
+/**
+ * Filters shared by the hot and archived task stores; everything except notDeleted works on either entity
+ */
 public class TaskSpecifications {
 
-    public static Specification<Task> hasStatus(TaskStatus status) {
+    public static Specification<Task> notDeleted() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isNull(root.get("deletedAt"));
+    }
+
+    public static <T> Specification<T> hasStatus(TaskStatus status) {
         return (root, query, criteriaBuilder) -> status == null
                 ? null
                 : criteriaBuilder.equal(root.get("status"), status);
     }
 
-    public static Specification<Task> hasPriority(TaskPriority priority) {
+    public static <T> Specification<T> hasPriority(TaskPriority priority) {
         return (root, query, criteriaBuilder) -> priority == null
                 ? null
                 : criteriaBuilder.equal(root.get("priority"), priority);
     }
 
-    public static Specification<Task> hasTags(Set<String> tags) {
-        if (tags == null || tags.isEmpty()) {
+    /**
+     * Tasks carrying any of the tags, as one EXISTS over the tag ids. Pass names already known to the tag
+     * dictionary: an empty set matches nothing and null applies no filter
+     */
+    public static <T> Specification<T> hasTags(Set<String> tags) {
+        if (tags == null) {
             return null;
         }
 
         return (root, query, criteriaBuilder) -> {
-            Predicate tagPredicate = criteriaBuilder.disjunction();
-            for (String tag : tags) {
-                tagPredicate = criteriaBuilder.or(tagPredicate,
-                        criteriaBuilder.isMember(tag, root.get("tags"))
-                );
+            if (tags.isEmpty()) {
+                return criteriaBuilder.disjunction();
             }
-          return tagPredicate;
+
+            Subquery<Integer> tagged = query.subquery(Integer.class);
+            Join<T, String> tag = tagged.correlate(root).join("tags");
+            tagged.select(criteriaBuilder.literal(1)).where(tag.in(tags));
+
+            return criteriaBuilder.exists(tagged);
         };
     }
 
-    public static Specification<Task> hasRoleOnTask(User user) {
+    public static <T> Specification<T> hasRoleOnTask(UUID userID) {
         return (root, query, criteriaBuilder) -> {
-            if (user == null || user.getId() == null) {
+            if (userID == null) {
                 return criteriaBuilder.disjunction();
             }
 
             Join<Object, Object> taskRolesJoin = root.join("taskRoles", JoinType.LEFT);
 
-            return criteriaBuilder.equal(taskRolesJoin.get("user").get("id"), user.getId());
+            return criteriaBuilder.equal(taskRolesJoin.get("user").get("id"), userID);
         };
     }
 
@@ -0,0 +1,18 @@
+package task_management_system.task.store;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Shared backend for task list generations, so a write on one node changes the list validator that
+ * every node hands out. Without it each node keeps its own generations for a short TTL
+ */
+public interface ListGenerationStore {
+
+    /**
+     * The user's current generation, seeding a random one when none is stored
+     */
+    long get(UUID userID);
+
+    void evict(Collection<UUID> userIDs);
+}
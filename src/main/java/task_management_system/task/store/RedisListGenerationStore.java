@@ -0,0 +1,49 @@
+package task_management_system.task.store;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+@ConditionalOnProperty(name = "task.list-generation.shared-store", havingValue = "redis")
+public class RedisListGenerationStore implements ListGenerationStore {
+
+    private static final String PREFIX = "tasklist:gen:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RedisListGenerationStore(StringRedisTemplate redisTemplate,
+                                    @Value("${task.list-generation.shared-ttl-ms:3600000}") long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofMillis(ttlMillis);
+    }
+
+    @Override
+    public long get(UUID userID) {
+        String key = PREFIX + userID;
+        String generation = redisTemplate.opsForValue().get(key);
+        if (generation == null) {
+            String seed = Long.toString(ThreadLocalRandom.current().nextLong());
+            // another node may seed the same user at the same time; both then use the winner's value
+            generation = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, seed, ttl))
+                    ? seed
+                    : redisTemplate.opsForValue().get(key);
+            if (generation == null) {
+                generation = seed;
+            }
+        }
+        return Long.parseLong(generation);
+    }
+
+    @Override
+    public void evict(Collection<UUID> userIDs) {
+        redisTemplate.delete(userIDs.stream().map(userID -> PREFIX + userID).toList());
+    }
+}
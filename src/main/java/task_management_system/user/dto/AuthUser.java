@@ -0,0 +1,16 @@
+package task_management_system.user.dto;
+
+import task_management_system.user.entity.User;
+
+import java.util.UUID;
+
+/**
+ * Immutable security principal. Carries only what request handling needs, so services never hold
+ * a detached User entity with lazy associations
+ */
+public record AuthUser(UUID id, String email, String name) {
+
+    public static AuthUser from(User user) {
+        return new AuthUser(user.getId(), user.getEmail(), user.getName());
+    }
+}
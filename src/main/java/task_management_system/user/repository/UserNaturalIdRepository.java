@@ -0,0 +1,14 @@
+package task_management_system.user.repository;
+
+import task_management_system.user.entity.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    /**
+     * Looks the user up by its email natural id. A warm lookup is served from the natural-id and
+     * entity caches without touching the database
+     */
+    Optional<User> loadByEmail(String email);
+}
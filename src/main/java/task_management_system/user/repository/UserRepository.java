@@ -1,13 +1,37 @@
 package task_management_system.user.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import task_management_system.user.entity.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdRepository {
     Optional<User> findByEmail(String email);
+    List<User> findByEmailIn(Collection<String> emails);
     Optional<User> findByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM User u ORDER BY u.id")
+    Slice<String> findAllEmails(Pageable pageable);
+
+    @Query("SELECT u.email FROM User u WHERE u.createdAt >= :since ORDER BY u.createdAt, u.id")
+    Slice<String> findEmailsCreatedSince(@Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Replaces the hash only if it is still the one that was checked, so a concurrent password change wins
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") UUID id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
@@ -0,0 +1,137 @@
+package task_management_system.user.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import task_management_system.user.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Bloom filter of registered emails. A negative answer means the email is definitely not registered, so
+ * lookups for it can skip the database. Until the first load finishes every email might exist. Emails
+ * registered on other nodes are picked up by the periodic refresh, so there they can read as absent for
+ * up to one refresh interval
+ */
+@Slf4j
+@Service
+public class KnownEmailFilter {
+
+    private final UserRepository userRepository;
+    private final long expectedEmails;
+    private final double falsePositiveRate;
+    private final int pageSize;
+    private final Duration overlap;
+    private final Counter skippedCounter;
+
+    private volatile BloomFilter<String> filter;
+    private volatile boolean loaded;
+    private LocalDateTime watermark;
+
+    public KnownEmailFilter(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${users.email-filter.expected-emails:1000000}") long expectedEmails,
+                            @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${users.email-filter.page-size:5000}") int pageSize,
+                            @Value("${users.email-filter.refresh-overlap-ms:60000}") long overlapMillis) {
+        this.userRepository = userRepository;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+        this.pageSize = pageSize;
+        this.overlap = Duration.ofMillis(overlapMillis);
+        this.filter = newFilter();
+
+        this.skippedCounter = Counter.builder("users.email.filter.skipped")
+                .description("Email lookups answered by the filter without querying the database")
+                .register(meterRegistry);
+        Gauge.builder("users.email.filter.fpp", this, f -> f.filter.expectedFpp())
+                .description("Current false positive probability of the email filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * False only when the email is certainly not registered
+     */
+    public boolean mightContain(String email) {
+        if (email == null) {
+            return false;
+        }
+        if (!loaded || filter.mightContain(normalize(email))) {
+            return true;
+        }
+        skippedCounter.increment();
+        return false;
+    }
+
+    public void add(String email) {
+        filter.put(normalize(email));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        BloomFilter<String> fresh = newFilter();
+        LocalDateTime started = LocalDateTime.now();
+        long count = addSince(fresh, null);
+
+        filter = fresh;
+        watermark = started;
+        loaded = true;
+        log.info("Loaded {} emails into the email filter", count);
+    }
+
+    /**
+     * Adds emails registered since the last load or refresh, with an overlap so commits that landed
+     * late are not missed
+     */
+    @Scheduled(fixedDelayString = "${users.email-filter.refresh-ms:30000}")
+    public synchronized void refresh() {
+        if (!loaded) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        addSince(filter, watermark.minus(overlap));
+        watermark = started;
+    }
+
+    private long addSince(BloomFilter<String> target, LocalDateTime since) {
+        long count = 0;
+        Slice<String> page;
+        int pageNumber = 0;
+        do {
+            PageRequest pageable = PageRequest.of(pageNumber++, pageSize);
+            page = since == null
+                    ? userRepository.findAllEmails(pageable)
+                    : userRepository.findEmailsCreatedSince(since, pageable);
+            for (String email : page) {
+                target.put(normalize(email));
+                count++;
+            }
+        } while (page.hasNext());
+        return count;
+    }
+
+    private BloomFilter<String> newFilter() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedEmails, falsePositiveRate);
+    }
+
+    /**
+     * The unique index may compare emails case-insensitively, so the filter and any lookups keyed
+     * by email must too
+     */
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,32 +1,49 @@
 package task_management_system.user.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import task_management_system.config.JwtService;
+import task_management_system.config.UseWorkload;
+import task_management_system.config.Workload;
+import task_management_system.config.WorkloadRoutingDataSource;
 import task_management_system.exception.ConflictException;
+import task_management_system.exception.NotFoundException;
 import task_management_system.exception.UnauthorizedException;
 import task_management_system.user.dto.*;
 import task_management_system.user.entity.User;
 import task_management_system.user.repository.UserRepository;
 
-import java.util.Optional;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
+@UseWorkload(Workload.AUTH)
 public class UserService {
+    private static final String EMAIL_TAKEN = "user with email already exists";
+    private static final String USERNAME_TAKEN = "user with username already exists";
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+
     private final UserRepository userRepository;
     private final JwtService jwtService;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
-
+    private final PasswordHashingService passwordHashingService;
+    private final KnownEmailFilter knownEmailFilter;
+    private final AccountStatusUserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+
+    /**
+     * Uniqueness is enforced by the constraints on users.email and users.username. Only an email the
+     * filter may already know is looked up first, to skip hashing for an obvious duplicate
+     */
     public UserDto registerUser(CreateUserRequest request) {
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
+        if (knownEmailFilter.mightContain(request.getEmail()) && userRepository.existsByEmail(request.getEmail())) {
+            throw new ConflictException(EMAIL_TAKEN);
+        }
 
-        // validate user does not exist already
-        userExist(request.getEmail(), request.getUsername());
+        String hashedPassword = passwordHashingService.encode(request.getPassword());
 
         User newUser = User.builder()
                 .email(request.getEmail())
@@ -34,21 +51,38 @@ public class UserService {
                 .password(hashedPassword)
                 .build();
 
-        userRepository.saveAndFlush(newUser);
+        try {
+            userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException ex) {
+            throw toConflict(ex, newUser);
+        }
+        knownEmailFilter.add(newUser.getEmail());
 
         return convertToDTO(newUser);
     }
 
+    /**
+     * Resolves the request principal through the natural-id cache and copies it into an immutable record
+     */
+    public AuthUser loadAuthUser(String email) {
+        return userRepository.loadByEmail(email)
+                .map(AuthUser::from)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+    }
+
+    /**
+     * Loads the user once and checks the password on the hashing pool. A hash made with an older
+     * strength is replaced in the background after a successful login
+     */
     public LoginResponse authenticate(LoginRequest request) {
-        User user = userRepository.findByEmail(request.getEmail())
+        User user = userRepository.loadByEmail(request.getEmail())
                 .orElseThrow(() -> new UnauthorizedException("Invalid user credential"));
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        accountStatusChecker.check(user);
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        rehashIfOutdated(user, request.getPassword());
 
         String token = jwtService.generateToken(user);
 
@@ -57,6 +91,15 @@ public class UserService {
                 .build();
     }
 
+    private void rehashIfOutdated(User user, String rawPassword) {
+        String oldHash = user.getPassword();
+        if (!passwordHashingService.needsRehash(oldHash)) {
+            return;
+        }
+        passwordHashingService.rehashInBackground(rawPassword, newHash -> WorkloadRoutingDataSource.callAs(Workload.AUTH,
+                () -> userRepository.updatePasswordHash(user.getId(), oldHash, newHash)));
+    }
+
     private UserDto convertToDTO(User user) {
         return UserDto.builder()
                 .userID(user.getId())
@@ -68,18 +111,30 @@ public class UserService {
                 .build();
     }
 
-    private void userExist(String userEmail, String username) {
-        Optional<User> email = userRepository.findByEmail(userEmail);
-
-        if (email.isPresent()) {
-            throw new ConflictException("user with email already exists");
+    /**
+     * Maps any unique violation on users to 409. Tables created before the named constraints may still
+     * carry generated ones, so an unrecognised name is resolved by looking the email up
+     */
+    private ConflictException toConflict(DataIntegrityViolationException ex, User user) {
+        if (!(ex.getCause() instanceof ConstraintViolationException violation) || !isUniqueViolation(violation)) {
+            throw ex;
         }
+        String constraint = String.valueOf(violation.getConstraintName()).toLowerCase(Locale.ROOT);
 
-        if (username == null) return;
-        Optional<User> name = userRepository.findByUsername(username);
-
-        if (name.isPresent()) {
-            throw new ConflictException("user with username already exists");
+        if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+            return new ConflictException(USERNAME_TAKEN);
         }
+        if (constraint.contains(User.EMAIL_CONSTRAINT)
+                || user.getName() == null
+                || userRepository.existsByEmail(user.getEmail())) {
+            return new ConflictException(EMAIL_TAKEN);
+        }
+        return new ConflictException(USERNAME_TAKEN);
+    }
+
+    private static boolean isUniqueViolation(ConstraintViolationException violation) {
+        return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE
+                || UNIQUE_VIOLATION_STATE.equals(violation.getSQLState())
+                || violation.getErrorCode() == MYSQL_DUPLICATE_ENTRY;
     }
 }
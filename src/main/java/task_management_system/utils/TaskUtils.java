@@ -6,12 +6,15 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import task_management_system.exception.BadRequestException;
 import task_management_system.exception.NotFoundException;
+import task_management_system.exception.PreconditionFailedException;
 import task_management_system.exception.UnauthorizedException;
 import task_management_system.task.dto.TaskDto;
+import task_management_system.task.entity.ArchivedTask;
 import task_management_system.task.entity.Task;
 import task_management_system.task.entity.TaskRole;
 import task_management_system.task.enums.RoleType;
 import task_management_system.task.repository.TaskRoleRepository;
+import task_management_system.user.dto.AuthUser;
 import task_management_system.user.entity.User;
 import task_management_system.user.repository.UserRepository;
 
@@ -29,11 +32,11 @@ public class TaskUtils {
     private final UserRepository userRepository;
     private final TaskRoleRepository taskRoleRepository;
 
-    public static User getAuthenticatedUser() {
+    public static AuthUser getAuthenticatedUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
-        if (auth != null && auth.getPrincipal() instanceof User) {
-            return (User) auth.getPrincipal();
+        if (auth != null && auth.getPrincipal() instanceof AuthUser authUser) {
+            return authUser;
         } throw new UnauthorizedException("user not authenticated");
     }
 
@@ -78,14 +81,59 @@ public class TaskUtils {
                         .orElse(Collections.emptySet()))
                 .created_by(task.getCreatedBy()
                         .getId())
+                .version(task.getVersion())
                 .build();
     }
 
+    public static TaskDto convertToDto(ArchivedTask task) {
+        return TaskDto.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .due_date(task.getDueDate())
+                .created_at(task.getCreatedAt())
+                .updated_at(task.getUpdatedAt())
+                .priority(task.getPriority())
+                .assigned_to(task.getAssignedTo())
+                .tags(Optional.ofNullable(task.getTags())
+                        .orElse(Collections.emptySet()))
+                .created_by(task.getCreatedBy()
+                        .getId())
+                .version(task.getVersion())
+                .build();
+    }
+
+    public static String toETag(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Extracts the task version from an If-Match header value, returns null when no precondition applies.
+     * If-Match uses strong comparison, so a weak validator never matches
+     */
+    public static Long parseETag(String eTag) {
+        if (eTag == null || eTag.isBlank() || eTag.trim().equals("*")) {
+            return null;
+        }
+
+        String value = eTag.trim();
+        if (value.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match requires a strong entity tag");
+        }
+
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match does not match the current task version");
+        }
+    }
+
     public User assignRole(String email, Task task, RoleType roleType) {
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.loadByEmail(email)
                 .orElseThrow(() -> new NotFoundException("user not found with email: " + email));
 
-        boolean roleExists = taskRoleRepository.existsByTaskAndUserAndRoleType(task, user, roleType);
+        boolean roleExists = taskRoleRepository.existsByTaskIdAndUserIdAndRoleType(task.getId(), user.getId(), roleType);
         if (!roleExists) {
             TaskRole role = TaskRole.builder()
                     .user(user)
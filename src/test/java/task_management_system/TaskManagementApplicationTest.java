@@ -1,12 +1,29 @@
 package task_management_system;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
 class TaskManagementApplicationTest {
 
+    @Autowired
+    private MockMvc mockMvc;
+
     @Test
     void contextLoads() {}
 
-}
\ No newline at end of file
+    @Test
+    void heavyHittersNotExposedByDefault() throws Exception {
+        mockMvc.perform(get("/actuator/heavyhitters")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/heavyhitters/ip")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/info")).andExpect(status().isOk());
+    }
+
+}
@@ -0,0 +1,93 @@
+package task_management_system.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import task_management_system.ratelimit.dto.RateLimitPolicy;
+import task_management_system.ratelimit.service.RateLimiter;
+import task_management_system.ratelimit.store.InMemoryRateLimitStore;
+import task_management_system.ratelimit.store.RateLimitStore;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulates a cluster on a virtual clock: several nodes share one in-memory store and receive
+ * a combined load of four times the limit. For each sync interval it logs how far admitted requests
+ * deviate from the global limit and how many store round trips that costs.
+ * Run with mvn test -Pbenchmark -Dtest=ClusterRateLimitBenchmarkTest
+ */
+@Slf4j
+@Tag("benchmark")
+class ClusterRateLimitBenchmarkTest {
+
+    private static final int NODES = 4;
+    private static final int KEYS = 50;
+    private static final long SIMULATED_MILLIS = 60_000;
+    private static final long[] SYNC_INTERVALS = {10, 50, 100, 250, 500, 1_000};
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("bench", 100, Duration.ofSeconds(1));
+
+    @Test
+    void accuracyVersusSyncInterval() {
+        long ideal = KEYS * (policy.capacity() + policy.capacity() * SIMULATED_MILLIS / policy.period().toMillis());
+        log.info("[cluster] nodes={} keys={} ideal admitted={}", NODES, KEYS, ideal);
+
+        report("per node only", ideal, simulate(0));
+        for (long interval : SYNC_INTERVALS) {
+            report("sync " + interval + "ms", ideal, simulate(interval));
+        }
+    }
+
+    private long[] simulate(long syncInterval) {
+        AtomicLong clock = new AtomicLong();
+        InMemoryRateLimitStore shared = new InMemoryRateLimitStore(clock::get);
+        AtomicLong roundTrips = new AtomicLong();
+        AtomicLong bucketsSent = new AtomicLong();
+        RateLimitStore counting = syncs -> {
+            roundTrips.incrementAndGet();
+            bucketsSent.addAndGet(syncs.size());
+            return shared.reconcile(syncs);
+        };
+
+        RateLimiter[] nodes = new RateLimiter[NODES];
+        for (int i = 0; i < NODES; i++) {
+            nodes[i] = new RateLimiter(10_000, Duration.ofMinutes(5), clock::get,
+                    syncInterval > 0 ? counting : null, 500, 0.25);
+        }
+
+        // each key receives 4x its limit, spread evenly over nodes by a round-robin balancer
+        Random random = new Random(42);
+        double perMillisPerKey = 4.0 * policy.capacity() / policy.period().toMillis();
+        long admitted = 0;
+        int next = 0;
+
+        for (long now = 0; now < SIMULATED_MILLIS; now++) {
+            clock.set(now);
+            for (int key = 0; key < KEYS; key++) {
+                if (random.nextDouble() < perMillisPerKey) {
+                    if (nodes[next].tryAcquire(policy, "client-" + key).allowed()) {
+                        admitted++;
+                    }
+                    next = (next + 1) % NODES;
+                }
+            }
+            if (syncInterval > 0 && now % syncInterval == 0) {
+                for (RateLimiter node : nodes) {
+                    node.sync();
+                }
+            }
+        }
+        return new long[]{admitted, roundTrips.get(), bucketsSent.get()};
+    }
+
+    private void report(String mode, long ideal, long[] result) {
+        double seconds = SIMULATED_MILLIS / 1000.0;
+        log.info("[cluster] {} admitted={} deviation={}% store round trips/s={} buckets/round trip={}",
+                mode, result[0],
+                String.format("%.1f", 100.0 * (result[0] - ideal) / ideal),
+                String.format("%.1f", result[1] / seconds),
+                result[1] == 0 ? 0 : result[2] / result[1]);
+    }
+}
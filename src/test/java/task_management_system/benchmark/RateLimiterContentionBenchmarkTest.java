@@ -0,0 +1,87 @@
+package task_management_system.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import task_management_system.ratelimit.dto.RateLimitPolicy;
+import task_management_system.ratelimit.service.RateLimiter;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures limiter throughput as threads contend on one hot key and spread over many keys.
+ * Run with mvn test -Pbenchmark -Dtest=RateLimiterContentionBenchmarkTest
+ */
+@Slf4j
+@Tag("benchmark")
+class RateLimiterContentionBenchmarkTest {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16};
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURE_MILLIS = 3_000;
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("bench", 1_000, Duration.ofSeconds(1));
+
+    @Test
+    void hotKey() throws Exception {
+        for (int threads : THREADS) {
+            report("hot key", threads, measure(threads, 1));
+        }
+    }
+
+    @Test
+    void spreadKeys() throws Exception {
+        for (int threads : THREADS) {
+            report("10k keys", threads, measure(threads, 10_000));
+        }
+    }
+
+    private double measure(int threads, int keys) throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(100_000, Duration.ofMinutes(1), () -> System.nanoTime() / 1_000_000);
+        String[] keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = "client-" + i;
+        }
+
+        LongAdder operations = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        long warmupEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WARMUP_MILLIS);
+        long measureEnd = warmupEnd + TimeUnit.MILLISECONDS.toNanos(MEASURE_MILLIS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            int offset = thread;
+            executor.execute(() -> {
+                long count = 0;
+                int i = offset;
+                while (true) {
+                    long now = System.nanoTime();
+                    if (now >= measureEnd) {
+                        break;
+                    }
+                    rateLimiter.tryAcquire(policy, keyNames[i++ % keys]);
+                    if (now >= warmupEnd) {
+                        count++;
+                    }
+                }
+                operations.add(count);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(WARMUP_MILLIS + MEASURE_MILLIS + 10_000, TimeUnit.MILLISECONDS));
+        executor.shutdown();
+        return operations.sum() * 1000.0 / MEASURE_MILLIS;
+    }
+
+    private void report(String scenario, int threads, double opsPerSecond) {
+        log.info("[{}] threads={} throughput={} ops/s", scenario, threads, String.format("%.0f", opsPerSecond));
+    }
+}
@@ -0,0 +1,168 @@
+package task_management_system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import task_management_system.config.RateLimitFilter;
+import task_management_system.user.dto.LoginResponse;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives GET /api/v1/tasks, which blocks on JDBC for the JWT user lookup and the page query, with an
+ * increasing number of concurrent clients. Run once per thread mode and compare the logged results:
+ * <pre>
+ * mvn test -Pbenchmark
+ * mvn test -Pbenchmark,virtual-threads
+ * </pre>
+ * Client counts and requests per client are set with -Dbenchmark.clients and -Dbenchmark.requests-per-client
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "outbox.relay.enabled=false",
+        "task.purge.enabled=false",
+        "task.archive.enabled=false"
+})
+class RequestThreadBenchmarkTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${seed.password:password}")
+    private String password;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${benchmark.clients:1000,2500,5000,10000}")
+    private String clientCounts;
+
+    @Value("${benchmark.requests-per-client:5}")
+    private int requestsPerClient;
+
+    private record Result(int clients, int requests, int failures, double throughput, long p50Millis, long p99Millis) {}
+
+    @TestConfiguration
+    static class BenchmarkConfig {
+
+        // the per-IP limit would reject nearly every request from a single load generator
+        @Bean
+        FilterRegistrationBean<RateLimitFilter> disableRateLimitFilter(RateLimitFilter filter) {
+            FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+            registration.setEnabled(false);
+            return registration;
+        }
+    }
+
+    @Test
+    void listTasksUnderConcurrentClients() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        String token = login(client);
+
+        String mode = virtualThreads ? "virtual" : "platform";
+        for (int clients : Arrays.stream(clientCounts.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray()) {
+            Result result = run(client, token, clients);
+            log.info("[{} threads] clients={} requests={} failures={} throughput={} req/s p50={}ms p99={}ms",
+                    mode, result.clients(), result.requests(), result.failures(),
+                    String.format("%.0f", result.throughput()), result.p50Millis(), result.p99Millis());
+
+            assertTrue(result.failures() < result.requests(), "every request failed at " + clients + " clients");
+        }
+    }
+
+    private Result run(HttpClient client, String token, int clients) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/v1/tasks?limit=20"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        int total = clients * requestsPerClient;
+        long[] latencies = new long[total];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> runs = IntStream.range(0, clients)
+                .mapToObj(i -> clientLoop(client, request, requestsPerClient, latencies, recorded, failures))
+                .toList();
+        CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).get(10, TimeUnit.MINUTES);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = Arrays.copyOf(latencies, recorded.get());
+        Arrays.sort(sorted);
+        return new Result(clients, total, failures.get(), total / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    /**
+     * One client sends its requests back to back, so the number of requests in flight equals the client count
+     */
+    private CompletableFuture<Void> clientLoop(HttpClient client, HttpRequest request, int remaining,
+                                               long[] latencies, AtomicInteger recorded, AtomicInteger failures) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, ex) -> {
+                    latencies[recorded.getAndIncrement()] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                    if (ex != null || response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> clientLoop(client, request, remaining - 1, latencies, recorded, failures));
+    }
+
+    private String login(HttpClient client) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("email", "random@email.com", "password", password));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/v1/users/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readValue(response.body(), LoginResponse.class).accessToken();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,166 @@
+package task_management_system.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import task_management_system.task.entity.Task;
+import task_management_system.task.enums.TaskPriority;
+import task_management_system.task.enums.TaskStatus;
+import task_management_system.task.repository.TaskRepository;
+import task_management_system.task.service.TagDictionary;
+import task_management_system.user.entity.User;
+import task_management_system.user.repository.UserRepository;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Changes the status of one task while a page of tasks is managed, then logs the CPU the flush took and
+ * the columns and bytes its UPDATE wrote:
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=TaskFlushBenchmarkTest
+ * </pre>
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase
+@Import(TagDictionary.class)
+class TaskFlushBenchmarkTest {
+
+    private static final int MANAGED_TASKS = 500;
+    private static final int DESCRIPTION_BYTES = 255;
+    private static final int WARMUP_FLUSHES = 500;
+    private static final int MEASURED_FLUSHES = 2_000;
+
+    private static final List<String> updates = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class CaptureUpdates {
+        @Bean
+        HibernatePropertiesCustomizer updateCapture() {
+            StatementInspector inspector = sql -> {
+                if (sql.regionMatches(true, 0, "update tasks ", 0, 13)) {
+                    updates.add(sql);
+                }
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setup() {
+        User user = userRepository.save(User.builder().email("flush@bench.com").password("password").build());
+        String description = "d".repeat(DESCRIPTION_BYTES);
+        tagDictionary.resolve(Set.of("bench"));
+
+        taskRepository.saveAllAndFlush(IntStream.range(0, MANAGED_TASKS)
+                .mapToObj(i -> Task.builder()
+                        .title("Task " + i)
+                        .description(description)
+                        .dueDate(LocalDateTime.now())
+                        .createdBy(user)
+                        .status(TaskStatus.PENDING)
+                        .priority(TaskPriority.LOW)
+                        .tags(Set.of("bench"))
+                        .build())
+                .toList());
+        entityManager.clear();
+
+        tasks = taskRepository.findAll();
+        updates.clear();
+    }
+
+    @Test
+    void statusUpdate() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long cpuNanos = 0;
+
+        for (int i = 0; i < WARMUP_FLUSHES + MEASURED_FLUSHES; i++) {
+            Task task = tasks.get(i % MANAGED_TASKS);
+            task.setStatus(task.getStatus() == TaskStatus.PENDING ? TaskStatus.COMPLETED : TaskStatus.PENDING);
+
+            long start = threads.getCurrentThreadCpuTime();
+            entityManager.flush();
+            if (i >= WARMUP_FLUSHES) {
+                cpuNanos += threads.getCurrentThreadCpuTime() - start;
+            }
+        }
+
+        String update = updates.get(updates.size() - 1);
+        List<String> columns = setColumns(update);
+        Task task = tasks.get(0);
+
+        log.info("[status update] managed={} flush cpu={} us columns={} bytes={} of {}",
+                MANAGED_TASKS,
+                String.format("%.1f", cpuNanos / 1_000.0 / MEASURED_FLUSHES),
+                columns,
+                boundBytes(task, columns),
+                boundBytes(task, List.of("title", "description", "due_date", "status", "priority", "assigned_to",
+                        "updated_at", "deleted_at", "version")));
+
+        assertTrue(columns.contains("status"));
+        assertFalse(columns.contains("description"));
+    }
+
+    private static List<String> setColumns(String update) {
+        String lower = update.toLowerCase();
+        String assignments = lower.substring(lower.indexOf(" set ") + 5, lower.indexOf(" where "));
+        return Arrays.stream(assignments.split(","))
+                .map(assignment -> assignment.substring(0, assignment.indexOf('=')).trim())
+                .toList();
+    }
+
+    /**
+     * Approximate size of the values bound for the columns: UTF-8 length for text, 8 bytes otherwise
+     */
+    private static int boundBytes(Task task, List<String> columns) {
+        return columns.stream()
+                .mapToInt(column -> switch (column) {
+                    case "title" -> utf8(task.getTitle());
+                    case "description" -> utf8(task.getDescription());
+                    case "assigned_to" -> utf8(task.getAssignedTo());
+                    case "status" -> utf8(task.getStatus().name());
+                    case "priority" -> utf8(task.getPriority().name());
+                    default -> 8;
+                })
+                .sum();
+    }
+
+    private static int utf8(String value) {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,109 @@
+package task_management_system.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import task_management_system.config.TimeOrderedUuidGenerator;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Inserts the same rows keyed by random version 4 and by time-ordered version 7 UUIDs stored as
+ * BINARY(16), and logs the throughput of every tenth of the run so the slowdown as the primary key
+ * outgrows memory shows up. Defaults to 10M rows in a file-backed H2 database; point it at MySQL with:
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=UuidInsertBenchmarkTest \
+ *     -Dbenchmark.jdbc-url=jdbc:mysql://localhost:3306/bench -Dbenchmark.jdbc-user=root -Dbenchmark.jdbc-password=...
+ * </pre>
+ * The row count and batch size are set with -Dbenchmark.rows and -Dbenchmark.batch-size
+ */
+@Slf4j
+@Tag("benchmark")
+class UuidInsertBenchmarkTest {
+
+    private static final int WINDOWS = 10;
+
+    private final String url = System.getProperty("benchmark.jdbc-url", "jdbc:h2:file:./target/uuid-bench");
+    private final String user = System.getProperty("benchmark.jdbc-user", "sa");
+    private final String password = System.getProperty("benchmark.jdbc-password", "");
+    private final long rows = Long.getLong("benchmark.rows", 10_000_000);
+    private final int batchSize = Integer.getInteger("benchmark.batch-size", 1_000);
+
+    @Test
+    void randomV4() throws SQLException {
+        insert("uuid_bench_v4", UUID::randomUUID);
+    }
+
+    @Test
+    void timeOrderedV7() throws SQLException {
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+        insert("uuid_bench_v7", generator::next);
+    }
+
+    private void insert(String table, Supplier<UUID> ids) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+                statement.execute("CREATE TABLE " + table + " (id BINARY(16) NOT NULL PRIMARY KEY, " +
+                        "title VARCHAR(255) NOT NULL, created_at TIMESTAMP NOT NULL)");
+            }
+            connection.setAutoCommit(false);
+
+            long window = Math.max(rows / WINDOWS, batchSize);
+            long windowStart = System.nanoTime();
+            long runStart = windowStart;
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + table + " (id, title, created_at) VALUES (?, ?, ?)")) {
+                for (long row = 1; row <= rows; row++) {
+                    insert.setBytes(1, toBytes(ids.get()));
+                    insert.setString(2, "Task " + row);
+                    insert.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+                    insert.addBatch();
+
+                    if (row % batchSize == 0 || row == rows) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                    if (row % window == 0) {
+                        long now = System.nanoTime();
+                        report(table, "rows " + (row - window + 1) + "-" + row, window, now - windowStart);
+                        windowStart = now;
+                    }
+                }
+            }
+            report(table, "total", rows, System.nanoTime() - runStart);
+
+            try (Statement statement = connection.createStatement();
+                 ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                count.next();
+                assertEquals(rows, count.getLong(1));
+            }
+        }
+    }
+
+    /**
+     * Same layout Hibernate binds a UUID in on MySQL: most significant bits first
+     */
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private void report(String table, String range, long inserted, long nanos) {
+        log.info("[{}] {} throughput={} rows/s", table, range, String.format("%.0f", inserted * 1e9 / nanos));
+    }
+}
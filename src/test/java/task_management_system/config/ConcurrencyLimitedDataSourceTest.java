@@ -0,0 +1,59 @@
+package task_management_system.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    private DataSource target;
+    private ConcurrencyLimitedDataSource underTest;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        underTest = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("should time out when every permit is held")
+    void timesOutWhenExhausted() throws SQLException {
+        underTest.getConnection();
+        underTest.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, underTest::getConnection);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("should give the permit back once when a connection is closed")
+    void releasesOnClose() throws SQLException {
+        Connection connection = underTest.getConnection();
+        assertEquals(1, underTest.availablePermits());
+
+        connection.close();
+        connection.close();
+
+        assertEquals(2, underTest.availablePermits());
+    }
+
+    @Test
+    @DisplayName("should give the permit back when the pool fails to hand out a connection")
+    void releasesOnFailure() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool closed"));
+
+        assertThrows(SQLException.class, underTest::getConnection);
+        assertEquals(2, underTest.availablePermits());
+    }
+}
@@ -0,0 +1,31 @@
+package task_management_system.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=info,heavyhitters",
+        "rate-limit.heavy-hitters.operators=ops@example.com"
+})
+@AutoConfigureMockMvc
+class HeavyHitterEndpointSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void heavyHittersRequireAnOperator() throws Exception {
+        mockMvc.perform(get("/actuator/heavyhitters")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/heavyhitters/ip").with(user("someone@example.com")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/heavyhitters").with(user("ops@example.com"))).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/heavyhitters/ip").with(user("ops@example.com"))).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,89 @@
+package task_management_system.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import task_management_system.loadshed.config.LoadShedProperties;
+import task_management_system.loadshed.enums.RequestClass;
+import task_management_system.loadshed.service.AdaptiveConcurrencyLimiter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LoadShedFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private LoadShedFilter loadShedFilter;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private FilterChain filterChain;
+    private StringWriter responseWriter;
+
+    @BeforeEach
+    void setup() throws IOException {
+        LoadShedProperties properties = new LoadShedProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(1);
+        limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+        loadShedFilter = new LoadShedFilter(limiter, properties);
+
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        filterChain = mock(FilterChain.class);
+
+        when(request.getRequestURI()).thenReturn("/api/v1/tasks");
+        when(request.getMethod()).thenReturn("GET");
+        when(response.getStatus()).thenReturn(200);
+
+        responseWriter = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(responseWriter));
+    }
+
+    @Test
+    void testLoadShed_rejectsQueriesOverTheLimitWith503() throws ServletException, IOException {
+        limiter.tryAcquire(RequestClass.QUERY);
+        limiter.tryAcquire(RequestClass.QUERY);
+        limiter.tryAcquire(RequestClass.QUERY);
+
+        loadShedFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain, never()).doFilter(any(), any());
+        verify(response).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        verify(response).setHeader("Retry-After", "1");
+        assertTrue(responseWriter.toString().contains("Server is busy"));
+
+        when(request.getMethod()).thenReturn("PUT");
+        loadShedFilter.doFilter(request, response, filterChain);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void testLoadShed_releasesPermitWhenChainFails() throws ServletException, IOException {
+        doThrow(new ServletException("boom")).when(filterChain).doFilter(request, response);
+
+        assertThrows(ServletException.class, () -> loadShedFilter.doFilter(request, response, filterChain));
+        assertEquals(0, limiter.inFlight());
+        assertEquals(3, limiter.limit());
+    }
+
+    @Test
+    void testLoadShed_skipsStreamsAndOtherPaths() throws ServletException, IOException {
+        when(request.getRequestURI()).thenReturn("/api/v1/tasks/stream", "/api/v1/users/login");
+
+        loadShedFilter.doFilter(request, response, filterChain);
+        loadShedFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain, times(2)).doFilter(request, response);
+        assertEquals(0, limiter.inFlight());
+    }
+}
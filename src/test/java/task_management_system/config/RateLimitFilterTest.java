@@ -6,14 +6,27 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import task_management_system.ratelimit.config.RateLimitProperties;
+import task_management_system.ratelimit.dto.HeavyHitter;
+import task_management_system.ratelimit.enums.RateLimitScope;
+import task_management_system.ratelimit.enums.TrafficDimension;
+import task_management_system.ratelimit.service.HeavyHitterTracker;
+import task_management_system.ratelimit.service.RateLimiter;
+import task_management_system.user.dto.AuthUser;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -31,7 +44,8 @@ class RateLimitFilterTest {
 
     @BeforeEach
     void setup() throws IOException {
-        rateLimitFilter = new RateLimitFilter();
+        RateLimitProperties properties = new RateLimitProperties();
+        rateLimitFilter = new RateLimitFilter(new RateLimiter(properties), properties);
         request = mock(HttpServletRequest.class);
         response = mock(HttpServletResponse.class);
         filterChain = mock(FilterChain.class);
@@ -84,4 +98,102 @@ class RateLimitFilterTest {
         responseWriter.flush();
         assertTrue(responseWriter.toString().contains("Too many requests"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRateLimiter_setsRateLimitAndRetryAfterHeaders() throws ServletException, IOException {
+        for (int i = 0; i < 51; i++) {
+            rateLimitFilter.doFilter(request, response, filterChain);
+        }
+
+        verify(response).setHeader("RateLimit-Remaining", "49");
+        verify(response, atLeastOnce()).setHeader("RateLimit-Limit", "50");
+        verify(response, atLeastOnce()).setHeader("RateLimit-Policy", "50;w=60");
+        verify(response).setHeader(eq("Retry-After"), argThat(seconds -> Integer.parseInt(seconds) >= 1));
+    }
+
+    @Test
+    void testRateLimiter_appliesFirstMatchingRoutePolicyPerUser() throws ServletException, IOException {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern("/api/v1/tasks/**");
+        route.setMethod("PUT");
+        route.setPer(RateLimitScope.USER);
+        route.setCapacity(2);
+        route.setPeriod(Duration.ofMinutes(1));
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(route));
+        rateLimitFilter = new RateLimitFilter(new RateLimiter(properties), properties);
+
+        when(request.getRequestURI()).thenReturn("/api/v1/tasks/bulk");
+        when(request.getMethod()).thenReturn("PUT");
+
+        AuthUser user = new AuthUser(UUID.randomUUID(), "user@email.com", null);
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+        for (int i = 0; i < 3; i++) {
+            rateLimitFilter.doFilter(request, response, filterChain);
+        }
+        verify(filterChain, times(2)).doFilter(request, response);
+        verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        when(request.getMethod()).thenReturn("GET");
+        rateLimitFilter.doFilter(request, response, filterChain);
+        verify(filterChain, times(3)).doFilter(request, response);
+    }
+
+    @Test
+    void testRateLimiter_limitsAuthenticatedUserAcrossAddresses() throws ServletException, IOException {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setUser(new RateLimitProperties.Limit(3, Duration.ofMinutes(1)));
+        rateLimitFilter = new RateLimitFilter(new RateLimiter(properties), properties);
+
+        AuthUser user = new AuthUser(UUID.randomUUID(), "user@email.com", null);
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+        when(request.getRemoteAddr()).thenReturn("10.0.0.1", "10.0.0.2", "10.0.0.3", "10.0.0.4");
+        for (int i = 0; i < 4; i++) {
+            rateLimitFilter.doFilter(request, response, filterChain);
+        }
+
+        verify(filterChain, times(3)).doFilter(request, response);
+        verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void testRateLimiter_limitsOnlyHeavyClientsWhenConfigured() throws ServletException, IOException {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIp(new RateLimitProperties.Limit(5, Duration.ofMinutes(1)));
+        properties.getHeavyHitters().setMinRequests(20);
+        properties.getHeavyHitters().setThrottleHeavyOnly(true);
+
+        RateLimiter rateLimiter = new RateLimiter(properties);
+        HeavyHitterTracker tracker = new HeavyHitterTracker(properties.getHeavyHitters(), () -> 0L);
+        rateLimitFilter = new RateLimitFilter(rateLimiter, tracker, properties);
+
+        when(request.getRequestURI()).thenReturn("/api/v1/tasks/" + UUID.randomUUID());
+        when(request.getMethod()).thenReturn("GET");
+
+        for (int i = 0; i < 20; i++) {
+            rateLimitFilter.doFilter(request, response, filterChain);
+        }
+        verify(filterChain, times(20)).doFilter(request, response);
+        assertEquals(0, rateLimiter.size());
+
+        for (int i = 0; i < 6; i++) {
+            rateLimitFilter.doFilter(request, response, filterChain);
+        }
+        verify(filterChain, times(25)).doFilter(request, response);
+        verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertEquals(1, rateLimiter.size());
+
+        assertEquals(List.of(new HeavyHitter("GET /api/v1/tasks/{id}", 26, 0)),
+                tracker.topTalkers(TrafficDimension.ROUTE).current());
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+}
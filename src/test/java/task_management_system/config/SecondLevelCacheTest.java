@@ -0,0 +1,124 @@
+package task_management_system.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import task_management_system.task.entity.Task;
+import task_management_system.task.entity.TaskRole;
+import task_management_system.task.enums.RoleType;
+import task_management_system.task.enums.TaskPriority;
+import task_management_system.task.enums.TaskStatus;
+import task_management_system.task.repository.TaskRepository;
+import task_management_system.task.repository.TaskRoleRepository;
+import task_management_system.task.service.TagDictionary;
+import task_management_system.user.entity.User;
+import task_management_system.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside a test transaction so entities reach the second-level cache on commit
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase
+@Import(TagDictionary.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskRoleRepository taskRoleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TagDictionary tagDictionary;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User creator;
+    private User collaborator;
+    private Task task;
+
+    @BeforeEach
+    void setup() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+
+        creator = userRepository.save(User.builder().email("creator@cache.com").password("password").build());
+        collaborator = userRepository.save(User.builder().email("collaborator@cache.com").password("password").build());
+        task = taskRepository.save(Task.builder()
+                .title("Cached task")
+                .description("Task description")
+                .dueDate(LocalDateTime.now())
+                .createdBy(creator)
+                .status(TaskStatus.PENDING)
+                .priority(TaskPriority.LOW)
+                .tags(tagDictionary.resolve(Set.of("cache")))
+                .build());
+
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskRoleRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("a repeated email lookup is served from the natural id and entity regions")
+    void loadByEmail() {
+        userRepository.loadByEmail(creator.getEmail()).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        User cached = userRepository.loadByEmail(creator.getEmail()).orElseThrow();
+
+        assertEquals(creator.getId(), cached.getId());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("a repeated role check reads the database again")
+    void roleCheck() {
+        assertTrue(taskRoleRepository.existsByTaskIdAndUserId(task.getId(), creator.getId()));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertTrue(taskRoleRepository.existsByTaskIdAndUserId(task.getId(), creator.getId()));
+
+        assertEquals(statements + 1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getQueryCachePutCount());
+    }
+
+    @Test
+    @DisplayName("a new role is seen by the next role check")
+    void roleCheckAfterShare() {
+        assertFalse(taskRoleRepository.existsByTaskIdAndUserId(task.getId(), collaborator.getId()));
+
+        taskRoleRepository.save(TaskRole.builder()
+                .task(task)
+                .user(collaborator)
+                .roleType(RoleType.ASSIGNEE)
+                .build());
+
+        assertTrue(taskRoleRepository.existsByTaskIdAndUserId(task.getId(), collaborator.getId()));
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+}
@@ -0,0 +1,63 @@
+package task_management_system.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    private final AtomicLong clock = new AtomicLong(1_760_000_000_000L);
+    private final TimeOrderedUuidGenerator underTest = new TimeOrderedUuidGenerator(clock::get);
+
+    @Test
+    @DisplayName("should generate version 7 ids carrying the millisecond they were created in")
+    void versionAndTimestamp() {
+        UUID id = underTest.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(clock.get(), id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    @DisplayName("should keep ids in byte order within and across milliseconds")
+    void ordered() {
+        UUID previous = underTest.next();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 1_000 == 0) {
+                clock.incrementAndGet();
+            }
+            UUID next = underTest.next();
+
+            assertTrue(next.toString().compareTo(previous.toString()) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("should stay ordered when more ids are needed in a millisecond than the counter holds")
+    void counterOverflow() {
+        UUID previous = underTest.next();
+        for (int i = 0; i < 5_000; i++) {
+            UUID next = underTest.next();
+
+            assertEquals(7, next.version());
+            assertTrue(next.toString().compareTo(previous.toString()) > 0);
+            previous = next;
+        }
+        assertTrue(previous.getMostSignificantBits() >>> 16 > clock.get());
+    }
+
+    @Test
+    @DisplayName("should not go backwards when the clock does")
+    void clockMovesBack() {
+        UUID before = underTest.next();
+        clock.addAndGet(-1_000);
+
+        assertTrue(underTest.next().toString().compareTo(before.toString()) > 0);
+    }
+}
@@ -0,0 +1,92 @@
+package task_management_system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import task_management_system.task.repository.TaskRoleRepository;
+import task_management_system.user.entity.User;
+import task_management_system.user.repository.UserRepository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A request that checks a role and then writes, like sharing a task, must take the write from the
+ * write pool. With a session held open for the whole request the write would reuse the read connection.
+ * Borrows are recorded per thread so background jobs don't show up
+ */
+@SpringBootTest
+class WorkloadPoolSelectionTest {
+
+    private static final ThreadLocal<List<String>> borrowed = ThreadLocal.withInitial(ArrayList::new);
+
+    @TestConfiguration
+    static class RecordBorrows {
+        @Bean
+        static BeanPostProcessor borrowRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof HikariDataSource pool)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(pool) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            borrowed.get().add(pool.getPoolName());
+                            return super.getConnection();
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private TaskRoleRepository taskRoleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() {
+        borrowed.get().clear();
+    }
+
+    @Test
+    void writeAfterReadOnlyCheckUsesWritePool() {
+        assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        assertEquals(Boolean.FALSE, readOnly.execute(status ->
+                taskRoleRepository.existsByTaskIdAndUserId(UUID.randomUUID(), UUID.randomUUID())));
+        assertEquals(List.of("read"), borrowed.get());
+
+        User user = new TransactionTemplate(transactionManager).execute(status -> userRepository.saveAndFlush(User.builder()
+                .email("pool-" + UUID.randomUUID() + "@routing.com")
+                .password("password")
+                .build()));
+        assertEquals(List.of("read", "write"), borrowed.get());
+
+        userRepository.deleteById(user.getId());
+    }
+}
@@ -0,0 +1,68 @@
+package task_management_system.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WorkloadRoutingDataSourceTest {
+
+    private final DataSource authPool = mock(DataSource.class);
+    private final DataSource readPool = mock(DataSource.class);
+    private final DataSource writePool = mock(DataSource.class);
+    private WorkloadRoutingDataSource underTest;
+
+    @BeforeEach
+    void setup() {
+        underTest = new WorkloadRoutingDataSource(Map.of(
+                Workload.AUTH, authPool,
+                Workload.READ, readPool,
+                Workload.WRITE, writePool
+        ));
+        underTest.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("should send read-only transactions to the read pool and other work to the write pool")
+    void routesByTransactionType() throws SQLException {
+        underTest.getConnection();
+        verify(writePool).getConnection();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        underTest.getConnection();
+        verify(readPool).getConnection();
+    }
+
+    @Test
+    @DisplayName("should prefer a bound workload and restore the outer one afterwards")
+    void routesByBoundWorkload() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        WorkloadRoutingDataSource.callAs(Workload.AUTH, () -> {
+            assertEquals(Workload.WRITE, WorkloadRoutingDataSource.callAs(Workload.WRITE,
+                    WorkloadRoutingDataSource::currentWorkload));
+            try {
+                return underTest.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        verify(authPool).getConnection();
+        assertEquals(Workload.READ, WorkloadRoutingDataSource.currentWorkload());
+        verifyNoInteractions(readPool, writePool);
+    }
+}
@@ -0,0 +1,157 @@
+package task_management_system.idempotency.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import task_management_system.dto.CustomResponse;
+import task_management_system.exception.UnprocessableEntityException;
+import task_management_system.idempotency.dto.StoredResponse;
+import task_management_system.idempotency.store.IdempotencyStore;
+import task_management_system.task.dto.ShareRequest;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyService underTest;
+    private UUID userID;
+    private ShareRequest request;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setup() {
+        underTest = new IdempotencyService(new ObjectMapper(),
+                new StaticListableBeanFactory().getBeanProvider(IdempotencyStore.class), 1, 100, 5000, 5000);
+        userID = UUID.randomUUID();
+        request = ShareRequest.builder().email("user@email.com").build();
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("should replay the stored response without running the action again")
+    void replayStoredResponse() {
+        CustomResponse first = underTest.execute("key-1", userID, "share", request, CustomResponse.class, this::share);
+        CustomResponse second = underTest.execute("key-1", userID, "share", request, CustomResponse.class, this::share);
+
+        assertEquals(first, second);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("should run the action every time without a key")
+    void withoutKey() {
+        underTest.execute(null, userID, "share", request, CustomResponse.class, this::share);
+        underTest.execute(" ", userID, "share", request, CustomResponse.class, this::share);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("should reject a key reused for a different request")
+    void keyReusedForDifferentRequest() {
+        underTest.execute("key-1", userID, "share", request, CustomResponse.class, this::share);
+        ShareRequest other = ShareRequest.builder().email("other@email.com").build();
+
+        assertThrows(UnprocessableEntityException.class,
+                () -> underTest.execute("key-1", userID, "share", other, CustomResponse.class, this::share));
+    }
+
+    @Test
+    @DisplayName("should scope keys to the user")
+    void keysScopedToUser() {
+        underTest.execute("key-1", userID, "share", request, CustomResponse.class, this::share);
+        underTest.execute("key-1", UUID.randomUUID(), "share", request, CustomResponse.class, this::share);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("should not record failed attempts")
+    void failedAttemptNotRecorded() {
+        assertThrows(IllegalStateException.class, () -> underTest.execute("key-1", userID, "share", request,
+                CustomResponse.class, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        underTest.execute("key-1", userID, "share", request, CustomResponse.class, this::share);
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("should make concurrent duplicates wait for the first attempt")
+    void concurrentDuplicatesWait() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<CustomResponse> first = executor.submit(() -> underTest.execute("key-1", userID, "share", request,
+                    CustomResponse.class, () -> {
+                        started.countDown();
+                        await(release);
+                        return share();
+                    }));
+            started.await();
+            Future<CustomResponse> duplicate = executor.submit(() -> underTest.execute("key-1", userID, "share", request,
+                    CustomResponse.class, this::share));
+
+            assertThrows(TimeoutException.class, () -> duplicate.get(200, TimeUnit.MILLISECONDS));
+            release.countDown();
+
+            assertEquals(first.get(2, TimeUnit.SECONDS), duplicate.get(2, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should release the shared lock only with the token it was taken with")
+    void sharedLockToken() {
+        IdempotencyStore store = mock(IdempotencyStore.class);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("store", store);
+        IdempotencyService shared = new IdempotencyService(new ObjectMapper(),
+                beans.getBeanProvider(IdempotencyStore.class), 1, 100, 5000, 5000);
+        when(store.find(anyString())).thenReturn(Optional.empty());
+        when(store.tryLock(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> shared.execute("key-1", userID, "share", request,
+                CustomResponse.class, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+        shared.execute("key-1", userID, "share", request, CustomResponse.class, this::share);
+
+        ArgumentCaptor<String> tokens = ArgumentCaptor.forClass(String.class);
+        verify(store, times(2)).tryLock(anyString(), tokens.capture(), any(Duration.class));
+        verify(store).unlock(anyString(), eq(tokens.getAllValues().get(0)));
+        verify(store).save(anyString(), eq(tokens.getAllValues().get(1)), any(StoredResponse.class), any(Duration.class));
+        assertNotEquals(tokens.getAllValues().get(0), tokens.getAllValues().get(1));
+    }
+
+    private CustomResponse share() {
+        return new CustomResponse("success", "shared " + executions.incrementAndGet());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
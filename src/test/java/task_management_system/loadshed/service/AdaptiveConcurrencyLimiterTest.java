@@ -0,0 +1,99 @@
+package task_management_system.loadshed.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import task_management_system.loadshed.config.LoadShedProperties;
+import task_management_system.loadshed.enums.RequestClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private LoadShedProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setup() {
+        properties = new LoadShedProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(100);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+    }
+
+    @Test
+    @DisplayName("should keep part of the limit free for writes")
+    void writesHavePriority() {
+        AdaptiveConcurrencyLimiter underTest = limiter();
+
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = underTest.tryAcquire(RequestClass.QUERY)) != null) {
+            permits.add(permit);
+        }
+
+        assertEquals(8, permits.size());
+        assertNotNull(underTest.tryAcquire(RequestClass.WRITE));
+        assertNotNull(underTest.tryAcquire(RequestClass.WRITE));
+        assertNull(underTest.tryAcquire(RequestClass.WRITE));
+        assertEquals(1, meterRegistry.get("load.shed.rejected").tag("class", "query").counter().count());
+        assertEquals(1, meterRegistry.get("load.shed.rejected").tag("class", "write").counter().count());
+    }
+
+    @Test
+    @DisplayName("should grow the limit while latency holds and shrink it once requests queue")
+    void followsLatency() {
+        AdaptiveConcurrencyLimiter underTest = limiter();
+
+        for (int round = 0; round < 20; round++) {
+            runFullLoad(underTest, 10);
+        }
+        int grown = underTest.limit();
+        assertTrue(grown > 10, "limit " + grown);
+
+        for (int round = 0; round < 20; round++) {
+            runFullLoad(underTest, 40);
+        }
+        assertTrue(underTest.limit() < grown, "limit " + underTest.limit());
+        assertEquals(underTest.limit(), (int) meterRegistry.get("load.shed.limit").gauge().value());
+    }
+
+    @Test
+    @DisplayName("should back off when requests fail and stay within bounds")
+    void backsOffOnDrops() {
+        AdaptiveConcurrencyLimiter underTest = limiter();
+
+        for (int i = 0; i < 50; i++) {
+            underTest.tryAcquire(RequestClass.WRITE).dropped();
+        }
+
+        assertEquals(2, underTest.limit());
+        assertEquals(0, underTest.inFlight());
+    }
+
+    /**
+     * Fills the limit with requests that all take the given latency
+     */
+    private void runFullLoad(AdaptiveConcurrencyLimiter limiter, long latencyMillis) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire(RequestClass.WRITE)) != null) {
+            permits.add(permit);
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::success);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter(properties, meterRegistry, clock::get);
+    }
+}
@@ -0,0 +1,129 @@
+package task_management_system.outbox.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import task_management_system.outbox.entity.OutboxEvent;
+import task_management_system.outbox.entity.OutboxPartition;
+import task_management_system.outbox.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository underTest;
+    @Autowired
+    private OutboxPartitionRepository outboxPartitionRepository;
+
+    private UUID taskID;
+    private OutboxEvent first;
+    private OutboxEvent second;
+    private OutboxEvent other;
+
+    @BeforeEach
+    void setup() {
+        taskID = UUID.randomUUID();
+
+        first = event(taskID, OutboxEventType.TASK_CREATED);
+        second = event(taskID, OutboxEventType.TASK_UPDATED);
+        other = event(UUID.randomUUID(), OutboxEventType.TASK_CREATED);
+        other.setPartitionId(1);
+
+        underTest.saveAllAndFlush(List.of(first, second, other));
+    }
+
+    @Test
+    @DisplayName("should return pending events in id order")
+    void findClaimable_inOrder() {
+        List<OutboxEvent> response = underTest.findClaimable(LocalDateTime.now(), List.of(0, 1), PageRequest.of(0, 10));
+
+        assertEquals(List.of(first.getId(), second.getId(), other.getId()),
+                response.stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    @DisplayName("should hold back events behind an earlier event leased elsewhere")
+    void findClaimable_skipsTaskWithLeasedEvent() {
+        first.setClaimedBy("node-a");
+        first.setClaimedUntil(LocalDateTime.now().plusMinutes(1));
+        underTest.saveAndFlush(first);
+
+        List<OutboxEvent> response = underTest.findClaimable(LocalDateTime.now(), List.of(0, 1), PageRequest.of(0, 10));
+
+        assertEquals(List.of(other.getId()), response.stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    @DisplayName("should hold back a task behind an event waiting for its retry")
+    void findClaimable_skipsTaskWaitingForRetry() {
+        first.setAttempts(1);
+        first.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+        underTest.saveAndFlush(first);
+
+        List<OutboxEvent> response = underTest.findClaimable(LocalDateTime.now(), List.of(0, 1), PageRequest.of(0, 10));
+
+        assertEquals(List.of(other.getId()), response.stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    @DisplayName("should skip dead-lettered events without holding back their task")
+    void findClaimable_skipsDeadLetters() {
+        first.setAttempts(12);
+        first.setDeadLetteredAt(LocalDateTime.now());
+        underTest.saveAndFlush(first);
+
+        List<OutboxEvent> response = underTest.findClaimable(LocalDateTime.now(), List.of(0, 1), PageRequest.of(0, 10));
+
+        assertEquals(List.of(second.getId(), other.getId()), response.stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    @DisplayName("should only return events of the given partitions")
+    void findClaimable_ownedPartitionsOnly() {
+        List<OutboxEvent> response = underTest.findClaimable(LocalDateTime.now(), List.of(1), PageRequest.of(0, 10));
+
+        assertEquals(List.of(other.getId()), response.stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    @DisplayName("should lock the free partitions in id order")
+    void lockFree() {
+        outboxPartitionRepository.saveAllAndFlush(List.of(new OutboxPartition(1), new OutboxPartition(0)));
+
+        List<OutboxPartition> response = outboxPartitionRepository.lockFree();
+
+        assertEquals(List.of(0, 1), response.stream().map(OutboxPartition::getId).toList());
+    }
+
+    @Test
+    @DisplayName("should only mark events claimed by the node as published")
+    void markPublished_onlyOwnClaims() {
+        first.setClaimedBy("node-a");
+        second.setClaimedBy("node-b");
+        underTest.saveAllAndFlush(List.of(first, second));
+
+        int updated = underTest.markPublished(List.of(first.getId(), second.getId()), "node-a", LocalDateTime.now());
+
+        assertEquals(1, updated);
+        assertTrue(underTest.findOldestPendingCreatedAt().isPresent());
+    }
+
+    private OutboxEvent event(UUID aggregateID, OutboxEventType type) {
+        return OutboxEvent.builder()
+                .aggregateId(aggregateID)
+                .eventType(type)
+                .payload("{}")
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package task_management_system.outbox.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import task_management_system.outbox.entity.OutboxEvent;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.sink.OutboxSink;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock private OutboxService outboxService;
+    @Mock private OutboxSink sink;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay underTest;
+    private List<OutboxEvent> batch;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new OutboxRelay(outboxService, List.of(sink), meterRegistry, "node-a", 2, 30000, 24);
+
+        batch = List.of(event(1L), event(2L));
+    }
+
+    @Test
+    @DisplayName("should deliver a claimed batch and mark it published")
+    void relayBatch_success() throws Exception {
+        when(outboxService.claimBatch(eq("node-a"), eq(2), any(Duration.class))).thenReturn(batch);
+
+        int relayed = underTest.relayBatch();
+
+        assertEquals(2, relayed);
+        verify(sink).publish(batch);
+        verify(outboxService).markPublished(List.of(1L, 2L), "node-a");
+        assertEquals(2.0, meterRegistry.counter("outbox.events.published").count());
+    }
+
+    @Test
+    @DisplayName("should retry a failed batch event by event and back off only the failing event")
+    void relayBatch_sinkFailure() throws Exception {
+        when(outboxService.claimBatch(eq("node-a"), eq(2), any(Duration.class))).thenReturn(batch);
+        when(sink.name()).thenReturn("test");
+        doThrow(new IllegalStateException("poison")).when(sink).publish(batch);
+        doThrow(new IllegalStateException("poison")).when(sink).publish(List.of(batch.get(0)));
+
+        int relayed = underTest.relayBatch();
+
+        assertEquals(1, relayed);
+        verify(outboxService).recordFailure(1L, "node-a");
+        verify(outboxService).markPublished(List.of(2L), "node-a");
+        verify(outboxService, never()).releaseClaims(any(), any());
+        assertEquals(1.0, meterRegistry.counter("outbox.relay.failures").count());
+        assertEquals(1.0, meterRegistry.counter("outbox.events.published").count());
+    }
+
+    @Test
+    @DisplayName("should hold back later events of a task whose event failed")
+    void relayBatch_keepsTaskOrder() throws Exception {
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        second.setAggregateId(first.getAggregateId());
+        List<OutboxEvent> sameTask = List.of(first, second);
+
+        when(outboxService.claimBatch(eq("node-a"), eq(2), any(Duration.class))).thenReturn(sameTask);
+        when(sink.name()).thenReturn("test");
+        doThrow(new IllegalStateException("poison")).when(sink).publish(sameTask);
+        doThrow(new IllegalStateException("poison")).when(sink).publish(List.of(first));
+        when(outboxService.recordFailure(1L, "node-a")).thenReturn(true);
+
+        int relayed = underTest.relayBatch();
+
+        assertEquals(0, relayed);
+        verify(sink, never()).publish(List.of(second));
+        verify(outboxService).releaseClaims(List.of(2L), "node-a");
+        verify(outboxService, never()).markPublished(any(), any());
+        assertEquals(1.0, meterRegistry.counter("outbox.events.dead-lettered").count());
+    }
+
+    @Test
+    @DisplayName("should keep draining while batches are full")
+    void relay_drainsFullBatches() throws Exception {
+        when(outboxService.claimBatch(eq("node-a"), anyInt(), any(Duration.class)))
+                .thenReturn(batch, List.of(event(3L)));
+
+        underTest.relay();
+
+        verify(sink, times(2)).publish(any());
+        verify(outboxService).findOldestPending();
+    }
+
+    private OutboxEvent event(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateId(UUID.randomUUID())
+                .eventType(OutboxEventType.TASK_UPDATED)
+                .payload("{}")
+                .build();
+    }
+}
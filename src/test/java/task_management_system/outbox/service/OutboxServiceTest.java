@@ -0,0 +1,80 @@
+package task_management_system.outbox.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import task_management_system.outbox.entity.OutboxEvent;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.repository.OutboxEventRepository;
+import task_management_system.outbox.repository.OutboxPartitionRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock private OutboxEventRepository outboxEventRepository;
+    @Mock private OutboxPartitionRepository outboxPartitionRepository;
+
+    private OutboxService underTest;
+    private OutboxEvent event;
+
+    @BeforeEach
+    void setup() {
+        underTest = new OutboxService(outboxEventRepository, outboxPartitionRepository, new ObjectMapper(),
+                16, 3, 1000, 3000);
+
+        event = OutboxEvent.builder()
+                .id(1L)
+                .aggregateId(UUID.randomUUID())
+                .eventType(OutboxEventType.TASK_UPDATED)
+                .payload("{}")
+                .claimedBy("node-a")
+                .claimedUntil(LocalDateTime.now().plusSeconds(30))
+                .build();
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(event));
+    }
+
+    @Test
+    @DisplayName("should back off exponentially up to the maximum delay")
+    void recordFailure_backsOff() {
+        LocalDateTime before = LocalDateTime.now();
+
+        assertFalse(underTest.recordFailure(1L, "node-a"));
+        assertNull(event.getClaimedUntil());
+        assertFalse(event.getNextAttemptAt().isBefore(before.plusSeconds(1)));
+
+        event.setClaimedBy("node-a");
+        assertFalse(underTest.recordFailure(1L, "node-a"));
+        assertFalse(event.getNextAttemptAt().isBefore(before.plusSeconds(2)));
+        assertTrue(event.getNextAttemptAt().isBefore(before.plusSeconds(4)));
+        assertEquals(2, event.getAttempts());
+    }
+
+    @Test
+    @DisplayName("should dead-letter an event after max-attempts failures")
+    void recordFailure_deadLetters() {
+        event.setAttempts(2);
+
+        assertTrue(underTest.recordFailure(1L, "node-a"));
+        assertNotNull(event.getDeadLetteredAt());
+        assertEquals(3, event.getAttempts());
+    }
+
+    @Test
+    @DisplayName("should leave events leased by another node alone")
+    void recordFailure_otherNode() {
+        assertFalse(underTest.recordFailure(1L, "node-b"));
+        assertEquals(0, event.getAttempts());
+        assertNotNull(event.getClaimedUntil());
+    }
+}
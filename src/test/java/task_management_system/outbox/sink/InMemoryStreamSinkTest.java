@@ -0,0 +1,42 @@
+package task_management_system.outbox.sink;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import task_management_system.outbox.entity.OutboxEvent;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryStreamSinkTest {
+
+    @Test
+    @DisplayName("should read entries after a given id in publish order")
+    void readAfterId() {
+        InMemoryStreamSink underTest = new InMemoryStreamSink(10);
+        underTest.publish(events(1, 3));
+
+        List<InMemoryStreamSink.StreamEntry> all = underTest.read(null, 10);
+        List<InMemoryStreamSink.StreamEntry> rest = underTest.read(all.get(0).id(), 10);
+
+        assertEquals(3, all.size());
+        assertEquals(List.of(2L, 3L), rest.stream().map(entry -> entry.event().getId()).toList());
+    }
+
+    @Test
+    @DisplayName("should trim the stream to its maximum length")
+    void trimToMaxLength() {
+        InMemoryStreamSink underTest = new InMemoryStreamSink(2);
+        underTest.publish(events(1, 5));
+
+        assertEquals(2, underTest.length());
+        assertEquals(4L, underTest.read(null, 1).get(0).event().getId());
+    }
+
+    private List<OutboxEvent> events(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+                .mapToObj(id -> OutboxEvent.builder().id(id).build())
+                .toList();
+    }
+}
@@ -0,0 +1,66 @@
+package task_management_system.outbox.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import task_management_system.outbox.dto.TaskChangeEvent;
+import task_management_system.outbox.entity.OutboxEvent;
+import task_management_system.outbox.enums.OutboxEventType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RedisPubSubOutboxSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final RedisPubSubOutboxSink underTest =
+            new RedisPubSubOutboxSink(redisTemplate, eventPublisher, objectMapper, "task-changes");
+
+    @Test
+    @DisplayName("should republish a message from another node as a task change event")
+    void roundTrip() throws Exception {
+        OutboxEvent event = OutboxEvent.builder()
+                .id(7L)
+                .aggregateId(UUID.randomUUID())
+                .eventType(OutboxEventType.TASK_UPDATED)
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        underTest.publish(List.of(event));
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("task-changes"), message.capture());
+        verifyNoInteractions(eventPublisher);
+
+        underTest.onMessage(new DefaultMessage(
+                "task-changes".getBytes(StandardCharsets.UTF_8),
+                message.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        verify(eventPublisher).publishEvent(TaskChangeEvent.of(event));
+    }
+
+    @Test
+    @DisplayName("should skip a message it cannot read")
+    void skipUnreadable() {
+        underTest.onMessage(new DefaultMessage(
+                "task-changes".getBytes(StandardCharsets.UTF_8),
+                "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
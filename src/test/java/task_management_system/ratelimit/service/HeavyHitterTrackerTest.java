@@ -0,0 +1,92 @@
+package task_management_system.ratelimit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import task_management_system.ratelimit.config.RateLimitProperties;
+import task_management_system.ratelimit.dto.HeavyHitter;
+import task_management_system.ratelimit.dto.TopTalkers;
+import task_management_system.ratelimit.enums.TrafficDimension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHitterTrackerTest {
+
+    private AtomicLong clock;
+    private HeavyHitterTracker underTest;
+
+    @BeforeEach
+    void setup() {
+        RateLimitProperties.HeavyHitters settings = new RateLimitProperties.HeavyHitters();
+        settings.setTopK(10);
+        settings.setWindow(Duration.ofMinutes(1));
+        settings.setPercentile(99.0);
+        settings.setMinRequests(10);
+
+        clock = new AtomicLong(1_000);
+        underTest = new HeavyHitterTracker(settings, clock::get);
+    }
+
+    @Test
+    @DisplayName("should find the heaviest keys among many distinct ones in a fixed number of counters")
+    void topTalkers() {
+        for (int i = 0; i < 50_000; i++) {
+            underTest.record(TrafficDimension.IP, "10.0." + (i / 250) + "." + (i % 250));
+            if (i % 3 == 0) {
+                underTest.record(TrafficDimension.IP, "203.0.113.7");
+            }
+            if (i % 5 == 0) {
+                underTest.record(TrafficDimension.IP, "203.0.113.8");
+            }
+        }
+
+        TopTalkers talkers = underTest.topTalkers(TrafficDimension.IP);
+        List<HeavyHitter> top = talkers.current();
+
+        assertEquals(10, top.size());
+        assertEquals("203.0.113.7", top.get(0).key());
+        assertEquals("203.0.113.8", top.get(1).key());
+        assertTrue(top.get(0).count() - top.get(0).error() <= 16_667 && top.get(0).count() >= 16_667);
+        assertEquals(76_667, talkers.currentTotal());
+    }
+
+    @Test
+    @DisplayName("should flag only keys above the percentile of the previous window")
+    void percentileThreshold() {
+        for (int client = 0; client < 1_000; client++) {
+            for (int i = 0; i < 20; i++) {
+                underTest.record(TrafficDimension.IP, "client-" + client);
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            underTest.record(TrafficDimension.IP, "scraper");
+        }
+        assertEquals(10, underTest.threshold(TrafficDimension.IP));
+
+        clock.addAndGet(Duration.ofMinutes(1).toMillis());
+
+        long threshold = underTest.threshold(TrafficDimension.IP);
+        assertTrue(threshold >= 20 && threshold < 500, "threshold " + threshold);
+        assertTrue(underTest.isHeavy(TrafficDimension.IP, underTest.record(TrafficDimension.IP, "scraper")));
+        assertFalse(underTest.isHeavy(TrafficDimension.IP, underTest.record(TrafficDimension.IP, "client-1")));
+    }
+
+    @Test
+    @DisplayName("should estimate requests over a sliding window")
+    void slidingWindow() {
+        for (int i = 0; i < 100; i++) {
+            underTest.record(TrafficDimension.USER, "user");
+        }
+
+        clock.addAndGet(Duration.ofSeconds(90).toMillis());
+        assertEquals(51, underTest.record(TrafficDimension.USER, "user"));
+
+        clock.addAndGet(Duration.ofMinutes(2).toMillis());
+        assertEquals(1, underTest.record(TrafficDimension.USER, "user"));
+        assertTrue(underTest.topTalkers(TrafficDimension.USER).previous().isEmpty());
+    }
+}
@@ -0,0 +1,146 @@
+package task_management_system.ratelimit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import task_management_system.ratelimit.dto.BucketSync;
+import task_management_system.ratelimit.dto.RateLimitPolicy;
+import task_management_system.ratelimit.store.InMemoryRateLimitStore;
+import task_management_system.ratelimit.store.RateLimitStore;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("test", 10, Duration.ofMinutes(1));
+    private AtomicLong clock;
+    private InMemoryRateLimitStore store;
+
+    @BeforeEach
+    void setup() {
+        clock = new AtomicLong(1_000);
+        store = new InMemoryRateLimitStore(clock::get);
+    }
+
+    @Test
+    @DisplayName("should bound the number of buckets held")
+    void boundedKeys() {
+        RateLimiter underTest = new RateLimiter(100, Duration.ofMinutes(1), clock::get);
+
+        for (int i = 0; i < 1_000; i++) {
+            underTest.tryAcquire(policy, "client-" + i);
+        }
+
+        assertTrue(underTest.size() <= 100);
+    }
+
+    @Test
+    @DisplayName("should spend the local share first and then only granted tokens")
+    void leasesFromSharedBucket() {
+        RateLimiter underTest = node(store);
+
+        assertEquals(3, take(underTest, 20));
+        underTest.sync();
+        assertEquals(6, take(underTest, 20));
+        underTest.sync();
+        assertEquals(1, take(underTest, 20));
+    }
+
+    @Test
+    @DisplayName("should split one budget between nodes and pay back overlapping local shares")
+    void sharedBudget() {
+        RateLimiter nodeA = node(store);
+        RateLimiter nodeB = node(store);
+
+        long firstPeriod = take(nodeA, 20) + take(nodeB, 20) + rounds(nodeA, nodeB);
+        clock.addAndGet(60_000);
+        long secondPeriod = rounds(nodeA, nodeB);
+
+        assertEquals(12, firstPeriod);
+        assertEquals(20, firstPeriod + secondPeriod);
+    }
+
+    @Test
+    @DisplayName("should only send buckets used since the last sync")
+    void syncsTouchedBuckets() {
+        List<BucketSync> sent = new ArrayList<>();
+        RateLimiter underTest = node(syncs -> {
+            sent.addAll(syncs);
+            return store.reconcile(syncs);
+        });
+
+        take(underTest, 2);
+        underTest.sync();
+        underTest.sync();
+
+        assertEquals(1, sent.size());
+        assertEquals(3, sent.get(0).charge());
+    }
+
+    @Test
+    @DisplayName("should refill locally while the store is down and charge the share once it is back")
+    void degradesWhenStoreFails() {
+        List<BucketSync> sent = new ArrayList<>();
+        boolean[] failing = {true};
+        RateLimiter underTest = node(syncs -> {
+            if (failing[0]) {
+                throw new IllegalStateException("store down");
+            }
+            sent.addAll(syncs);
+            return store.reconcile(syncs);
+        });
+
+        take(underTest, 3);
+        underTest.sync();
+        clock.addAndGet(60_000);
+        assertTrue(underTest.tryAcquire(policy, "user").allowed());
+
+        failing[0] = false;
+        underTest.sync();
+
+        assertEquals(1, sent.size());
+        assertEquals(3, sent.get(0).charge());
+    }
+
+    @Test
+    @DisplayName("should refill shared buckets by elapsed time")
+    void sharedRefill() {
+        String key = "test:user";
+        store.reconcile(List.of(new BucketSync(key, 10, 60_000, 10, 0)));
+
+        clock.addAndGet(30_000);
+        Map<String, Long> granted = store.reconcile(List.of(new BucketSync(key, 10, 60_000, 0, 10)));
+
+        assertEquals(5, granted.get(key));
+    }
+
+    private RateLimiter node(RateLimitStore rateLimitStore) {
+        return new RateLimiter(1_000, Duration.ofMinutes(5), clock::get, rateLimitStore, 100, 0.25);
+    }
+
+    private long rounds(RateLimiter nodeA, RateLimiter nodeB) {
+        long admitted = 0;
+        for (int round = 0; round < 5; round++) {
+            nodeA.sync();
+            nodeB.sync();
+            admitted += take(nodeA, 20) + take(nodeB, 20);
+        }
+        return admitted;
+    }
+
+    private long take(RateLimiter rateLimiter, int attempts) {
+        long allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (rateLimiter.tryAcquire(policy, "user").allowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
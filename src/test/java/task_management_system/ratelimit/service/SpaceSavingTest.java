@@ -0,0 +1,49 @@
+package task_management_system.ratelimit.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import task_management_system.ratelimit.dto.HeavyHitter;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    @DisplayName("should merge the stripes into one top list of at most capacity keys")
+    void mergeStripes() {
+        SpaceSaving underTest = new SpaceSaving(3, 4);
+
+        IntStream.range(0, 5).forEach(i -> underTest.offer("heavy"));
+        IntStream.range(0, 3).forEach(i -> underTest.offer("medium"));
+        IntStream.range(0, 2).forEach(i -> underTest.offer("light"));
+        underTest.offer("rare");
+
+        List<HeavyHitter> top = underTest.top();
+
+        assertEquals(11, underTest.total());
+        assertEquals(List.of("heavy", "medium", "light"), top.stream().map(HeavyHitter::key).toList());
+        assertEquals(5, top.get(0).count());
+    }
+
+    @Test
+    @DisplayName("should count every offer from concurrent threads")
+    void concurrentOffers() throws Exception {
+        SpaceSaving underTest = new SpaceSaving(10, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> IntStream.range(0, 10_000).forEach(i -> underTest.offer("key-" + (i % 5))));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(80_000, underTest.total());
+        assertTrue(underTest.top().stream().allMatch(hitter -> hitter.count() == 16_000 && hitter.error() == 0));
+    }
+}
@@ -0,0 +1,88 @@
+package task_management_system.ratelimit.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import task_management_system.ratelimit.dto.RateLimitDecision;
+import task_management_system.ratelimit.dto.RateLimitPolicy;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("test", 60, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("should allow the full capacity as a burst then deny with retry after")
+    void burstThenDeny() {
+        TokenBucket bucket = new TokenBucket(policy, 0);
+
+        for (int i = 0; i < 60; i++) {
+            assertTrue(bucket.tryConsume(0).allowed());
+        }
+        RateLimitDecision denied = bucket.tryConsume(0);
+
+        assertFalse(denied.allowed());
+        assertEquals(0, denied.remaining());
+        assertEquals(1000, denied.retryAfterMillis());
+        assertEquals(60_000, denied.resetMillis());
+    }
+
+    @Test
+    @DisplayName("should refill continuously without losing fractions to frequent calls")
+    void refillKeepsFractions() {
+        TokenBucket bucket = new TokenBucket(policy, 0);
+        for (int i = 0; i < 60; i++) {
+            bucket.tryConsume(0);
+        }
+
+        // one token per second; denied probes every 100ms must not reset the refill clock
+        for (long now = 100; now < 1000; now += 100) {
+            assertFalse(bucket.tryConsume(now).allowed());
+        }
+        assertTrue(bucket.tryConsume(1000).allowed());
+        assertFalse(bucket.tryConsume(1000).allowed());
+    }
+
+    @Test
+    @DisplayName("should never hand out more tokens than capacity under contention")
+    void concurrentConsumers() throws Exception {
+        TokenBucket bucket = new TokenBucket(policy, 0);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            for (int thread = 0; thread < 8; thread++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < 100; i++) {
+                        if (bucket.tryConsume(0).allowed()) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(60, allowed.get());
+    }
+
+    @Test
+    @DisplayName("should reject capacity that does not fit the packed state")
+    void rejectsOversizedCapacity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimitPolicy("big", TokenBucket.MAX_CAPACITY + 1, Duration.ofSeconds(1)));
+    }
+}
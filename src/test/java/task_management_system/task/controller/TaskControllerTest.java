@@ -16,8 +16,10 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import task_management_system.config.JwtService;
+import task_management_system.user.service.UserService;
 import task_management_system.dto.CustomResponse;
 import task_management_system.task.dto.*;
+import task_management_system.task.enums.ShareStatus;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
 import task_management_system.task.service.TaskService;
@@ -25,9 +27,15 @@ import task_management_system.task.service.TaskService;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +49,8 @@ class TaskControllerTest {
     private TaskService taskService;
     @MockBean
     private JwtService jwtService;
+    @MockBean
+    private UserService userService;
     @Autowired
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
@@ -91,7 +101,7 @@ class TaskControllerTest {
         ;
         String request = objectMapper.writeValueAsString(createRequest);
 
-        when(taskService.createTask(createRequest)).thenReturn(taskDto);
+        when(taskService.createTask(createRequest, null)).thenReturn(taskDto);
 
         mockMvc.perform(post("/api/v1/tasks")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -117,10 +127,12 @@ class TaskControllerTest {
         Page<TaskDto> pageDto = new PageImpl<>(List.of(taskDto), pageable, 1);
         PaginatedResponse<TaskDto> response = new PaginatedResponse<>(pageDto);
 
-        when(taskService.getTasks(pageable, null, null, null)).thenReturn(response);
+        when(taskService.getTasksETag(pageable, null, null, null, false)).thenReturn("\"a-1\"");
+        when(taskService.getTasks(pageable, null, null, null, false)).thenReturn(response);
 
         mockMvc.perform(get("/api/v1/tasks"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"a-1\""))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.page").value(0))
                 .andExpect(jsonPath("$.size").value(20))
@@ -129,14 +141,41 @@ class TaskControllerTest {
     @Test
     @DisplayName("should get task by ID")
     void getTaskByID() throws Exception {
+        taskDto.setVersion(2L);
         when(taskService.getTaskByID(taskDto.getId())).thenReturn(taskDto);
 
         mockMvc.perform(get("/api/v1/tasks/" + taskDto.getId()))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"2\""))
                 .andExpect(jsonPath("$.title").value(taskDto.getTitle()));
     }
 
+    @Test
+    @DisplayName("should return not modified for unchanged task list")
+    void getAllTasks_notModified() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+
+        when(taskService.getTasksETag(pageable, null, null, null, false)).thenReturn("\"a-1\"");
+
+        mockMvc.perform(get("/api/v1/tasks").header("If-None-Match", "\"a-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getTasks(any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("should return not modified for unchanged task")
+    void getTaskByID_notModified() throws Exception {
+        taskDto.setVersion(2L);
+        when(taskService.getTaskByID(taskDto.getId())).thenReturn(taskDto);
+
+        mockMvc.perform(get("/api/v1/tasks/" + taskDto.getId()).header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("should update task")
     void updateTask() throws Exception {
@@ -144,7 +183,7 @@ class TaskControllerTest {
         CustomResponse response = new CustomResponse("success", "updated");
 
         String updateRequest = objectMapper.writeValueAsString(request);
-        when(taskService.updateTask(taskDto.getId(), request)).thenReturn(response);
+        when(taskService.updateTask(taskDto.getId(), request, null)).thenReturn(response);
 
         mockMvc.perform(put("/api/v1/tasks/" + taskDto.getId())
                         .content(updateRequest)
@@ -155,6 +194,47 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.message").exists());
     }
 
+    @Test
+    @DisplayName("should pass If-Match version to update")
+    void updateTask_withIfMatch() throws Exception {
+        UpdateTask request = UpdateTask.builder().build();
+        CustomResponse response = new CustomResponse("success", "updated");
+
+        when(taskService.updateTask(taskDto.getId(), request, 4L)).thenReturn(response);
+
+        mockMvc.perform(put("/api/v1/tasks/" + taskDto.getId())
+                        .header("If-Match", "\"4\"")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("should reject update with malformed If-Match")
+    void updateTask_withMalformedIfMatch() throws Exception {
+        UpdateTask request = UpdateTask.builder().build();
+
+        mockMvc.perform(put("/api/v1/tasks/" + taskDto.getId())
+                        .header("If-Match", "\"abc\"")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("should reject update with a weak If-Match validator")
+    void updateTask_withWeakIfMatch() throws Exception {
+        UpdateTask request = UpdateTask.builder().build();
+
+        mockMvc.perform(put("/api/v1/tasks/" + taskDto.getId())
+                        .header("If-Match", "W/\"4\"")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(taskService);
+    }
+
     @Test
     @DisplayName("should delete task")
     void shouldDeleteTask() throws Exception {
@@ -176,10 +256,11 @@ class TaskControllerTest {
                 .email("test@email.com")
                 .build();
 
-        when(taskService.shareTask(request, taskDto.getId())).thenReturn(res);
+        when(taskService.shareTask(request, taskDto.getId(), "share-key-1")).thenReturn(res);
 
         String shareRequest = objectMapper.writeValueAsString(request);
         mockMvc.perform(put("/api/v1/tasks/" + taskDto.getId() + "/share")
+                        .header("Idempotency-Key", "share-key-1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(shareRequest))
                 .andExpect(status().isOk())
@@ -187,4 +268,64 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value(res.status()))
                 .andExpect(jsonPath("$.message").value(res.message()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should share task with many recipients")
+    void shouldShareTaskBatch() throws Exception {
+        BatchShareRequest request = BatchShareRequest.builder()
+                .recipients(List.of(
+                        ShareRequest.builder().email("one@email.com").build(),
+                        ShareRequest.builder().email("two@email.com").can_edit(true).build()
+                ))
+                .build();
+        BatchShareResponse res = BatchShareResponse.builder()
+                .shared(1)
+                .skipped(1)
+                .results(List.of(
+                        new ShareResult("one@email.com", ShareStatus.SHARED),
+                        new ShareResult("two@email.com", ShareStatus.USER_NOT_FOUND)
+                ))
+                .build();
+
+        when(taskService.shareTask(request, taskDto.getId(), null)).thenReturn(res);
+
+        mockMvc.perform(put("/api/v1/tasks/" + taskDto.getId() + "/share/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shared").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("USER_NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("should reject batch share with invalid recipient email")
+    void shareTaskBatch_invalidEmail() throws Exception {
+        BatchShareRequest request = BatchShareRequest.builder()
+                .recipients(List.of(ShareRequest.builder().email("not-an-email").build()))
+                .build();
+
+        mockMvc.perform(put("/api/v1/tasks/" + taskDto.getId() + "/share/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("should bulk update tasks")
+    void shouldBulkUpdateTasks() throws Exception {
+        CustomResponse res = new CustomResponse("success", "1 tasks updated");
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .task_ids(Set.of(taskDto.getId()))
+                .status(TaskStatus.COMPLETED.toString())
+                .build();
+
+        when(taskService.bulkUpdateTasks(request)).thenReturn(res);
+
+        mockMvc.perform(put("/api/v1/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(res.status()))
+                .andExpect(jsonPath("$.message").value(res.message()));
+    }
+}
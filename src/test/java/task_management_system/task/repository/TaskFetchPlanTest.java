@@ -0,0 +1,139 @@
+package task_management_system.task.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import task_management_system.task.dto.TaskDto;
+import task_management_system.task.entity.Task;
+import task_management_system.task.entity.TaskRole;
+import task_management_system.task.enums.RoleType;
+import task_management_system.task.enums.TaskPriority;
+import task_management_system.task.enums.TaskStatus;
+import task_management_system.task.service.TagDictionary;
+import task_management_system.task.specification.TaskSpecifications;
+import task_management_system.user.entity.User;
+import task_management_system.user.repository.UserRepository;
+import task_management_system.utils.TaskUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements each endpoint's repository calls issue, so an eager association or a
+ * per-row tag load shows up as a failure rather than as latency
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Import(TagDictionary.class)
+class TaskFetchPlanTest {
+
+    private static final int TASKS = 5;
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskRoleRepository taskRoleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TagDictionary tagDictionary;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setup() {
+        user = userRepository.saveAndFlush(User.builder()
+                .email("creator@task.com")
+                .password("password")
+                .build());
+        IntStream.range(0, TASKS).forEach(i -> tagDictionary.resolve(Set.of("tag-" + i, "shared")));
+
+        tasks = taskRepository.saveAllAndFlush(IntStream.range(0, TASKS)
+                .mapToObj(i -> Task.builder()
+                        .title("Task " + i)
+                        .description("Task description")
+                        .dueDate(LocalDateTime.now())
+                        .createdBy(user)
+                        .status(TaskStatus.PENDING)
+                        .priority(TaskPriority.LOW)
+                        .tags(Set.of("tag-" + i, "shared"))
+                        .build())
+                .toList());
+
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("authorize: a role check reads only the role row")
+    void authorize() {
+        TaskRole role = taskRoleRepository.findByTaskIdAndUserId(tasks.get(0).getId(), user.getId()).orElseThrow();
+
+        assertEquals(RoleType.CREATOR, role.getRoleType());
+        assertFalse(Hibernate.isInitialized(role.getTask()));
+        assertFalse(Hibernate.isInitialized(role.getUser()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/{id}: one statement loads the task and its tags")
+    void renderTask() {
+        Task task = taskRepository.findByIdAndDeletedAtIsNull(tasks.get(0).getId()).orElseThrow();
+        TaskDto dto = TaskUtils.convertToDto(task);
+
+        assertEquals(user.getId(), dto.getCreated_by());
+        assertEquals(2, dto.getTags().size());
+        assertFalse(Hibernate.isInitialized(task.getCreatedBy()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("GET /tasks: tags for the whole page load in one batch")
+    void renderTaskPage() {
+        Specification<Task> spec = Specification.where(TaskSpecifications.notDeleted())
+                .and(TaskSpecifications.hasRoleOnTask(user.getId()));
+
+        Page<TaskDto> page = taskRepository.findAll(spec, PageRequest.of(0, 10)).map(TaskUtils::convertToDto);
+
+        assertEquals(TASKS, page.getNumberOfElements());
+        assertTrue(page.getContent().stream().allMatch(dto -> dto.getTags().contains("shared")));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("GET /tasks/changes: a sync page and its tags take two statements")
+    void renderChanges() {
+        List<TaskDto> changes = taskRepository.findChangedForUser(user.getId(), LocalDateTime.now().minusDays(1),
+                        null, PageRequest.of(0, 10))
+                .stream()
+                .map(TaskUtils::convertToDto)
+                .toList();
+
+        assertEquals(TASKS, changes.size());
+        assertTrue(changes.stream().allMatch(dto -> dto.getTags().contains("shared")));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
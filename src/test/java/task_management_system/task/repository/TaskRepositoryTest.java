@@ -0,0 +1,232 @@
+package task_management_system.task.repository;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import task_management_system.task.entity.ArchivedTask;
+import task_management_system.task.entity.Task;
+import task_management_system.task.enums.TaskPriority;
+import task_management_system.task.enums.TaskStatus;
+import task_management_system.task.service.TagDictionary;
+import task_management_system.task.specification.TaskSpecifications;
+import task_management_system.user.entity.User;
+import task_management_system.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase
+@Import(TagDictionary.class)
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository underTest;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskRoleRepository taskRoleRepository;
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    private User user;
+    private User otherUser;
+
+    @BeforeEach
+    void setup() {
+        user = User.builder()
+                .email("creator@task.com")
+                .password("password")
+                .build();
+
+        otherUser = User.builder()
+                .email("other@task.com")
+                .password("password")
+                .build();
+
+        userRepository.saveAllAndFlush(List.of(user, otherUser));
+        tagDictionary.resolve(Set.of("test", "urgent"));
+
+        underTest.saveAllAndFlush(IntStream.range(0, 3)
+                .mapToObj(i -> task("Task " + i, user))
+                .toList());
+        underTest.saveAndFlush(task("Other task", otherUser));
+    }
+
+    @Test
+    @DisplayName("should key new tasks with version 7 ids in insert order")
+    void timeOrderedIds() {
+        List<Task> tasks = underTest.saveAllAndFlush(IntStream.range(0, 10)
+                .mapToObj(i -> task("Ordered " + i, user))
+                .toList());
+
+        for (int i = 1; i < tasks.size(); i++) {
+            assertEquals(7, tasks.get(i).getId().version());
+            assertTrue(tasks.get(i).getId().toString().compareTo(tasks.get(i - 1).getId().toString()) > 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Changed tasks for User")
+    class ChangedForUser {
+
+        @Test
+        @DisplayName("should page through the user's tasks in (updatedAt, id) order")
+        void keysetPaging() {
+            LocalDateTime beginning = LocalDateTime.now().minusDays(1);
+
+            List<Task> first = underTest.findChangedForUser(user.getId(), beginning, null, PageRequest.of(0, 2));
+            Task last = first.get(first.size() - 1);
+            List<Task> rest = underTest.findChangedForUser(user.getId(), last.getUpdatedAt(), last.getId(), PageRequest.of(0, 2));
+
+            assertEquals(2, first.size());
+            assertEquals(1, rest.size());
+            assertTrue(first.stream().noneMatch(task -> task.getId().equals(rest.get(0).getId())));
+        }
+
+        @Test
+        @DisplayName("should return nothing after the latest change")
+        void afterLatestChange() {
+            List<Task> response = underTest.findChangedForUser(user.getId(),
+                    LocalDateTime.now().plusMinutes(1), null, PageRequest.of(0, 10));
+
+            assertTrue(response.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tag filter")
+    class TagFilter {
+
+        @Test
+        @DisplayName("should match tasks by tag id and keep tag names on the entity")
+        void matchesTag() {
+            Task tagged = task("Tagged", user);
+            tagged.setTags(Set.of("urgent", "test"));
+            underTest.saveAndFlush(tagged);
+
+            List<Task> tasks = underTest.findAll(Specification.where(TaskSpecifications.<Task>hasTags(Set.of("urgent")))
+                    .and(TaskSpecifications.hasRoleOnTask(user.getId())));
+
+            assertEquals(List.of(tagged.getId()), tasks.stream().map(Task::getId).toList());
+            assertEquals(Set.of("urgent", "test"), tasks.get(0).getTags());
+        }
+
+        @Test
+        @DisplayName("should match nothing when none of the tags exist")
+        void unknownTags() {
+            assertTrue(underTest.findAll(TaskSpecifications.<Task>hasTags(Set.of())).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Soft delete and purge")
+    class SoftDelete {
+
+        @Test
+        @DisplayName("should hide soft deleted tasks from lookups")
+        void hidesDeletedTask() {
+            Task task = underTest.findChangedForUser(user.getId(), LocalDateTime.now().minusDays(1), null,
+                    PageRequest.of(0, 1)).get(0);
+
+            assertEquals(1, underTest.softDelete(task.getId(), LocalDateTime.now()));
+
+            assertTrue(underTest.findByIdAndDeletedAtIsNull(task.getId()).isEmpty());
+            assertFalse(underTest.existsByIdAndDeletedAtIsNull(task.getId()));
+            assertEquals(0, underTest.softDelete(task.getId(), LocalDateTime.now()));
+        }
+
+        @Test
+        @DisplayName("should leave soft deleted tasks out of the ids locked for a bulk update")
+        void liveIds() {
+            List<UUID> ids = underTest.findChangedForUser(user.getId(), LocalDateTime.now().minusDays(1), null,
+                    PageRequest.of(0, 2)).stream().map(Task::getId).toList();
+            underTest.softDelete(ids.get(0), LocalDateTime.now());
+
+            assertEquals(Set.of(ids.get(1)), underTest.lockLiveIdsByIdIn(ids));
+        }
+
+        @Test
+        @DisplayName("should purge tasks deleted before the cutoff with their tags")
+        void purgeDeleted() {
+            Task task = underTest.findChangedForUser(user.getId(), LocalDateTime.now().minusDays(1), null,
+                    PageRequest.of(0, 1)).get(0);
+            underTest.softDelete(task.getId(), LocalDateTime.now().minusDays(40));
+
+            List<UUID> expired = underTest.findDeletedBefore(LocalDateTime.now().minusDays(30), PageRequest.of(0, 10));
+            underTest.deleteTagsByTaskIdIn(expired);
+            taskRoleRepository.deleteByTaskIdIn(expired);
+
+            assertEquals(List.of(task.getId()), expired);
+            assertEquals(1, underTest.deleteDeletedByIdIn(expired));
+            assertTrue(underTest.findById(task.getId()).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Archive")
+    class Archive {
+
+        @Test
+        @DisplayName("should copy old completed tasks with their tags and roles into the archive")
+        void archiveCompleted() {
+            Task task = underTest.findChangedForUser(user.getId(), LocalDateTime.now().minusDays(1), null,
+                    PageRequest.of(0, 1)).get(0);
+            underTest.updateStatusByIdIn(List.of(task.getId()), TaskStatus.COMPLETED, LocalDateTime.now().minusDays(100));
+
+            List<UUID> archivable = underTest.findArchivable(TaskStatus.COMPLETED,
+                    LocalDateTime.now().minusDays(90), PageRequest.of(0, 10));
+
+            assertEquals(List.of(task.getId()), archivable);
+            assertEquals(1, archivedTaskRepository.copyTasks(archivable, LocalDateTime.now()));
+            assertEquals(1, archivedTaskRepository.copyTags(archivable));
+            assertEquals(1, archivedTaskRepository.copyRoles(archivable));
+            assertEquals(0, archivedTaskRepository.copyShares(archivable));
+
+            List<ArchivedTask> archived = archivedTaskRepository.findAll(Specification
+                    .where(TaskSpecifications.<ArchivedTask>hasRoleOnTask(user.getId()))
+                    .and(TaskSpecifications.hasTags(Set.of("test"))));
+
+            assertEquals(1, archived.size());
+            assertEquals(task.getTitle(), archived.get(0).getTitle());
+            assertEquals(Set.of("test"), archived.get(0).getTags());
+            assertEquals(TaskStatus.COMPLETED, archived.get(0).getStatus());
+            assertTrue(archivedTaskRepository.findForUser(task.getId(), user.getId()).isPresent());
+            assertTrue(archivedTaskRepository.findForUser(task.getId(), otherUser.getId()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("should skip recently completed tasks")
+        void skipRecent() {
+            Task task = underTest.findChangedForUser(user.getId(), LocalDateTime.now().minusDays(1), null,
+                    PageRequest.of(0, 1)).get(0);
+            underTest.updateStatusByIdIn(List.of(task.getId()), TaskStatus.COMPLETED, LocalDateTime.now());
+
+            assertTrue(underTest.findArchivable(TaskStatus.COMPLETED,
+                    LocalDateTime.now().minusDays(90), PageRequest.of(0, 10)).isEmpty());
+        }
+    }
+
+    private Task task(String title, User createdBy) {
+        return Task.builder()
+                .title(title)
+                .description("Task description")
+                .dueDate(LocalDateTime.now())
+                .createdBy(createdBy)
+                .status(TaskStatus.PENDING)
+                .priority(TaskPriority.LOW)
+                .tags(Set.of("test"))
+                .build();
+    }
+}
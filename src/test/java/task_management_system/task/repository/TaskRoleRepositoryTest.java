@@ -6,11 +6,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import task_management_system.task.entity.Task;
 import task_management_system.task.entity.TaskRole;
 import task_management_system.task.enums.RoleType;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
+import task_management_system.task.service.TagDictionary;
 import task_management_system.user.entity.User;
 import task_management_system.user.repository.UserRepository;
 
@@ -24,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 @AutoConfigureTestDatabase
+@Import(TagDictionary.class)
 @ExtendWith(MockitoExtension.class)
 class TaskRoleRepositoryTest {
 
@@ -33,6 +36,8 @@ class TaskRoleRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private TaskRepository taskRepository;
+    @Autowired
+    private TagDictionary tagDictionary;
 
     private Task task;
     private User user;
@@ -60,14 +65,11 @@ class TaskRoleRepositoryTest {
                 .createdBy(user)
                 .status(TaskStatus.IN_PROGRESS)
                 .priority(TaskPriority.MEDIUM)
-                .tags(Set.of("jpa-test", "test"))
+                .tags(tagDictionary.resolve(Set.of("jpa-test", "test")))
                 .build();
 
-
-
         taskRepository.saveAndFlush(task);
 
-
         taskRole = new TaskRole();
 
         taskRole.setTask(task);
@@ -122,7 +124,7 @@ class TaskRoleRepositoryTest {
         @Test
         @DisplayName("should find user role on task")
         void withValidTaskAndUser() {
-            Optional<TaskRole> response = underTest.findByTaskAndUser(task, user);
+            Optional<TaskRole> response = underTest.findByTaskIdAndUserId(task.getId(), user.getId());
 
             assertTrue(response.isPresent());
             assertEquals(response.get().getTask(), taskRole.getTask());
@@ -133,7 +135,7 @@ class TaskRoleRepositoryTest {
         @Test
         @DisplayName("should not find role when user do not have role on task")
         void withDifferentTask() {
-            Optional<TaskRole> response = underTest.findByTaskAndUser(task, user2);
+            Optional<TaskRole> response = underTest.findByTaskIdAndUserId(task.getId(), user2.getId());
 
             assertTrue(response.isEmpty());
         }
@@ -146,7 +148,7 @@ class TaskRoleRepositoryTest {
         @Test
         @DisplayName("should find tasks with user and role type")
         void withValidTaskAndUserAndRoleType() {
-            boolean response = underTest.existsByTaskAndUserAndRoleType(task, user, RoleType.CREATOR);
+            boolean response = underTest.existsByTaskIdAndUserIdAndRoleType(task.getId(), user.getId(), RoleType.CREATOR);
 
             assertTrue(response);
         }
@@ -154,7 +156,7 @@ class TaskRoleRepositoryTest {
         @Test
         @DisplayName("should not find task with different user")
         void withDifferentUser() {
-            boolean response = underTest.existsByTaskAndUserAndRoleType(task, user2, RoleType.CREATOR);
+            boolean response = underTest.existsByTaskIdAndUserIdAndRoleType(task.getId(), user2.getId(), RoleType.CREATOR);
 
             assertFalse(response);
         }
@@ -162,9 +164,77 @@ class TaskRoleRepositoryTest {
         @Test
         @DisplayName("should not find task with different role")
         void withIncorrectRole() {
-            boolean response = underTest.existsByTaskAndUserAndRoleType(task, user, RoleType.ASSIGNEE);
+            boolean response = underTest.existsByTaskIdAndUserIdAndRoleType(task.getId(), user.getId(), RoleType.ASSIGNEE);
 
             assertFalse(response);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Roles by User and Task IDs")
+    class RolesByUserAndTaskIds {
+
+        @Test
+        @DisplayName("should return user roles for the requested tasks")
+        void withValidUserAndTaskIds() {
+            List<TaskRoleRepository.TaskRoleView> response = underTest
+                    .findRolesByUserAndTaskIds(user.getId(), Set.of(task.getId(), UUID.randomUUID()));
+
+            assertEquals(1, response.size());
+            assertEquals(task.getId(), response.get(0).getTaskID());
+            assertEquals(RoleType.CREATOR, response.get(0).getRoleType());
+        }
+
+        @Test
+        @DisplayName("should return no roles when user has no role on tasks")
+        void withUserWithoutRole() {
+            List<TaskRoleRepository.TaskRoleView> response = underTest
+                    .findRolesByUserAndTaskIds(user2.getId(), Set.of(task.getId()));
+
+            assertTrue(response.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tasks granted to User")
+    class TasksGrantedBetween {
+
+        @Test
+        @DisplayName("should return tasks whose role was granted in the window")
+        void withRoleGrantedInWindow() {
+            List<Task> response = underTest.findTasksGrantedBetween(user.getId(),
+                    LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusMinutes(1));
+
+            assertEquals(1, response.size());
+            assertEquals(task.getId(), response.get(0).getId());
+        }
+
+        @Test
+        @DisplayName("should not return tasks granted before the window")
+        void withRoleGrantedBeforeWindow() {
+            List<Task> response = underTest.findTasksGrantedBetween(user.getId(),
+                    LocalDateTime.now().plusMinutes(1), LocalDateTime.now().plusMinutes(2));
+
+            assertTrue(response.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Users with Role on Task")
+    class UserIdsWithRole {
+
+        @Test
+        @DisplayName("should return only requested users holding the role")
+        void withSharedRoles() {
+            underTest.saveAllAndFlush(List.of(
+                    TaskRole.builder().task(task).user(user2).roleType(RoleType.SHARED).build(),
+                    TaskRole.builder().task(task).user(user).roleType(RoleType.SHARED).build()
+            ));
+
+            Set<UUID> response = underTest.findUserIdsWithRole(task.getId(), RoleType.SHARED,
+                    List.of(user2.getId(), UUID.randomUUID()));
+
+            assertEquals(Set.of(user2.getId()), response);
+        }
+    }
+}
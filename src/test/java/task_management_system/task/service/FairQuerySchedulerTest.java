@@ -0,0 +1,118 @@
+package task_management_system.task.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import task_management_system.exception.ServiceUnavailableException;
+import task_management_system.exception.TooManyRequest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairQuerySchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final UUID heavyUser = UUID.randomUUID();
+    private final UUID lightUser = UUID.randomUUID();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("should give a waiting user the next slot ahead of another user's backlog")
+    void roundRobinAcrossUsers() throws Exception {
+        FairQueryScheduler underTest = scheduler(5_000, 10);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> running = executor.submit(() -> underTest.execute(heavyUser, 1, () -> {
+            await(release);
+            return order.add("heavy-0");
+        }));
+        awaitRunning(underTest);
+
+        List<Future<?>> queued = new CopyOnWriteArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            String name = "heavy-" + i;
+            queued.add(executor.submit(() -> underTest.execute(heavyUser, 1, () -> order.add(name))));
+            awaitQueued(underTest, i);
+        }
+        queued.add(executor.submit(() -> underTest.execute(lightUser, 1, () -> order.add("light"))));
+        awaitQueued(underTest, 4);
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        for (Future<?> future : queued) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("heavy-0", "heavy-1", "light", "heavy-2", "heavy-3"), order);
+        assertEquals(5, meterRegistry.get("task.query.queue.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("should reject a user whose queue is full and time out waiters")
+    void boundedQueue() throws Exception {
+        FairQueryScheduler underTest = scheduler(200, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> running = executor.submit(() -> underTest.execute(heavyUser, 1, () -> await(release)));
+        awaitRunning(underTest);
+        Future<?> waiting = executor.submit(() -> underTest.execute(heavyUser, 1, () -> true));
+        awaitQueued(underTest, 1);
+
+        assertThrows(TooManyRequest.class, () -> underTest.execute(heavyUser, 1, () -> true));
+
+        ExecutionException timedOut = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceUnavailableException.class, timedOut.getCause());
+        assertEquals(0, underTest.queuedCount());
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertEquals(0, underTest.runningCount());
+        assertEquals(1, meterRegistry.get("task.query.rejected").tag("reason", "queue-full").counter().count());
+        assertEquals(1, meterRegistry.get("task.query.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    @DisplayName("should weigh queries by the rows they read")
+    void costFromRows() {
+        FairQueryScheduler underTest = scheduler(1_000, 1);
+
+        assertEquals(1, underTest.cost(1));
+        assertEquals(1, underTest.cost(20));
+        assertEquals(5, underTest.cost(100));
+    }
+
+    private FairQueryScheduler scheduler(long queueTimeoutMillis, int maxQueuedPerUser) {
+        return new FairQueryScheduler(meterRegistry, true, 1, 1, maxQueuedPerUser, 20, queueTimeoutMillis);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitRunning(FairQueryScheduler scheduler) throws InterruptedException {
+        while (scheduler.runningCount() == 0) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitQueued(FairQueryScheduler scheduler, int queued) throws InterruptedException {
+        while (scheduler.queuedCount() < queued) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package task_management_system.task.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import task_management_system.task.entity.Tag;
+import task_management_system.task.repository.TagRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagDictionaryTest {
+
+    @Mock private TagRepository tagRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+    private TagDictionary underTest;
+
+    @BeforeEach
+    void setup() {
+        underTest = new TagDictionary(tagRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("should answer loaded tags from memory with one shared name")
+    void loaded() {
+        when(tagRepository.findAll()).thenReturn(List.of(tag(1, "Work")));
+        underTest.load();
+
+        String first = underTest.nameOf(1);
+
+        assertEquals("Work", first);
+        assertEquals(1, underTest.idOf("work"));
+        assertSame(first, underTest.nameOf(1));
+        verify(tagRepository, times(1)).findAll();
+        verifyNoMoreInteractions(tagRepository);
+    }
+
+    @Test
+    @DisplayName("should create a new tag once with the spelling first used and reuse its id")
+    void create() {
+        when(tagRepository.findByNameKeyIn(Set.of("home"))).thenReturn(List.of());
+        when(tagRepository.findByNameKey("home")).thenReturn(Optional.empty());
+        when(tagRepository.saveAndFlush(any(Tag.class))).thenReturn(tag(7, "Home"));
+
+        assertEquals(Set.of("Home"), underTest.resolve(Set.of(" Home")));
+        assertEquals(Set.of("Home"), underTest.resolve(Set.of("home")));
+        assertEquals(7, underTest.idOf("home"));
+        assertEquals("Home", underTest.nameOf(7));
+        verify(tagRepository, times(1)).saveAndFlush(argThat(tag ->
+                tag.getName().equals("Home") && tag.getNameKey().equals("home")));
+    }
+
+    @Test
+    @DisplayName("should use the row another node inserted first")
+    void createRace() {
+        when(tagRepository.findByNameKeyIn(Set.of("home"))).thenReturn(List.of());
+        when(tagRepository.findByNameKey("home"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(tag(3, "home")));
+        when(tagRepository.saveAndFlush(any(Tag.class))).thenThrow(new DataIntegrityViolationException("uk_tags_name_key"));
+
+        assertEquals(Set.of("home"), underTest.resolve(Set.of("Home")));
+        assertEquals(3, underTest.idOf("home"));
+    }
+
+    @Test
+    @DisplayName("should treat names differing in case, spacing or Unicode form as one tag")
+    void normalized() {
+        when(tagRepository.findAll()).thenReturn(List.of(tag(1, "Work"), tag(2, "Caf\u00e9")));
+        underTest.load();
+
+        assertEquals(Set.of("Work", "Caf\u00e9"), underTest.resolve(Set.of(" work", "cafe\u0301")));
+        assertEquals(Set.of("Work"), underTest.resolve(Set.of("Work", "WORK ")));
+        assertEquals(1, underTest.idOf("WORK "));
+        assertEquals(2, underTest.idOf("cafe\u0301"));
+        verify(tagRepository, never()).findByNameKeyIn(any());
+    }
+
+    @Test
+    @DisplayName("should never insert a tag while a task is flushed")
+    void unresolved() {
+        assertThrows(IllegalStateException.class, () -> underTest.idOf("home"));
+        verifyNoInteractions(tagRepository);
+    }
+
+    @Test
+    @DisplayName("should look up ids created on another node")
+    void nameOfUnseen() {
+        when(tagRepository.findById(9)).thenReturn(Optional.of(tag(9, "Remote")));
+
+        assertEquals("Remote", underTest.nameOf(9));
+        assertEquals(9, underTest.idOf("remote"));
+    }
+
+    @Test
+    @DisplayName("should keep only existing tags when filtering, without creating any")
+    void known() {
+        when(tagRepository.findAll()).thenReturn(List.of(tag(1, "work")));
+        underTest.load();
+        when(tagRepository.findByNameKeyIn(Set.of("remote", "missing"))).thenReturn(List.of(tag(2, "Remote")));
+
+        assertEquals(Set.of("work", "remote"), underTest.known(Set.of("Work", "remote", "missing")));
+        assertNull(underTest.known(Set.of()));
+        verify(tagRepository, never()).saveAndFlush(any(Tag.class));
+    }
+
+    private static Tag tag(int id, String name) {
+        return new Tag(id, name, TagDictionary.normalize(name));
+    }
+}
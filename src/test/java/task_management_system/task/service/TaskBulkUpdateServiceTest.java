@@ -0,0 +1,167 @@
+package task_management_system.task.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import task_management_system.dto.CustomResponse;
+import task_management_system.exception.BadRequestException;
+import task_management_system.exception.ForbiddenException;
+import task_management_system.exception.NotFoundException;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
+import task_management_system.task.dto.BulkUpdateRequest;
+import task_management_system.task.enums.RoleType;
+import task_management_system.task.enums.TaskPriority;
+import task_management_system.task.enums.TaskStatus;
+import task_management_system.task.repository.TaskRepository;
+import task_management_system.task.repository.TaskRoleRepository;
+import task_management_system.user.dto.AuthUser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBulkUpdateServiceTest {
+
+    @Mock private TaskRepository taskRepository;
+    @Mock private TaskRoleRepository taskRoleRepository;
+    @Mock private TaskCacheManager taskCacheManager;
+    @Mock private OutboxService outboxService;
+    @InjectMocks private TaskBulkUpdateService underTest;
+
+    private AuthUser authUser;
+    private UUID taskID1;
+    private UUID taskID2;
+
+    @BeforeEach
+    void setup() {
+        authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
+
+        taskID1 = UUID.randomUUID();
+        taskID2 = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("should update status of all tasks with one statement")
+    void bulkUpdateStatus() {
+        Set<UUID> taskIDs = Set.of(taskID1, taskID2);
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .task_ids(taskIDs)
+                .status("completed")
+                .build();
+
+        when(taskRoleRepository.findRolesByUserAndTaskIds(authUser.id(), taskIDs))
+                .thenReturn(List.of(role(taskID1, RoleType.CREATOR), role(taskID2, RoleType.ASSIGNEE)));
+        when(taskRepository.lockLiveIdsByIdIn(taskIDs)).thenReturn(taskIDs);
+        when(taskRepository.updateStatusByIdIn(eq(taskIDs), eq(TaskStatus.COMPLETED), any(LocalDateTime.class)))
+                .thenReturn(2);
+
+        CustomResponse response = underTest.bulkUpdate(request, authUser);
+
+        assertEquals("success", response.status());
+        assertEquals("2 tasks updated", response.message());
+
+        verify(taskRepository, never()).updatePriorityByIdIn(any(), any(), any());
+        verify(taskCacheManager).evictTasksFromCache(taskIDs);
+        verify(outboxService).recordAll(eq(OutboxEventType.TASK_UPDATED), argThat(payloads -> payloads.size() == 2));
+    }
+
+    @Test
+    @DisplayName("should update priority when user is creator of all tasks")
+    void bulkUpdatePriority() {
+        Set<UUID> taskIDs = Set.of(taskID1);
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .task_ids(taskIDs)
+                .priority("high")
+                .build();
+
+        when(taskRoleRepository.findRolesByUserAndTaskIds(authUser.id(), taskIDs))
+                .thenReturn(List.of(role(taskID1, RoleType.CREATOR)));
+        when(taskRepository.lockLiveIdsByIdIn(taskIDs)).thenReturn(taskIDs);
+        when(taskRepository.updatePriorityByIdIn(eq(taskIDs), eq(TaskPriority.HIGH), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        CustomResponse response = underTest.bulkUpdate(request, authUser);
+
+        assertEquals("1 tasks updated", response.message());
+        verify(taskCacheManager).evictTasksFromCache(taskIDs);
+    }
+
+    @Test
+    @DisplayName("should reject whole batch when any task is not permitted")
+    void bulkUpdate_forbiddenTask() {
+        Set<UUID> taskIDs = Set.of(taskID1, taskID2);
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .task_ids(taskIDs)
+                .priority("low")
+                .build();
+
+        when(taskRoleRepository.findRolesByUserAndTaskIds(authUser.id(), taskIDs))
+                .thenReturn(List.of(role(taskID1, RoleType.CREATOR), role(taskID2, RoleType.ASSIGNEE)));
+
+        ForbiddenException ex = assertThrows(ForbiddenException.class,
+                () -> underTest.bulkUpdate(request, authUser));
+
+        assertTrue(ex.getMessage().contains(taskID2.toString()));
+        verifyNoInteractions(taskRepository, taskCacheManager, outboxService);
+    }
+
+    @Test
+    @DisplayName("should reject whole batch when any task is soft-deleted")
+    void bulkUpdate_deletedTask() {
+        Set<UUID> taskIDs = Set.of(taskID1, taskID2);
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .task_ids(taskIDs)
+                .status("completed")
+                .build();
+
+        when(taskRoleRepository.findRolesByUserAndTaskIds(authUser.id(), taskIDs))
+                .thenReturn(List.of(role(taskID1, RoleType.CREATOR), role(taskID2, RoleType.CREATOR)));
+        when(taskRepository.lockLiveIdsByIdIn(taskIDs)).thenReturn(Set.of(taskID1));
+
+        NotFoundException ex = assertThrows(NotFoundException.class,
+                () -> underTest.bulkUpdate(request, authUser));
+
+        assertTrue(ex.getMessage().contains(taskID2.toString()));
+        verify(taskRepository, never()).updateStatusByIdIn(any(), any(), any());
+        verifyNoInteractions(taskCacheManager, outboxService);
+    }
+
+    @Test
+    @DisplayName("should reject request without exactly one field")
+    void bulkUpdate_invalidFields() {
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .task_ids(Set.of(taskID1))
+                .status("pending")
+                .priority("low")
+                .build();
+
+        assertThrows(BadRequestException.class, () -> underTest.bulkUpdate(request, authUser));
+        verifyNoInteractions(taskRoleRepository, taskRepository);
+    }
+
+    private TaskRoleRepository.TaskRoleView role(UUID taskID, RoleType roleType) {
+        return new TaskRoleRepository.TaskRoleView() {
+            @Override
+            public UUID getTaskID() {
+                return taskID;
+            }
+
+            @Override
+            public RoleType getRoleType() {
+                return roleType;
+            }
+        };
+    }
+}
@@ -8,17 +8,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.Cache;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import task_management_system.task.entity.Task;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
 import task_management_system.task.repository.TaskRepository;
+import task_management_system.task.store.ListGenerationStore;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @SpringBootTest
 @AutoConfigureTestDatabase
@@ -84,4 +96,57 @@ class TaskCacheManagerTest {
         assertNotNull(cache.get(task.getId(), Task.class));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void testListGenerationIsStableUntilEvicted() {
+        UUID userID = UUID.randomUUID();
+
+        long generation = taskCacheManager.getListGeneration(userID);
+        assertEquals(generation, taskCacheManager.getListGeneration(userID));
+
+        taskCacheManager.evictListGenerations(List.of(userID));
+        assertNotEquals(generation, taskCacheManager.getListGeneration(userID));
+    }
+
+    @Test
+    void testSharedListGenerationSeenByEveryNode() {
+        UUID userID = UUID.randomUUID();
+        ListGenerationStore store = new ListGenerationStore() {
+            private final Map<UUID, Long> generations = new ConcurrentHashMap<>();
+
+            @Override
+            public long get(UUID user) {
+                return generations.computeIfAbsent(user, ignored -> ThreadLocalRandom.current().nextLong());
+            }
+
+            @Override
+            public void evict(Collection<UUID> users) {
+                users.forEach(generations::remove);
+            }
+        };
+        TaskCacheManager nodeA = node(store);
+        TaskCacheManager nodeB = node(store);
+
+        long generation = nodeB.getListGeneration(userID);
+        assertEquals(generation, nodeA.getListGeneration(userID));
+
+        nodeA.evictListGenerations(List.of(userID));
+        assertNotEquals(generation, nodeB.getListGeneration(userID));
+    }
+
+    @Test
+    void testUnavailableSharedStoreNeverRepeatsAGeneration() {
+        ListGenerationStore store = mock(ListGenerationStore.class);
+        when(store.get(any())).thenThrow(new RedisConnectionFailureException("down"));
+        TaskCacheManager node = node(store);
+        UUID userID = UUID.randomUUID();
+
+        assertNotEquals(node.getListGeneration(userID), node.getListGeneration(userID));
+    }
+
+    private TaskCacheManager node(ListGenerationStore store) {
+        return new TaskCacheManager(cacheManager, taskRepository,
+                new StaticListableBeanFactory(Map.of("store", store)).getBeanProvider(ListGenerationStore.class),
+                30000, 100);
+    }
+}
@@ -10,12 +10,17 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import task_management_system.exception.BadRequestException;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
 import task_management_system.task.dto.CreateTaskRequest;
 import task_management_system.task.entity.Task;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
 import task_management_system.task.repository.TaskRepository;
+import task_management_system.user.dto.AuthUser;
 import task_management_system.user.entity.User;
+import task_management_system.user.repository.UserRepository;
 import task_management_system.utils.TaskUtils;
 
 import java.time.LocalDateTime;
@@ -33,18 +38,17 @@ class TaskCreationServiceTest {
     @Mock private TaskUtils taskUtils;
     @Mock private TaskRepository taskRepository;
     @Mock private TaskCacheManager taskCacheManager;
+    @Mock private OutboxService outboxService;
+    @Mock private UserRepository userRepository;
     @InjectMocks private TaskCreationService underTest;
 
     private CreateTaskRequest createRequest;
 
-    private User authUser;
+    private AuthUser authUser;
 
     @BeforeEach
     void setup() {
-        authUser = User.builder()
-                .email("user@email.com")
-                .id(UUID.randomUUID())
-                .build();
+        authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
 
         createRequest = CreateTaskRequest.builder()
                 .title("Create Task Title")
@@ -78,6 +82,9 @@ class TaskCreationServiceTest {
                 return newTask;
             });
 
+            when(userRepository.getReferenceById(authUser.id()))
+                    .thenReturn(User.builder().id(authUser.id()).build());
+
             Task response = underTest.createTask(authUser, createRequest);
 
             ArgumentCaptor<Task> taskCaptor = ArgumentCaptor.forClass(Task.class);
@@ -92,6 +99,7 @@ class TaskCreationServiceTest {
             assertEquals(createRequest.getStatus().toUpperCase(), savedTask.getStatus().toString());
             assertEquals(createRequest.getPriority().toUpperCase(), savedTask.getPriority().toString());
             assertEquals(createRequest.getAssigned_to(), savedTask.getAssignedTo());
+            assertEquals(authUser.id(), savedTask.getCreatedBy().getId());
 
             // assert that the response data is correct
             assertNotNull(response);
@@ -105,6 +113,8 @@ class TaskCreationServiceTest {
             assertEquals(response.getAssignedTo(), savedTask.getAssignedTo());
             assertEquals(response.getCreatedAt(), savedTask.getCreatedAt());
             assertEquals(response.getUpdatedAt(), savedTask.getUpdatedAt());
+
+            verify(outboxService).record(eq(OutboxEventType.TASK_CREATED), any(TaskChangePayload.class));
         }
     }
 
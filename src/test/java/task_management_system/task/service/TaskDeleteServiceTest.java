@@ -1,50 +1,80 @@
 package task_management_system.task.service;
 
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import task_management_system.dto.CustomResponse;
 import task_management_system.exception.ForbiddenException;
+import task_management_system.exception.NotFoundException;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
 import task_management_system.task.entity.Task;
 import task_management_system.task.entity.TaskRole;
+import task_management_system.task.entity.TaskTombstone;
 import task_management_system.task.enums.RoleType;
+import task_management_system.task.repository.SharedTaskRepository;
 import task_management_system.task.repository.TaskRepository;
 import task_management_system.task.repository.TaskRoleRepository;
+import task_management_system.task.repository.TaskTombstoneRepository;
+import task_management_system.user.dto.AuthUser;
 import task_management_system.user.entity.User;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TaskDeleteServiceTest {
 
     @Mock private TaskRepository taskRepository;
     @Mock private TaskRoleRepository taskRoleRepository;
+    @Mock private TaskTombstoneRepository taskTombstoneRepository;
+    @Mock private SharedTaskRepository sharedTaskRepository;
     @Mock private TaskCacheManager taskCacheManager;
-    @InjectMocks private TaskDeleteService underTest;
+    @Mock private OutboxService outboxService;
+    private TaskDeleteService underTest;
 
-    @Test
-    void shouldDeleteTask() {
-        Task task = Task.builder()
+    private Task task;
+    private AuthUser authUser;
+
+    @BeforeEach
+    void setup() {
+        underTest = new TaskDeleteService(taskRepository, taskRoleRepository, taskTombstoneRepository,
+                sharedTaskRepository, taskCacheManager, outboxService, 30);
+
+        task = Task.builder()
                 .id(UUID.randomUUID())
                 .title("Test Task")
                 .build();
 
-        User authUser = User.builder().build();
+        authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
+    }
 
+    @Test
+    void shouldDeleteTask() {
         TaskRole role = TaskRole.builder()
                 .roleType(RoleType.CREATOR)
                 .build();
 
+        List<UUID> affectedUsers = List.of(UUID.randomUUID());
+
         when(taskCacheManager.getTaskFromCache(task.getId())).thenReturn(task);
-        when(taskRoleRepository.findByTaskAndUser(task, authUser))
+        when(taskRoleRepository.findByTaskIdAndUserId(task.getId(), authUser.id()))
                 .thenReturn(Optional.of(role));
+        when(taskRoleRepository.findUserIdsByTaskIds(List.of(task.getId()))).thenReturn(affectedUsers);
+        when(taskRepository.softDelete(eq(task.getId()), any(LocalDateTime.class))).thenReturn(1);
 
         CustomResponse response = underTest.deleteTask(task.getId(), authUser);
 
@@ -52,29 +82,73 @@ class TaskDeleteServiceTest {
         assertEquals("Task with id: " + task.getId() + " deleted", response.message());
 
         verify(taskCacheManager).getTaskFromCache(task.getId());
-        verify(taskRoleRepository).findByTaskAndUser(task, authUser);
-        verify(taskRepository).delete(task);
+        verify(taskRoleRepository).findByTaskIdAndUserId(task.getId(), authUser.id());
+        verify(taskRepository, never()).delete(any(Task.class));
+        verify(taskTombstoneRepository).saveAll(argThat(tombstones -> ((List<TaskTombstone>) tombstones).size() == 1));
         verify(taskCacheManager).evictTaskFromCache(task.getId());
+        verify(taskCacheManager).evictListGenerations(affectedUsers);
+        verify(outboxService).record(eq(OutboxEventType.TASK_DELETED), any(TaskChangePayload.class));
     }
 
     @Test
     void deleteTask_whenUserNotCreator() {
-        Task task = Task.builder()
-                .id(UUID.randomUUID())
-                .title("Test Task")
-                .build();
-
-        User authUser = User.builder().build();
-
         TaskRole role = TaskRole.builder()
                 .roleType(RoleType.ASSIGNEE)
                 .build();
 
         when(taskCacheManager.getTaskFromCache(task.getId())).thenReturn(task);
-        when(taskRoleRepository.findByTaskAndUser(task, authUser))
+        when(taskRoleRepository.findByTaskIdAndUserId(task.getId(), authUser.id()))
                 .thenReturn(Optional.of(role));
 
         assertThrows(ForbiddenException.class,
                 () -> underTest.deleteTask(task.getId(), authUser));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should restore a task deleted within the window")
+    void restoreTask() {
+        task.setDeletedAt(LocalDateTime.now().minusDays(1));
+        task.setCreatedBy(User.builder().id(authUser.id()).build());
+        task.setTags(Set.of());
+
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskRoleRepository.findByTaskIdAndUserId(task.getId(), authUser.id()))
+                .thenReturn(Optional.of(TaskRole.builder().roleType(RoleType.CREATOR).build()));
+        when(taskRoleRepository.findUserIdsByTaskIds(List.of(task.getId()))).thenReturn(List.of(authUser.id()));
+
+        CustomResponse response = underTest.restoreTask(task.getId(), authUser);
+
+        assertEquals("Task with id: " + task.getId() + " restored", response.message());
+        assertNull(task.getDeletedAt());
+        verify(taskRepository).saveAndFlush(task);
+        verify(taskTombstoneRepository).deleteByTaskId(task.getId());
+        verify(outboxService).record(eq(OutboxEventType.TASK_RESTORED), any(TaskChangePayload.class));
+    }
+
+    @Test
+    @DisplayName("should not restore a task deleted before the window")
+    void restoreTask_outsideWindow() {
+        task.setDeletedAt(LocalDateTime.now().minusDays(31));
+
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        assertThrows(NotFoundException.class, () -> underTest.restoreTask(task.getId(), authUser));
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("should purge a chunk of expired tasks with set-based deletes")
+    void purgeDeleted() {
+        List<UUID> taskIDs = List.of(UUID.randomUUID(), UUID.randomUUID());
+        LocalDateTime cutoff = LocalDateTime.now();
+
+        when(taskRepository.findDeletedBefore(eq(cutoff), any())).thenReturn(taskIDs);
+        when(taskRepository.deleteDeletedByIdIn(taskIDs)).thenReturn(2);
+
+        assertEquals(2, underTest.purgeDeleted(cutoff, 500));
+
+        verify(taskRepository).deleteTagsByTaskIdIn(taskIDs);
+        verify(sharedTaskRepository).deleteByTaskIdIn(taskIDs);
+        verify(taskRoleRepository).deleteByTaskIdIn(taskIDs);
+    }
+}
@@ -1,8 +1,10 @@
 package task_management_system.task.service;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -10,15 +12,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import task_management_system.task.dto.GetTasks;
+import task_management_system.task.dto.TaskDto;
+import task_management_system.task.entity.ArchivedTask;
 import task_management_system.task.entity.Task;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
+import task_management_system.task.repository.ArchivedTaskRepository;
 import task_management_system.task.repository.TaskRepository;
+import task_management_system.user.dto.AuthUser;
 import task_management_system.user.entity.User;
+import task_management_system.utils.OffsetPageRequest;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,7 +37,9 @@ import static org.mockito.Mockito.*;
 class TaskQueryServiceTest {
 
     @Mock private TaskRepository taskRepository;
+    @Mock private ArchivedTaskRepository archivedTaskRepository;
     @Mock private TaskCacheManager taskCacheManager;
+    @Mock private TagDictionary tagDictionary;
     @InjectMocks private TaskQueryService underTest;
 
     private Task task;
@@ -38,6 +49,7 @@ class TaskQueryServiceTest {
         task = Task.builder()
                 .id(UUID.randomUUID())
                 .title("Title")
+                .createdBy(User.builder().id(UUID.randomUUID()).build())
                 .build();
     }
 
@@ -45,7 +57,7 @@ class TaskQueryServiceTest {
     void getTaskByID() {
         when(taskCacheManager.getTaskFromCache(task.getId())).thenReturn(task);
 
-        Task response = underTest.getTaskByID(task.getId());
+        TaskDto response = underTest.getTaskByID(task.getId());
 
         assertEquals(response.getId(), task.getId());
         assertEquals(response.getTitle(), task.getTitle());
@@ -59,7 +71,8 @@ class TaskQueryServiceTest {
         GetTasks request = GetTasks.builder()
                 .status(TaskStatus.IN_PROGRESS)
                 .priority(TaskPriority.MEDIUM)
-                .authUser(new User())
+                .tags(Set.of("work", "unknown"))
+                .authUser(new AuthUser(UUID.randomUUID(), "user@email.com", null))
                 .build();
 
         List<Task> tasks = List.of(task);
@@ -67,10 +80,62 @@ class TaskQueryServiceTest {
 
         when(taskRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(mockPage);
 
-        Page<Task> response = underTest.getTasks(pageable, request);
+        Page<TaskDto> response = underTest.getTasks(pageable, request);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
         verify(taskRepository).findAll(any(Specification.class), eq(pageable));
+        verify(tagDictionary).known(Set.of("work", "unknown"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should continue a page into the archive once live tasks run out")
+    void getTasksIncludingArchived() {
+        Pageable pageable = PageRequest.of(1, 10);
+        GetTasks request = GetTasks.builder()
+                .authUser(new AuthUser(UUID.randomUUID(), "user@email.com", null))
+                .includeArchived(true)
+                .build();
+
+        ArchivedTask archived = new ArchivedTask();
+        archived.setId(UUID.randomUUID());
+        archived.setTitle("Archived");
+        archived.setCreatedBy(task.getCreatedBy());
+
+        when(taskRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(task), pageable, 11));
+        when(archivedTaskRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(archived), new OffsetPageRequest(0, 9, Sort.unsorted()), 1));
+
+        Page<TaskDto> response = underTest.getTasksIncludingArchived(pageable, request);
+
+        assertEquals(List.of(task.getId(), archived.getId()),
+                response.getContent().stream().map(TaskDto::getId).toList());
+        assertEquals(12, response.getTotalElements());
+
+        ArgumentCaptor<Pageable> archivePage = ArgumentCaptor.forClass(Pageable.class);
+        verify(archivedTaskRepository).findAll(any(Specification.class), archivePage.capture());
+        assertEquals(0, archivePage.getValue().getOffset());
+        assertEquals(9, archivePage.getValue().getPageSize());
+    }
+
+    @Test
+    @DisplayName("should only count archived tasks when live tasks fill the page")
+    void getTasksIncludingArchived_fullPage() {
+        Pageable pageable = PageRequest.of(0, 1);
+        GetTasks request = GetTasks.builder()
+                .authUser(new AuthUser(UUID.randomUUID(), "user@email.com", null))
+                .includeArchived(true)
+                .build();
+
+        when(taskRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(task), pageable, 3));
+        when(archivedTaskRepository.count(any(Specification.class))).thenReturn(4L);
+
+        Page<TaskDto> response = underTest.getTasksIncludingArchived(pageable, request);
+
+        assertEquals(1, response.getContent().size());
+        assertEquals(7, response.getTotalElements());
+        verify(archivedTaskRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+}
@@ -13,16 +13,18 @@ import org.springframework.data.domain.Pageable;
 import task_management_system.dto.CustomResponse;
 import task_management_system.exception.ForbiddenException;
 import task_management_system.exception.NotFoundException;
+import task_management_system.idempotency.service.IdempotencyService;
 import task_management_system.task.dto.*;
 import task_management_system.task.entity.Task;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
 import task_management_system.task.repository.TaskRepository;
 import task_management_system.task.repository.TaskRoleRepository;
-import task_management_system.user.entity.User;
+import task_management_system.user.dto.AuthUser;
 import task_management_system.utils.TaskUtils;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -44,19 +46,24 @@ class TaskServiceTest {
     private TaskDeleteService taskDeleteService;
     @Mock
     private TaskRoleRepository roleRepository;
+    @Mock
+    private TaskCacheManager taskCacheManager;
+    @Mock
+    private IdempotencyService idempotencyService;
+    @Mock
+    private FairQueryScheduler fairQueryScheduler;
+    @Mock
+    private TagDictionary tagDictionary;
     @InjectMocks
     private TaskService underTest;
 
     private Task task;
-    private User authUser;
+    private AuthUser authUser;
     private TaskDto taskDto;
 
     @BeforeEach
     void setup() {
-        authUser = User.builder()
-                .email("user@email.com")
-                .id(UUID.randomUUID())
-                .build();
+        authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
 
         task = Task.builder()
                 .id(UUID.randomUUID())
@@ -74,18 +81,22 @@ class TaskServiceTest {
     void createTask() {
         CreateTaskRequest createRequest = CreateTaskRequest.builder()
                 .title("Create Task Title")
+                .tags(Set.of(" Work"))
                 .build();
 
         try (MockedStatic<TaskUtils> mockedStatic = mockStatic(TaskUtils.class)) {
             mockedStatic.when(TaskUtils::getAuthenticatedUser).thenReturn(authUser);
             mockedStatic.when(() -> TaskUtils.convertToDto(task)).thenReturn(taskDto);
 
+            when(tagDictionary.resolve(Set.of(" Work"))).thenReturn(Set.of("Work"));
             when(taskCreationService.createTask(authUser, createRequest)).thenReturn(task);
+            runIdempotentAction();
 
-            TaskDto response = underTest.createTask(createRequest);
+            TaskDto response = underTest.createTask(createRequest, null);
 
             assertEquals(response.getId(), taskDto.getId());
             assertEquals(response.getTitle(), taskDto.getTitle());
+            assertEquals(Set.of("Work"), createRequest.getTags());
 
             verify(taskCreationService).createTask(authUser, createRequest);
         }
@@ -96,11 +107,9 @@ class TaskServiceTest {
     void shouldGetTaskByID() {
         try (MockedStatic<TaskUtils> mockedStatic = mockStatic(TaskUtils.class)) {
             mockedStatic.when(TaskUtils::getAuthenticatedUser).thenReturn(authUser);
-            mockedStatic.when(() -> TaskUtils.convertToDto(task)).thenReturn(taskDto);
 
-            when(taskRepository.existsById(task.getId())).thenReturn(true);
-            when(roleRepository.existsByTaskIdAndUserId(task.getId(), authUser.getId())).thenReturn(true);
-            when(taskQueryService.getTaskByID(task.getId())).thenReturn(task);
+            when(roleRepository.existsByTaskIdAndUserId(task.getId(), authUser.id())).thenReturn(true);
+            when(taskQueryService.getTaskByID(task.getId())).thenReturn(taskDto);
 
             TaskDto response = underTest.getTaskByID(task.getId());
 
@@ -108,8 +117,24 @@ class TaskServiceTest {
             assertEquals(taskDto.getTitle(), response.getTitle());
 
             verify(taskQueryService).getTaskByID(task.getId());
-            verify(taskRepository).existsById(task.getId());
-            verify(roleRepository).existsByTaskIdAndUserId(task.getId(), authUser.getId());
+            verify(taskRepository, never()).existsByIdAndDeletedAtIsNull(task.getId());
+            verify(roleRepository).existsByTaskIdAndUserId(task.getId(), authUser.id());
+        }
+    }
+
+    @Test
+    @DisplayName("should return an archived task the user had a role on")
+    void testFindByID_archived() {
+        try (MockedStatic<TaskUtils> mockedStatic = mockStatic(TaskUtils.class)) {
+            mockedStatic.when(TaskUtils::getAuthenticatedUser).thenReturn(authUser);
+
+            when(roleRepository.existsByTaskIdAndUserId(task.getId(), authUser.id())).thenReturn(false);
+            when(taskQueryService.findArchivedTask(task.getId(), authUser.id())).thenReturn(Optional.of(taskDto));
+
+            assertEquals(taskDto, underTest.getTaskByID(task.getId()));
+
+            verify(taskQueryService, never()).getTaskByID(task.getId());
+            verify(taskRepository, never()).existsByIdAndDeletedAtIsNull(task.getId());
         }
     }
 
@@ -119,14 +144,13 @@ class TaskServiceTest {
         try (MockedStatic<TaskUtils> mockedStatic = mockStatic(TaskUtils.class)) {
             mockedStatic.when(TaskUtils::getAuthenticatedUser).thenReturn(authUser);
 
-            when(taskRepository.existsById(task.getId())).thenReturn(false);
+            when(roleRepository.existsByTaskIdAndUserId(task.getId(), authUser.id())).thenReturn(false);
+            when(taskRepository.existsByIdAndDeletedAtIsNull(task.getId())).thenReturn(false);
 
             assertThrows(NotFoundException.class, () -> underTest.getTaskByID(task.getId()));
 
-            verify(taskRepository).existsById(task.getId());
+            verify(taskRepository).existsByIdAndDeletedAtIsNull(task.getId());
             verify(taskQueryService, never()).getTaskByID(task.getId());
-            verify(roleRepository, never())
-                    .existsByTaskIdAndUserId(task.getId(), authUser.getId());
         }
     }
 
@@ -137,16 +161,16 @@ class TaskServiceTest {
             mockedStatic.when(TaskUtils::getAuthenticatedUser).thenReturn(authUser);
             mockedStatic.when(() -> TaskUtils.convertToDto(task)).thenReturn(taskDto);
 
-            when(taskRepository.existsById(task.getId())).thenReturn(true);
-            when(roleRepository.existsByTaskIdAndUserId(task.getId(), authUser.getId()))
+            when(taskRepository.existsByIdAndDeletedAtIsNull(task.getId())).thenReturn(true);
+            when(roleRepository.existsByTaskIdAndUserId(task.getId(), authUser.id()))
                     .thenReturn(false);
 
             assertThrows(ForbiddenException.class,
                     () -> underTest.getTaskByID(task.getId()));
 
 
-            verify(taskRepository).existsById(task.getId());
-            verify(roleRepository).existsByTaskIdAndUserId(task.getId(), authUser.getId());
+            verify(taskRepository).existsByIdAndDeletedAtIsNull(task.getId());
+            verify(roleRepository).existsByTaskIdAndUserId(task.getId(), authUser.id());
             verify(taskQueryService, never()).getTaskByID(task.getId());
         }
     }
@@ -163,15 +187,16 @@ class TaskServiceTest {
                 .authUser(authUser)
                 .build();
 
-        List<Task> tasks = Collections.singletonList(task);
-        Page<Task> taskPage = new PageImpl<>(tasks, pageable, tasks.size());
+        List<TaskDto> tasks = Collections.singletonList(taskDto);
+        Page<TaskDto> taskPage = new PageImpl<>(tasks, pageable, tasks.size());
 
         try (MockedStatic<TaskUtils> mockedStatic = mockStatic(TaskUtils.class)) {
             mockedStatic.when(TaskUtils::getAuthenticatedUser).thenReturn(authUser);
-            mockedStatic.when(() -> TaskUtils.convertToDto(task)).thenReturn(taskDto);
 
             when(taskQueryService.getTasks(pageable, request)).thenReturn(taskPage);
-            PaginatedResponse<TaskDto> response = underTest.getTasks(pageable, null, null, null);
+            when(fairQueryScheduler.execute(eq(authUser.id()), anyInt(), any()))
+                    .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+            PaginatedResponse<TaskDto> response = underTest.getTasks(pageable, null, null, null, false);
 
             assertEquals(1, response.getTotalPages(), "Expected one total page");
             assertEquals(10, response.getSize(), "Expected page size of 10");
@@ -179,6 +204,25 @@ class TaskServiceTest {
         }
     }
 
+    @Test
+    @DisplayName("should derive list ETag from user generation and filters")
+    void shouldBuildTasksETag() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        try (MockedStatic<TaskUtils> mockedStatic = mockStatic(TaskUtils.class)) {
+            mockedStatic.when(TaskUtils::getAuthenticatedUser).thenReturn(authUser);
+
+            when(taskCacheManager.getListGeneration(authUser.id())).thenReturn(7L, 7L, 7L, 8L);
+
+            String eTag = underTest.getTasksETag(pageable, null, null, null, false);
+
+            assertEquals(eTag, underTest.getTasksETag(pageable, null, null, null, false));
+            assertNotEquals(eTag, underTest.getTasksETag(pageable, TaskStatus.PENDING, null, null, false));
+            assertNotEquals(eTag, underTest.getTasksETag(pageable, null, null, null, false));
+            verifyNoInteractions(taskQueryService);
+        }
+    }
+
     @Test
     @DisplayName("should update a task")
     void shouldUpdateTAsk() {
@@ -189,16 +233,16 @@ class TaskServiceTest {
         try (MockedStatic<TaskUtils> mockedStatic = mockStatic(TaskUtils.class)) {
             mockedStatic.when(TaskUtils::getAuthenticatedUser).thenReturn(authUser);
 
-            when(taskUpdateService.updateTask(task.getId(), request, authUser))
+            when(taskUpdateService.updateTask(task.getId(), request, authUser, 1L))
                     .thenReturn(new CustomResponse("s", "success"));
 
 
-            CustomResponse response = underTest.updateTask(task.getId(), request);
+            CustomResponse response = underTest.updateTask(task.getId(), request, 1L);
 
             assertEquals("s", response.status());
             assertEquals("success", response.message());
 
-            verify(taskUpdateService).updateTask(task.getId(), request, authUser);
+            verify(taskUpdateService).updateTask(task.getId(), request, authUser, 1L);
         }
     }
 
@@ -213,16 +257,18 @@ class TaskServiceTest {
         try (MockedStatic<TaskUtils> mockedStatic = mockStatic(TaskUtils.class)) {
             mockedStatic.when(TaskUtils::getAuthenticatedUser).thenReturn(authUser);
 
-            when(roleRepository.existsByTaskIdAndUserId(task.getId(), authUser.getId())).thenReturn(true);
+            when(roleRepository.existsByTaskIdAndUserId(task.getId(), authUser.id())).thenReturn(true);
             when(taskShareService.shareTask(request, task.getId()))
                     .thenReturn(new CustomResponse("success", "Task shared"));
 
-            CustomResponse response = underTest.shareTask(request, task.getId());
+            runIdempotentAction();
+
+            CustomResponse response = underTest.shareTask(request, task.getId(), "share-key");
 
             assertEquals("success", response.status());
             assertEquals("Task shared", response.message());
 
-            verify(roleRepository).existsByTaskIdAndUserId(task.getId(), authUser.getId());
+            verify(roleRepository).existsByTaskIdAndUserId(task.getId(), authUser.id());
             verify(taskShareService).shareTask(request, task.getId());
         }
     }
@@ -244,4 +290,9 @@ class TaskServiceTest {
             verify(taskDeleteService, times(1)).deleteTask(task.getId(), authUser);
         }
     }
-}
\ No newline at end of file
+
+    private void runIdempotentAction() {
+        when(idempotencyService.execute(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
+    }
+}
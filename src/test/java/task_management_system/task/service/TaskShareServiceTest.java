@@ -1,5 +1,6 @@
 package task_management_system.task.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,44 +8,61 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import task_management_system.dto.CustomResponse;
+import task_management_system.exception.NotFoundException;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
+import task_management_system.task.dto.BatchShareRequest;
+import task_management_system.task.dto.BatchShareResponse;
 import task_management_system.task.dto.ShareRequest;
-import task_management_system.task.entity.SharedTask;
+import task_management_system.task.dto.ShareResult;
 import task_management_system.task.entity.Task;
 import task_management_system.task.enums.RoleType;
+import task_management_system.task.enums.ShareStatus;
 import task_management_system.task.repository.SharedTaskRepository;
+import task_management_system.task.repository.TaskRoleRepository;
 import task_management_system.user.entity.User;
-import task_management_system.utils.TaskUtils;
+import task_management_system.user.repository.UserRepository;
 
-import java.util.UUID;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TaskShareServiceTest {
 
-    @Mock private TaskUtils taskUtils;
+    @Mock private UserRepository userRepository;
     @Mock private SharedTaskRepository sharedTaskRepository;
+    @Mock private TaskRoleRepository taskRoleRepository;
     @Mock private TaskCacheManager taskCacheManager;
+    @Mock private OutboxService outboxService;
     @InjectMocks private TaskShareService underTest;
 
-    @Test
-    @DisplayName("should share task")
-    void shareTaskTest() {
-        Task task = Task.builder()
+    private Task task;
+
+    @BeforeEach
+    void setup() {
+        task = Task.builder()
                 .id(UUID.randomUUID())
                 .title("Task title")
                 .build();
+    }
 
+    @Test
+    @DisplayName("should share task")
+    void shareTaskTest() {
         ShareRequest request = ShareRequest.builder()
                 .email("test@share.com")
                 .build();
 
-        User user = User.builder().build();
+        User user = user(request.getEmail());
 
         when(taskCacheManager.getTaskFromCache(task.getId())).thenReturn(task);
-        when(taskUtils.assignRole(request.getEmail(), task, RoleType.SHARED)).thenReturn(user);
+        when(userRepository.findByEmailIn(Set.of(request.getEmail()))).thenReturn(List.of(user));
+        when(taskRoleRepository.findUserIdsWithRole(task.getId(), RoleType.SHARED, List.of(user.getId())))
+                .thenReturn(Set.of());
 
         CustomResponse response = underTest.shareTask(request, task.getId());
 
@@ -52,7 +70,70 @@ class TaskShareServiceTest {
         assertEquals("Task shared with " + request.getEmail(), response.message());
 
         verify(taskCacheManager).getTaskFromCache(task.getId());
-        verify(taskUtils).assignRole(request.getEmail(), task, RoleType.SHARED);
-        verify(sharedTaskRepository).save(any(SharedTask.class));
+        verify(taskRoleRepository).saveAll(argThat(roles -> roles.iterator().hasNext()));
+        verify(sharedTaskRepository).saveAll(anyList());
+        verify(taskCacheManager).evictListGenerations(List.of(user.getId()));
+        verify(outboxService).record(eq(OutboxEventType.TASK_SHARED), any(TaskChangePayload.class));
+    }
+
+    @Test
+    @DisplayName("should fail single share when user does not exist")
+    void shareTask_unknownUser() {
+        ShareRequest request = ShareRequest.builder()
+                .email("missing@share.com")
+                .build();
+
+        when(taskCacheManager.getTaskFromCache(task.getId())).thenReturn(task);
+        when(userRepository.findByEmailIn(Set.of(request.getEmail()))).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> underTest.shareTask(request, task.getId()));
+        verifyNoInteractions(sharedTaskRepository, outboxService);
+    }
+
+    @Test
+    @DisplayName("should share with many recipients in one write and report each outcome")
+    void shareTaskBatch() {
+        User existing = user("existing@share.com");
+        User fresh = user("new@share.com");
+        User editor = user("editor@share.com");
+
+        BatchShareRequest request = BatchShareRequest.builder()
+                .recipients(List.of(
+                        ShareRequest.builder().email(existing.getEmail()).build(),
+                        ShareRequest.builder().email(fresh.getEmail()).build(),
+                        ShareRequest.builder().email("Editor@Share.com").can_edit(true).build(),
+                        ShareRequest.builder().email("missing@share.com").build(),
+                        ShareRequest.builder().email(fresh.getEmail()).build()
+                ))
+                .build();
+
+        when(taskCacheManager.getTaskFromCache(task.getId())).thenReturn(task);
+        when(userRepository.findByEmailIn(anyCollection())).thenReturn(List.of(existing, fresh, editor));
+        when(taskRoleRepository.findUserIdsWithRole(eq(task.getId()), eq(RoleType.SHARED), anyCollection()))
+                .thenReturn(Set.of(existing.getId()));
+
+        BatchShareResponse response = underTest.shareTask(request, task.getId());
+
+        assertEquals(2, response.shared());
+        assertEquals(2, response.skipped());
+        assertEquals(List.of(
+                new ShareResult(existing.getEmail(), ShareStatus.ALREADY_SHARED),
+                new ShareResult(fresh.getEmail(), ShareStatus.SHARED),
+                new ShareResult("Editor@Share.com", ShareStatus.SHARED),
+                new ShareResult("missing@share.com", ShareStatus.USER_NOT_FOUND)
+        ), response.results());
+
+        verify(userRepository, times(1)).findByEmailIn(anyCollection());
+        verify(taskRoleRepository).saveAll(argThat(roles -> ((List<?>) roles).size() == 2));
+        verify(taskCacheManager).evictListGenerations(List.of(fresh.getId(), editor.getId()));
+        verify(outboxService).record(eq(OutboxEventType.TASK_SHARED),
+                argThat(payload -> payload.changes().get("can_edit").equals(List.of(editor.getId()))));
+    }
+
+    private User user(String email) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email(email)
+                .build();
     }
-}
\ No newline at end of file
+}
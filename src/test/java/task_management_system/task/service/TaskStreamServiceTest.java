@@ -0,0 +1,206 @@
+package task_management_system.task.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import task_management_system.outbox.dto.TaskChangeEvent;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskStreamServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<CapturingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private TaskStreamService underTest;
+
+    private UUID userID;
+    private UUID otherUserID;
+
+    @BeforeEach
+    void setup() {
+        underTest = new TaskStreamService(objectMapper, new SimpleMeterRegistry(), 60_000, 4, 3, 2, 1) {
+            @Override
+            SseEmitter newEmitter() {
+                CapturingEmitter emitter = new CapturingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        userID = UUID.randomUUID();
+        otherUserID = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    @DisplayName("should push events only to users on the task")
+    void fanOutToTaskUsers() throws Exception {
+        underTest.subscribe(userID, null);
+        underTest.subscribe(otherUserID, null);
+
+        underTest.onTaskChange(event(1, List.of(userID)));
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> emitters.get(0).sent.size() == 1);
+        assertTrue(eventID(emitters.get(0).sent.get(0)).endsWith("-1"));
+        assertTrue(emitters.get(0).sent.get(0).contains("event:task_updated"));
+        assertFalse(emitters.get(0).sent.get(0).contains(userID.toString()));
+        assertTrue(emitters.get(1).sent.isEmpty());
+    }
+
+    @Test
+    @DisplayName("should replay buffered events after Last-Event-ID")
+    void resumeFromLastEventID() throws Exception {
+        underTest.subscribe(userID, null);
+        underTest.onTaskChange(event(1, List.of(userID)));
+        await().atMost(Duration.ofSeconds(2)).until(() -> emitters.get(0).sent.size() == 1);
+        String lastEventID = eventID(emitters.get(0).sent.get(0));
+
+        underTest.onTaskChange(event(2, List.of(otherUserID)));
+        underTest.onTaskChange(event(3, List.of(userID)));
+        underTest.subscribe(userID, lastEventID);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> emitters.get(1).sent.size() == 1);
+        assertEquals(emitters.get(0).sent.get(1), emitters.get(1).sent.get(0));
+        assertTrue(eventID(emitters.get(1).sent.get(0)).endsWith("-3"));
+    }
+
+    @Test
+    @DisplayName("should replay an event relayed out of outbox id order")
+    void resumeAcrossOutOfOrderIDs() throws Exception {
+        underTest.subscribe(userID, null);
+        underTest.onTaskChange(event(5, List.of(userID)));
+        await().atMost(Duration.ofSeconds(2)).until(() -> emitters.get(0).sent.size() == 1);
+        String lastEventID = eventID(emitters.get(0).sent.get(0));
+
+        // a retried event from another partition arrives after a newer one
+        underTest.onTaskChange(event(4, List.of(userID)));
+        underTest.subscribe(userID, lastEventID);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> emitters.get(1).sent.size() == 1);
+        assertEquals(emitters.get(0).sent.get(1), emitters.get(1).sent.get(0));
+    }
+
+    @Test
+    @DisplayName("should ask the client to resync when its position fell out of the buffer")
+    void resetWhenReplayGap() throws Exception {
+        underTest.subscribe(userID, null);
+        underTest.onTaskChange(event(1, List.of(userID)));
+        await().atMost(Duration.ofSeconds(2)).until(() -> emitters.get(0).sent.size() == 1);
+        String lastEventID = eventID(emitters.get(0).sent.get(0));
+
+        for (long id = 2; id <= 5; id++) {
+            underTest.onTaskChange(event(id, List.of(otherUserID)));
+        }
+        underTest.subscribe(userID, lastEventID);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> emitters.get(1).sent.size() == 1);
+        assertTrue(emitters.get(1).sent.get(0).contains("event:reset"));
+    }
+
+    @Test
+    @DisplayName("should ask the client to resync when its id came from another node or run")
+    void resetWhenResumingFromAnotherEpoch() throws Exception {
+        underTest.onTaskChange(event(10, List.of(userID)));
+
+        underTest.subscribe(userID, "0badcafe-1");
+        underTest.subscribe(otherUserID, "9");
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> emitters.get(0).sent.size() == 1
+                && emitters.get(1).sent.size() == 1);
+        assertTrue(emitters.get(0).sent.get(0).contains("event:reset"));
+        assertTrue(emitters.get(1).sent.get(0).contains("event:reset"));
+    }
+
+    @Test
+    @DisplayName("should not send a replayed event again live")
+    void replayOnce() throws Exception {
+        underTest.subscribe(otherUserID, null);
+        underTest.onTaskChange(event(1, List.of(userID, otherUserID)));
+        await().atMost(Duration.ofSeconds(2)).until(() -> emitters.get(0).sent.size() == 1);
+        String lastEventID = eventID(emitters.get(0).sent.get(0));
+
+        underTest.onTaskChange(event(2, List.of(userID)));
+        underTest.subscribe(userID, lastEventID);
+        underTest.onTaskChange(event(3, List.of(userID)));
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> emitters.get(1).sent.size() == 2);
+        assertTrue(eventID(emitters.get(1).sent.get(0)).endsWith("-2"));
+        assertTrue(eventID(emitters.get(1).sent.get(1)).endsWith("-3"));
+    }
+
+    @Test
+    @DisplayName("should close the oldest connection when the per-user limit is reached")
+    void limitConnectionsPerUser() {
+        underTest.subscribe(userID, null);
+        underTest.subscribe(userID, null);
+        underTest.subscribe(userID, null);
+
+        assertEquals(2, underTest.connectionCount());
+        assertEquals(1, emitters.stream().filter(emitter -> emitter.completed).count());
+    }
+
+    @Test
+    @DisplayName("should drop a connection whose queue overflows")
+    void dropSlowConsumer() throws Exception {
+        underTest.subscribe(userID, null);
+        emitters.get(0).block = true;
+
+        for (long id = 1; id <= 10; id++) {
+            underTest.onTaskChange(event(id, List.of(userID)));
+        }
+
+        assertEquals(0, underTest.connectionCount());
+        emitters.get(0).block = false;
+    }
+
+    private static String eventID(String sent) {
+        int start = sent.indexOf("id:") + 3;
+        return sent.substring(start, sent.indexOf('\n', start));
+    }
+
+    private TaskChangeEvent event(long id, List<UUID> userIDs) throws Exception {
+        TaskChangePayload payload = new TaskChangePayload(UUID.randomUUID(), userIDs, null, Map.of("status", "COMPLETED"));
+        return new TaskChangeEvent(id, payload.taskID(), OutboxEventType.TASK_UPDATED,
+                objectMapper.writeValueAsString(payload), LocalDateTime.now());
+    }
+
+    private static class CapturingEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private volatile boolean block;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            while (block) {
+                Thread.onSpinWait();
+            }
+            sent.add(builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package task_management_system.task.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import task_management_system.exception.BadRequestException;
+import task_management_system.task.dto.TaskChangesResponse;
+import task_management_system.task.entity.Task;
+import task_management_system.task.entity.TaskTombstone;
+import task_management_system.task.enums.TaskPriority;
+import task_management_system.task.enums.TaskStatus;
+import task_management_system.task.enums.TombstoneReason;
+import task_management_system.task.repository.TaskRepository;
+import task_management_system.task.repository.TaskRoleRepository;
+import task_management_system.task.repository.TaskTombstoneRepository;
+import task_management_system.user.dto.AuthUser;
+import task_management_system.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSyncServiceTest {
+
+    @Mock private TaskRepository taskRepository;
+    @Mock private TaskRoleRepository taskRoleRepository;
+    @Mock private TaskTombstoneRepository taskTombstoneRepository;
+    private TaskSyncService underTest;
+
+    private AuthUser authUser;
+
+    @BeforeEach
+    void setup() {
+        underTest = new TaskSyncService(taskRepository, taskRoleRepository, taskTombstoneRepository, 2, 5000, 30);
+        authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
+    }
+
+    @Test
+    @DisplayName("should do a full sync without tombstones when no watermark is given")
+    void fullSync() {
+        Task task = task(LocalDateTime.now().minusHours(1));
+        when(taskRepository.findChangedForUser(eq(authUser.id()), any(), isNull(), any()))
+                .thenReturn(List.of(task));
+
+        TaskChangesResponse response = underTest.getChanges(null, authUser);
+
+        assertEquals(1, response.getChanged().size());
+        assertTrue(response.getRemoved().isEmpty());
+        assertFalse(response.isHas_more());
+        assertNotNull(response.getWatermark());
+        verifyNoInteractions(taskTombstoneRepository, taskRoleRepository);
+    }
+
+    @Test
+    @DisplayName("should continue from the last task of a full page")
+    void pagedSync() {
+        LocalDateTime updatedAt = LocalDateTime.now().minusHours(1);
+        Task first = task(updatedAt);
+        Task second = task(updatedAt);
+        when(taskRepository.findChangedForUser(eq(authUser.id()), any(), isNull(), any()))
+                .thenReturn(List.of(first, second, task(updatedAt)));
+
+        TaskChangesResponse page = underTest.getChanges(null, authUser);
+
+        assertTrue(page.isHas_more());
+        assertEquals(2, page.getChanged().size());
+
+        when(taskRepository.findChangedForUser(authUser.id(), updatedAt, second.getId(), PageRequest.of(0, 3)))
+                .thenReturn(List.of());
+
+        TaskChangesResponse next = underTest.getChanges(page.getWatermark(), authUser);
+
+        assertFalse(next.isHas_more());
+        verify(taskTombstoneRepository).findByUserBetween(eq(authUser.id()), eq(updatedAt), any());
+    }
+
+    @Test
+    @DisplayName("should return newly shared tasks and tombstones for a delta")
+    void deltaSync() {
+        String watermark = underTest.getChanges(null, authUser).getWatermark();
+        Task shared = task(LocalDateTime.now().minusDays(3));
+        TaskTombstone tombstone = TaskTombstone.builder()
+                .taskId(UUID.randomUUID())
+                .userId(authUser.id())
+                .reason(TombstoneReason.DELETED)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        when(taskRoleRepository.findTasksGrantedBetween(eq(authUser.id()), any(), any())).thenReturn(List.of(shared));
+        when(taskTombstoneRepository.findByUserBetween(eq(authUser.id()), any(), any())).thenReturn(List.of(tombstone));
+
+        TaskChangesResponse response = underTest.getChanges(watermark, authUser);
+
+        assertEquals(shared.getId(), response.getChanged().get(0).getId());
+        assertEquals(tombstone.getTaskId(), response.getRemoved().get(0).task_id());
+        assertFalse(response.isReset());
+    }
+
+    @Test
+    @DisplayName("should reject a malformed watermark")
+    void invalidWatermark() {
+        assertThrows(BadRequestException.class, () -> underTest.getChanges("not-a-watermark", authUser));
+        verifyNoInteractions(taskRepository);
+    }
+
+    private Task task(LocalDateTime updatedAt) {
+        return Task.builder()
+                .id(UUID.randomUUID())
+                .title("Task")
+                .description("Task description")
+                .dueDate(LocalDateTime.now())
+                .status(TaskStatus.PENDING)
+                .priority(TaskPriority.LOW)
+                .tags(Set.of())
+                .createdBy(User.builder().id(authUser.id()).build())
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
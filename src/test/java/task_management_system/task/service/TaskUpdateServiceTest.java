@@ -7,8 +7,14 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import task_management_system.dto.CustomResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import task_management_system.exception.BadRequestException;
+import task_management_system.exception.ConflictException;
 import task_management_system.exception.ForbiddenException;
+import task_management_system.exception.PreconditionFailedException;
+import task_management_system.outbox.dto.TaskChangePayload;
+import task_management_system.outbox.enums.OutboxEventType;
+import task_management_system.outbox.service.OutboxService;
 import task_management_system.task.dto.UpdateTask;
 import task_management_system.task.entity.Task;
 import task_management_system.task.entity.TaskRole;
@@ -17,6 +23,7 @@ import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
 import task_management_system.task.repository.TaskRepository;
 import task_management_system.task.repository.TaskRoleRepository;
+import task_management_system.user.dto.AuthUser;
 import task_management_system.user.entity.User;
 import task_management_system.user.repository.UserRepository;
 import task_management_system.utils.TaskUtils;
@@ -35,6 +42,7 @@ class TaskUpdateServiceTest {
     @Mock private TaskRoleRepository taskRoleRepository;
     @Mock private TaskCacheManager taskCacheManager;
     @Mock private UserRepository userRepository;
+    @Mock private OutboxService outboxService;
     @InjectMocks private  TaskUpdateService underTest;
 
 
@@ -45,8 +53,7 @@ class TaskUpdateServiceTest {
         request.setTitle("Updated Title");
         request.setStatus("IN_PROGRESS");
 
-        User authUser = new User();
-        authUser.setId(UUID.randomUUID());
+        AuthUser authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
 
         Task task = new Task();
         task.setId(taskId);
@@ -56,14 +63,14 @@ class TaskUpdateServiceTest {
 
         TaskStatus status = TaskStatus.IN_PROGRESS;
 
-        when(taskCacheManager.getTaskFromCache(taskId)).thenReturn(task);
-        when(taskRoleRepository.findByTaskAndUser(task, authUser)).thenReturn(Optional.of(role));
+        when(taskRepository.findByIdAndDeletedAtIsNull(taskId)).thenReturn(Optional.of(task));
+        when(taskRoleRepository.findByTaskIdAndUserId(taskId, authUser.id())).thenReturn(Optional.of(role));
 
         try (MockedStatic<TaskUtils> mockedStatic = mockStatic(TaskUtils.class)) {
             mockedStatic.when(() -> TaskUtils.parseEnum(TaskStatus.class, "IN_PROGRESS"))
                     .thenReturn(status);
 
-            CustomResponse response = underTest.updateTask(taskId, request, authUser);
+            CustomResponse response = underTest.updateTask(taskId, request, authUser, null);
 
             assertNotNull(response);
             assertEquals("success", response.status());
@@ -72,6 +79,7 @@ class TaskUpdateServiceTest {
             verify(taskRepository).saveAndFlush(task);
             verify(taskCacheManager).evictTaskFromCache(taskId);
             verify(taskCacheManager).addTaskToCache(task);
+            verify(outboxService).record(eq(OutboxEventType.TASK_UPDATED), any(TaskChangePayload.class));
         }
     }
 
@@ -79,15 +87,12 @@ class TaskUpdateServiceTest {
     void testUpdateTask_UnauthorizedAccess() {
         UUID taskId = UUID.randomUUID();
         UpdateTask request = new UpdateTask();
-        User authUser = new User();
-        authUser.setId(UUID.randomUUID());
-        Task task = new Task();
+        AuthUser authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
 
-        when(taskCacheManager.getTaskFromCache(taskId)).thenReturn(task);
-        when(taskRoleRepository.findByTaskAndUser(task, authUser)).thenReturn(Optional.empty());
+        when(taskRoleRepository.findByTaskIdAndUserId(taskId, authUser.id())).thenReturn(Optional.empty());
 
         assertThrows(ForbiddenException.class, () ->
-                underTest.updateTask(taskId, request, authUser));
+                underTest.updateTask(taskId, request, authUser, null));
     }
 
     @Test
@@ -96,8 +101,7 @@ class TaskUpdateServiceTest {
         UpdateTask request = new UpdateTask();
         request.setStatus("INVALID_STATUS");
 
-        User authUser = new User();
-        authUser.setId(UUID.randomUUID());
+        AuthUser authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
 
         TaskRole role = new TaskRole();
         role.setRoleType(RoleType.CREATOR);
@@ -107,7 +111,7 @@ class TaskUpdateServiceTest {
                     .thenThrow(BadRequestException.class);
 
             assertThrows(BadRequestException.class, () ->
-                    underTest.updateTask(taskId, request, authUser));
+                    underTest.updateTask(taskId, request, authUser, null));
         }
     }
 
@@ -117,8 +121,7 @@ class TaskUpdateServiceTest {
         UpdateTask request = new UpdateTask();
         request.setPriority("INVALID_PRIORITY");
 
-        User authUser = new User();
-        authUser.setId(UUID.randomUUID());
+        AuthUser authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
 
         TaskRole role = new TaskRole();
         role.setRoleType(RoleType.CREATOR);
@@ -128,7 +131,7 @@ class TaskUpdateServiceTest {
                     .thenThrow(BadRequestException.class);
 
             assertThrows(BadRequestException.class, () ->
-                    underTest.updateTask(taskId, request, authUser));
+                    underTest.updateTask(taskId, request, authUser, null));
         }
     }
 
@@ -138,20 +141,89 @@ class TaskUpdateServiceTest {
         UpdateTask request = new UpdateTask();
         request.setAssigned_to("nonexistent@example.com");
 
-        User authUser = new User();
-        authUser.setId(UUID.randomUUID());
+        AuthUser authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
 
         Task task = new Task();
+        task.setCreatedBy(User.builder().id(authUser.id()).build());
         TaskRole role = new TaskRole();
         role.setRoleType(RoleType.CREATOR);
 
-        when(taskCacheManager.getTaskFromCache(taskId)).thenReturn(task);
-        when(taskRoleRepository.findByTaskAndUser(task, authUser)).thenReturn(Optional.of(role));
+        when(taskRepository.findByIdAndDeletedAtIsNull(taskId)).thenReturn(Optional.of(task));
+        when(taskRoleRepository.findByTaskIdAndUserId(taskId, authUser.id())).thenReturn(Optional.of(role));
         when(userRepository.existsByEmail("nonexistent@example.com")).thenReturn(false);
 
-        CustomResponse response = underTest.updateTask(taskId, request, authUser);
+        CustomResponse response = underTest.updateTask(taskId, request, authUser, null);
 
         assertNotNull(response);
         verify(taskUtils, never()).assignRole(anyString(), any(Task.class), any(RoleType.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateTask_VersionMismatch() {
+        UUID taskId = UUID.randomUUID();
+        UpdateTask request = new UpdateTask();
+        request.setTitle("Updated Title");
+
+        AuthUser authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
+
+        Task task = new Task();
+        task.setId(taskId);
+        task.setVersion(3L);
+
+        TaskRole role = new TaskRole();
+        role.setRoleType(RoleType.CREATOR);
+
+        when(taskRoleRepository.findByTaskIdAndUserId(taskId, authUser.id())).thenReturn(Optional.of(role));
+        when(taskRepository.findByIdAndDeletedAtIsNull(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(PreconditionFailedException.class, () ->
+                underTest.updateTask(taskId, request, authUser, 2L));
+
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void testUpdateTask_VersionCheckAfterAuthorization() {
+        UUID taskId = UUID.randomUUID();
+        UpdateTask request = new UpdateTask();
+        request.setTitle("Updated Title");
+
+        AuthUser authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
+
+        when(taskRoleRepository.findByTaskIdAndUserId(taskId, authUser.id())).thenReturn(Optional.empty());
+
+        assertThrows(ForbiddenException.class, () ->
+                underTest.updateTask(taskId, request, authUser, 2L));
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void testUpdateTask_ConcurrentModification() {
+        UUID taskId = UUID.randomUUID();
+        UpdateTask request = new UpdateTask();
+        request.setTitle("Updated Title");
+
+        AuthUser authUser = new AuthUser(UUID.randomUUID(), "user@email.com", null);
+
+        Task task = new Task();
+        task.setId(taskId);
+        task.setVersion(3L);
+
+        TaskRole role = new TaskRole();
+        role.setRoleType(RoleType.CREATOR);
+
+        when(taskRepository.findByIdAndDeletedAtIsNull(taskId)).thenReturn(Optional.of(task));
+        when(taskRoleRepository.findByTaskIdAndUserId(taskId, authUser.id())).thenReturn(Optional.of(role));
+        when(taskRepository.saveAndFlush(task))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, taskId));
+
+        assertThrows(PreconditionFailedException.class, () ->
+                underTest.updateTask(taskId, request, authUser, 3L));
+        assertThrows(ConflictException.class, () ->
+                underTest.updateTask(taskId, request, authUser, null));
+
+        verify(taskCacheManager, times(2)).evictTaskFromCache(taskId);
+        verify(taskCacheManager, never()).addTaskToCache(task);
+    }
+}
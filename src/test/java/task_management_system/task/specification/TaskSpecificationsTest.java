@@ -9,7 +9,6 @@ import org.springframework.data.jpa.domain.Specification;
 import task_management_system.task.entity.Task;
 import task_management_system.task.enums.TaskPriority;
 import task_management_system.task.enums.TaskStatus;
-import task_management_system.user.entity.User;
 
 import java.util.Set;
 import java.util.UUID;
@@ -41,6 +40,20 @@ class TaskSpecificationsTest {
         verify(builder, times(1)).equal(path, TaskStatus.COMPLETED);
     }
 
+    @Test
+    void testNotDeletedSpecification() {
+        Specification<Task> spec = TaskSpecifications.notDeleted();
+
+        Path<Object> path = mock(Path.class);
+        when(root.get("deletedAt")).thenReturn(path);
+        when(builder.isNull(path)).thenReturn(predicate);
+
+        Predicate response = spec.toPredicate(root, query, builder);
+
+        assertNotNull(response);
+        verify(builder, times(1)).isNull(path);
+    }
+
     @Test
     void testHasPrioritySpecification() {
         Specification<Task> spec = TaskSpecifications.hasPriority(TaskPriority.LOW);
@@ -61,34 +74,40 @@ class TaskSpecificationsTest {
         Set<String> tags = Set.of("tag1", "tag2");
         Specification<Task> spec = TaskSpecifications.hasTags(tags);
 
-        Path<String> tagPath = mock(Path.class);
-        when(root.get("tags")).thenReturn((Path) tagPath);
+        Subquery<Integer> subquery = mock(Subquery.class);
+        Root<Task> correlated = mock(Root.class);
+        Join<Object, Object> tagJoin = mock(Join.class);
+        Expression<Integer> one = mock(Expression.class);
+        Predicate tagPredicate = mock(Predicate.class);
 
-        Predicate tagPredicate1 = mock(Predicate.class);
-        Predicate tagPredicate2 = mock(Predicate.class);
-        Predicate disjunction = mock(Predicate.class);
+        when(query.subquery(Integer.class)).thenReturn(subquery);
+        when(subquery.correlate(root)).thenReturn(correlated);
+        when(correlated.join("tags")).thenReturn(tagJoin);
+        when(builder.literal(1)).thenReturn(one);
+        when(subquery.select(one)).thenReturn(subquery);
+        when(tagJoin.in(tags)).thenReturn(tagPredicate);
+        when(builder.exists(subquery)).thenReturn(predicate);
 
-        when(builder.disjunction()).thenReturn(disjunction);
-
-        when(builder.isMember("tag1", (Path) tagPath)).thenReturn(tagPredicate1);
-        when(builder.isMember("tag2", (Path) tagPath)).thenReturn(tagPredicate2);
+        Predicate response = spec.toPredicate(root, query, builder);
 
-        doAnswer(invocation -> {
-            Object[] args = invocation.getArguments();
-            return mock(Predicate.class); // Return a new Predicate for each OR operation
-        }).when(builder).or(any(Predicate.class), any(Predicate.class));
+        assertEquals(predicate, response);
+        verify(subquery).where(tagPredicate);
+    }
 
-        Predicate response = spec.toPredicate(root, query, builder);
+    @Test
+    void testHasTagsWithoutKnownTags() {
+        Predicate disjunction = mock(Predicate.class);
+        when(builder.disjunction()).thenReturn(disjunction);
 
-        assertNotNull(response, "Predicate should not be null for valid tags");
-        verify(builder, times(1)).disjunction();
+        assertEquals(disjunction, TaskSpecifications.<Task>hasTags(Set.of()).toPredicate(root, query, builder));
+        assertNull(TaskSpecifications.hasTags(null));
+        verifyNoInteractions(query);
     }
 
     @Test
     void testHasRoleOnTaskSpecification() {
-        User user = new User();
-        user.setId(UUID.randomUUID());
-        Specification<Task> spec = TaskSpecifications.hasRoleOnTask(user);
+        UUID userID = UUID.randomUUID();
+        Specification<Task> spec = TaskSpecifications.hasRoleOnTask(userID);
 
         when(root.join("taskRoles", JoinType.LEFT)).thenReturn(taskRolesJoin);
 
@@ -97,12 +116,12 @@ class TaskSpecificationsTest {
         when(taskRolesJoin.get("user").get("id")).thenReturn((Path) userIdPath);
 
         Predicate userPredicate = mock(Predicate.class);
-        when(builder.equal(userIdPath, user.getId())).thenReturn(userPredicate);
+        when(builder.equal(userIdPath, userID)).thenReturn(userPredicate);
 
         Predicate result = spec.toPredicate(root, query, builder);
 
         assertNotNull(result, "Predicate should not be null for a valid user");
         verify(root, times(1)).join("taskRoles", JoinType.LEFT);
-        verify(builder, times(1)).equal(userIdPath, user.getId());
+        verify(builder, times(1)).equal(userIdPath, userID);
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package task_management_system.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import task_management_system.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KnownEmailFilterTest {
+
+    @Mock private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private KnownEmailFilter underTest;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new KnownEmailFilter(userRepository, meterRegistry, 1000, 0.01, 2, 60000);
+    }
+
+    @Test
+    @DisplayName("should treat every email as possibly registered until loaded")
+    void mightContainBeforeLoad() {
+        assertTrue(underTest.mightContain("anyone@example.com"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("should load emails page by page and rule out unknown ones")
+    void load() {
+        when(userRepository.findAllEmails(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            return pageable.getPageNumber() == 0
+                    ? new SliceImpl<>(List.of("a@example.com", "b@example.com"), pageable, true)
+                    : new SliceImpl<>(List.of("C@Example.com"), pageable, false);
+        });
+
+        underTest.load();
+
+        assertTrue(underTest.mightContain("a@example.com"));
+        assertTrue(underTest.mightContain("c@example.com "));
+        assertFalse(underTest.mightContain("unknown@example.com"));
+        assertEquals(1.0, meterRegistry.get("users.email.filter.skipped").counter().count());
+        verify(userRepository, times(2)).findAllEmails(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("should pick up emails registered elsewhere on refresh")
+    void refresh() {
+        when(userRepository.findAllEmails(any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(), invocation.getArgument(0), false));
+        when(userRepository.findEmailsCreatedSince(any(LocalDateTime.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of("new@example.com"), invocation.getArgument(1), false));
+
+        underTest.load();
+        assertFalse(underTest.mightContain("new@example.com"));
+
+        underTest.refresh();
+        assertTrue(underTest.mightContain("new@example.com"));
+    }
+
+    @Test
+    @DisplayName("should remember emails registered on this node")
+    void add() {
+        when(userRepository.findAllEmails(any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(), invocation.getArgument(0), false));
+        underTest.load();
+
+        underTest.add("fresh@example.com");
+
+        assertTrue(underTest.mightContain("Fresh@example.com"));
+    }
+}
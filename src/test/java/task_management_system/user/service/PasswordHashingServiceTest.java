@@ -0,0 +1,87 @@
+package task_management_system.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import task_management_system.exception.ServiceUnavailableException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private PasswordHashingService underTest;
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+        if (underTest != null) {
+            underTest.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should hash and check passwords off the calling thread")
+    void hashesOnPool() {
+        underTest = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 1, 4, 5_000);
+
+        String hash = underTest.encode("secret");
+
+        assertTrue(underTest.matches("secret", hash));
+        assertFalse(underTest.matches("wrong", hash));
+        assertEquals(3, meterRegistry.get("password.hashing.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("should turn requests away once the queue is full")
+    void rejectsWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.encode(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        underTest = new PasswordHashingService(slowEncoder, meterRegistry, 1, 1, 5_000);
+
+        callers.submit(() -> underTest.encode("running"));
+        callers.submit(() -> underTest.encode("queued"));
+        while (meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> underTest.encode("rejected"));
+        assertEquals(1, meterRegistry.get("password.hashing.rejected").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("should flag hashes made with a lower strength and rehash them in the background")
+    void rehashesWeakerHashes() throws Exception {
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+        underTest = new PasswordHashingService(new BCryptPasswordEncoder(5), meterRegistry, 1, 4, 5_000);
+
+        assertTrue(underTest.needsRehash(weakHash));
+
+        AtomicReference<String> rehashed = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        underTest.rehashInBackground("secret", hash -> {
+            rehashed.set(hash);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(underTest.needsRehash(rehashed.get()));
+        assertTrue(underTest.matches("secret", rehashed.get()));
+    }
+}
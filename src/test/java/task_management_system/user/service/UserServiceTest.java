@@ -9,13 +9,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import task_management_system.config.JwtService;
 import task_management_system.exception.ConflictException;
+import task_management_system.exception.NotFoundException;
 import task_management_system.exception.UnauthorizedException;
+import task_management_system.user.dto.AuthUser;
 import task_management_system.user.dto.CreateUserRequest;
 import task_management_system.user.dto.LoginRequest;
 import task_management_system.user.dto.LoginResponse;
@@ -23,11 +24,14 @@ import task_management_system.user.dto.UserDto;
 import task_management_system.user.entity.User;
 import task_management_system.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,8 +39,8 @@ class UserServiceTest {
 
     @Mock private UserRepository userRepository;
     @Mock private JwtService jwtService;
-    @Mock private PasswordEncoder passwordEncoder;
-    @Mock private AuthenticationManager authManager;
+    @Mock private PasswordHashingService passwordHashingService;
+    @Mock private KnownEmailFilter knownEmailFilter;
     @InjectMocks private UserService underTest;
 
     private User user;
@@ -75,7 +79,7 @@ class UserServiceTest {
         @Test
         @DisplayName("should register user successfully Without username field")
         void registerUser() {
-            when(passwordEncoder.encode(request.getPassword())).thenReturn("encoded-password");
+            when(passwordHashingService.encode(request.getPassword())).thenReturn("encoded-password");
             when(userRepository.saveAndFlush(any(User.class))).then(invocation -> registerUser);
 
             UserDto response = underTest.registerUser(request);
@@ -104,7 +108,7 @@ class UserServiceTest {
             request.setUsername("john-doe");
             registerUser.setUsername("john-doe");
 
-            when(passwordEncoder.encode(request.getPassword())).thenReturn("encoded-password");
+            when(passwordHashingService.encode(request.getPassword())).thenReturn("encoded-password");
             when(userRepository.saveAndFlush(any(User.class))).then(invocation -> registerUser);
 
             UserDto response = underTest.registerUser(request);
@@ -131,32 +135,111 @@ class UserServiceTest {
         @DisplayName("should throw an exception when username already exist")
         void registerUserWithExistingUsername() {
             request.setUsername("username");
-            registerUser.setUsername("username");
 
-            when(userRepository.findByUsername(request.getUsername()))
-                    .thenReturn(Optional.of(registerUser));
+            when(passwordHashingService.encode(request.getPassword())).thenReturn("encoded-password");
+            when(userRepository.saveAndFlush(any(User.class)))
+                    .thenThrow(violation(User.USERNAME_CONSTRAINT));
 
             Exception ex = assertThrows(ConflictException.class, () ->
                     underTest.registerUser(request));
 
             assertEquals("user with username already exists", ex.getMessage());
-            verify(userRepository, never()).saveAndFlush(any(User.class));
+            verify(knownEmailFilter, never()).add(anyString());
         }
 
         @Test
         @DisplayName("should throw an exception when email already exist")
         void registerUserWithExistingEmail() {
-            when(userRepository.findByEmail(request.getEmail()))
-                    .thenReturn(Optional.of(registerUser));
+            when(knownEmailFilter.mightContain(request.getEmail())).thenReturn(true);
+            when(userRepository.existsByEmail(request.getEmail())).thenReturn(true);
 
             Exception ex = assertThrows(ConflictException.class, () ->
                     underTest.registerUser(request));
 
             assertEquals("user with email already exists", ex.getMessage());
             verify(userRepository, never()).saveAndFlush(any(User.class));
+            verifyNoInteractions(passwordHashingService);
+        }
+
+        @Test
+        @DisplayName("should skip the email lookup when the filter has not seen the email")
+        void registerUserWithUnknownEmail() {
+            when(knownEmailFilter.mightContain(request.getEmail())).thenReturn(false);
+            when(passwordHashingService.encode(request.getPassword())).thenReturn("encoded-password");
+
+            underTest.registerUser(request);
+
+            verify(userRepository, never()).existsByEmail(anyString());
+            verify(userRepository).saveAndFlush(any(User.class));
+            verify(knownEmailFilter).add(request.getEmail());
+        }
+
+        @Test
+        @DisplayName("should map a concurrent duplicate email to a conflict")
+        void registerUserWithConcurrentDuplicateEmail() {
+            when(passwordHashingService.encode(request.getPassword())).thenReturn("encoded-password");
+            when(userRepository.saveAndFlush(any(User.class)))
+                    .thenThrow(violation(User.EMAIL_CONSTRAINT));
+
+            Exception ex = assertThrows(ConflictException.class, () ->
+                    underTest.registerUser(request));
+
+            assertEquals("user with email already exists", ex.getMessage());
+        }
+
+        @Test
+        @DisplayName("should map a violation of a generated unique constraint to a conflict")
+        void registerUserWithGeneratedConstraintName() {
+            request.setUsername("username");
+
+            when(passwordHashingService.encode(request.getPassword())).thenReturn("encoded-password");
+            when(userRepository.saveAndFlush(any(User.class)))
+                    .thenThrow(violation("UK_6DOTKOTT2KJSP8VW4D0M25FB7"));
+            when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
+
+            Exception ex = assertThrows(ConflictException.class, () ->
+                    underTest.registerUser(request));
+
+            assertEquals("user with username already exists", ex.getMessage());
+        }
+
+        @Test
+        @DisplayName("should rethrow a violation that is not a unique constraint")
+        void registerUserWithOtherViolation() {
+            DataIntegrityViolationException notNull = new DataIntegrityViolationException("could not execute statement",
+                    new ConstraintViolationException("NULL not allowed", new SQLException("NULL not allowed", "23502"), null));
+
+            when(passwordHashingService.encode(request.getPassword())).thenReturn("encoded-password");
+            when(userRepository.saveAndFlush(any(User.class))).thenThrow(notNull);
+
+            assertSame(notNull, assertThrows(DataIntegrityViolationException.class, () ->
+                    underTest.registerUser(request)));
+        }
+
+        private DataIntegrityViolationException violation(String constraintName) {
+            return new DataIntegrityViolationException("could not execute statement",
+                    new ConstraintViolationException("Duplicate entry", new SQLException(),
+                            ConstraintViolationException.ConstraintKind.UNIQUE, constraintName));
         }
     }
 
+    @Test
+    @DisplayName("should load the request principal through the natural id cache")
+    void loadAuthUser() {
+        when(userRepository.loadByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        assertEquals(new AuthUser(user.getId(), user.getEmail(), user.getName()), underTest.loadAuthUser(user.getEmail()));
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("should reject a principal that no longer exists")
+    void loadMissingAuthUser() {
+        when(userRepository.loadByEmail("gone@doe.com")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> underTest.loadAuthUser("gone@doe.com"));
+    }
+
     @Nested
     @DisplayName("User Authentication Tests")
     class LoginUserTest {
@@ -177,24 +260,39 @@ class UserServiceTest {
             String token = "dummy-jwt-token-string";
 
             when(jwtService.generateToken(user)).thenReturn(token);
-            when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
+            when(userRepository.loadByEmail(request.getEmail())).thenReturn(Optional.of(user));
+            when(passwordHashingService.matches(request.getPassword(), user.getPassword())).thenReturn(true);
 
             LoginResponse response = underTest.authenticate(request);
 
             assertEquals(response.accessToken(), token);
 
-            verify(userRepository, times(1)).findByEmail(request.getEmail());
+            verify(userRepository, times(1)).loadByEmail(request.getEmail());
             verify(jwtService, times(1)).generateToken(user);
-            verify(authManager).authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
+            verify(passwordHashingService, never()).rehashInBackground(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("should upgrade an outdated hash after a successful login")
+        void shouldRehashOutdatedPassword() {
+            when(userRepository.loadByEmail(request.getEmail())).thenReturn(Optional.of(user));
+            when(passwordHashingService.matches(request.getPassword(), user.getPassword())).thenReturn(true);
+            when(passwordHashingService.needsRehash(user.getPassword())).thenReturn(true);
+            doAnswer(invocation -> {
+                invocation.<Consumer<String>>getArgument(1).accept("stronger-hash");
+                return null;
+            }).when(passwordHashingService).rehashInBackground(eq(request.getPassword()), any());
+
+            underTest.authenticate(request);
+
+            verify(userRepository).updatePasswordHash(user.getId(), "encoded-password", "stronger-hash");
         }
 
         @Test
         @DisplayName("Should throw exception when user is not found")
         void authenticateWithInvalidEmail() {
             // Arrange
-            when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.empty());
+            when(userRepository.loadByEmail(request.getEmail())).thenReturn(Optional.empty());
 
             // Act & Assert
             Exception ex = assertThrows(UnauthorizedException.class,
@@ -202,7 +300,7 @@ class UserServiceTest {
 
             assertEquals("Invalid user credential", ex.getMessage());
 
-            verify(authManager, never()).authenticate(any(UsernamePasswordAuthenticationToken.class));
+            verifyNoInteractions(passwordHashingService);
             verify(jwtService, never()).generateToken(any(User.class));
         }
 
@@ -210,15 +308,13 @@ class UserServiceTest {
         @DisplayName("Should throw exception for invalid credentials")
         void authenticateWithInvalidPassword() {
             // Arrange
-            when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
-            doThrow(new BadCredentialsException("Invalid credentials"))
-                    .when(authManager)
-                    .authenticate(any(UsernamePasswordAuthenticationToken.class));
+            when(userRepository.loadByEmail(request.getEmail())).thenReturn(Optional.of(user));
+            when(passwordHashingService.matches(request.getPassword(), user.getPassword())).thenReturn(false);
 
             // Act & Assert
             assertThrows(BadCredentialsException.class, () -> underTest.authenticate(request));
 
-            verify(authManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
+            verify(passwordHashingService, never()).rehashInBackground(anyString(), any());
             verify(jwtService, never()).generateToken(any(User.class));
         }
     }